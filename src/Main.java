@@ -1,13 +1,19 @@
 import builder.JavaBeanFarm;
+import builder.timing.GameLoop;
+import builder.ui.ThreadedCore;
 import builder.world.WorldLoadException;
 
 import engine.Engine;
-import engine.game.Game;
+import engine.core.Debug;
+import engine.core.p4.ProcessingCore;
 import engine.renderer.Dimensions;
 import engine.renderer.TileGrid;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A main class to execute the JavaBean game.
@@ -17,36 +23,48 @@ import java.io.IOException;
 public class Main {
     private static final int SIZE = 800;
     private static final int TILES_PER_ROW = 25;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(15);
+    private static final int MAX_FRAME_SKIP = 5;
+    private static final String RENDER_THREAD = "--render-thread";
+    private static final String TICK_POOL = "--tick-pool";
 
     /**
      * Start the game.
      *
-     * @param args Command line arguments, unused in this method.
+     * @param args Command line arguments; {@value #RENDER_THREAD} draws on a separate thread (see
+     *     {@link ThreadedCore}) and {@value #TICK_POOL} ticks birds in parallel (see {@link
+     *     JavaBeanFarm#setTickPool(ForkJoinPool)}).
      * @throws IOException If the map file cannot be found or read from.
      * @throws WorldLoadException If the map file is invalid in some way.
      */
     public static void main(String[] args) throws IOException, WorldLoadException {
         Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
-        Game game =
+        JavaBeanFarm game =
                 new JavaBeanFarm(dimensions, new FileReader("resources/uqLogo.map"), new FileReader("resources/uqLogo.details"));
-        Engine engine = new Engine(game, dimensions);
+        if (List.of(args).contains(TICK_POOL)) {
+            game.setTickPool(ForkJoinPool.commonPool());
+        }
+        GameLoop loop = new GameLoop(game, TICK_NANOS, MAX_FRAME_SKIP);
 
-        // Optionally uncomment this line to turn on debug mode
-        // engine.debug().on();
+        if (List.of(args).contains(RENDER_THREAD)) {
+            Debug debug = new Debug(false);
+            ThreadedCore core = new ThreadedCore(new ProcessingCore(dimensions, debug));
+            Engine engine = new Engine(loop, dimensions, core);
 
-        run(engine);
-    }
+            // Optionally uncomment this line to turn on debug mode
+            // debug.on();
 
-    /**
-     * Helper method to run the game loop.
-     *
-     * @param engine The engine instance to execute.
-     */
-    private static void run(Engine engine) {
-        while (engine.isRunning()) {
-            if (engine.isTimeForNextTick()) {
-                engine.tick();
-            }
+            core.start();
+            loop.run(engine);
+            core.stop();
+            return;
         }
+
+        Engine engine = new Engine(loop, dimensions);
+
+        // Optionally uncomment this line to turn on debug mode
+        // engine.debug().on();
+
+        loop.run(engine);
     }
 }
@@ -16,14 +16,20 @@ import builder.inventory.items.Pole;
 import builder.inventory.ui.InventoryOverlay;
 import builder.inventory.ui.ResourceOverlay;
 import builder.player.PlayerManager;
+import builder.timing.PhaseTimer;
+import builder.ui.Camera;
 import builder.ui.Overlay;
 import builder.world.BeanWorld;
 import builder.world.CabbageDetails;
+import builder.world.ChunkedWorld;
+import builder.world.GameWorld;
 import builder.world.OverlayBuilder;
 import builder.world.PlayerDetails;
 import builder.world.SpawnerDetails;
+import builder.world.World;
 import builder.world.WorldBuilder;
 import builder.world.WorldLoadException;
+import builder.world.WorldSnapshot;
 
 import engine.EngineState;
 import engine.game.Game;
@@ -37,6 +43,7 @@ import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * JavaBeans, a farming game.
@@ -63,10 +70,14 @@ public class JavaBeanFarm implements Game {
     private final PlayerManager playerManager;
     private final NpcManager npcs;
     private final EnemyManager enemies;
-    private final BeanWorld world;
+    private final GameWorld world;
+    private final Camera camera;
     private final Inventory inventory;
     private final List<Overlay> overlays = new ArrayList<>();
 
+    /** Times each phase of {@link #tick(EngineState)} and {@link #render()}, if set. */
+    private PhaseTimer phases;
+
     /**
      * Reads all content from a Reader into a String.
      * 
@@ -74,7 +85,7 @@ public class JavaBeanFarm implements Game {
      * @return String containing all content from the reader
      * @throws IOException If reading fails
      */
-    private String readAllReader(Reader reader) throws IOException {
+    private static String readAllReader(Reader reader) throws IOException {
         BufferedReader br = new BufferedReader(reader);
         StringJoiner sb = new StringJoiner(System.lineSeparator());
         String line;
@@ -96,21 +107,15 @@ public class JavaBeanFarm implements Game {
      */
     public JavaBeanFarm(Dimensions dimensions, Reader mapReader, Reader detailReader)
             throws IOException, WorldLoadException {
-
-        final String detailsContent = readAllReader(detailReader);
-        final PlayerDetails playerDetails = OverlayBuilder.getPlayerDetailsFromFile(detailsContent);
-        
-        // Initialize core game components
-        this.playerManager = initializePlayerManager(playerDetails);
-        this.npcs = new NpcManager();
-        this.enemies = initializeEnemyManager(dimensions, detailsContent);
-        this.world = initializeWorld(dimensions, mapReader, detailsContent);
-        this.inventory = initializeInventory(playerDetails);
-        initializeOverlays(dimensions);
+        this(dimensions, readWorld(dimensions, mapReader), readAllReader(detailReader));
     }
 
     /**
      * Alternative constructor that takes file paths instead of readers.
+     *
+     * <p>Unlike the reader constructor, the map file may be larger than the window, in which case
+     * the world is streamed in chunks around the player and the view follows the player (see
+     * {@link WorldBuilder#fromFileStreamed(Dimensions, String)}).
      * 
      * @param dimensions The dimensions we want for this game
      * @param mapFile Path to the map file
@@ -120,7 +125,100 @@ public class JavaBeanFarm implements Game {
      */
     public JavaBeanFarm(Dimensions dimensions, String mapFile, String detailsFile) 
             throws IOException, WorldLoadException {
-        this(dimensions, new FileReader(mapFile), new FileReader(detailsFile));
+        this(
+                dimensions,
+                WorldBuilder.fromFileStreamed(dimensions, mapFile),
+                readAllReader(new FileReader(detailsFile)));
+    }
+
+    /**
+     * Constructs a new JavaBean Farm game from a world snapshot, without parsing any map or
+     * details text.
+     *
+     * @param dimensions The dimensions we want for this game.
+     * @param snapshot The world, player and spawner details to start the game with, e.g. as
+     *     restored by {@link WorldSnapshot#read(Dimensions, java.nio.file.Path)}.
+     */
+    public JavaBeanFarm(Dimensions dimensions, WorldSnapshot snapshot) {
+        this(
+                dimensions,
+                snapshot.getWorld(),
+                snapshot.getPlayerDetails(),
+                snapshot.getMagpieSpawners(),
+                snapshot.getEagleSpawners(),
+                snapshot.getPigeonSpawners());
+    }
+
+    /**
+     * Constructs a new JavaBean Farm game around an already loaded world.
+     *
+     * @param dimensions The dimensions we want for this game.
+     * @param world The world the game is played in.
+     * @param detailsContent The overlay details for the game, e.g. spawner locations.
+     * @throws IOException If the details cannot be parsed.
+     */
+    private JavaBeanFarm(Dimensions dimensions, GameWorld world, String detailsContent)
+            throws IOException {
+        this(
+                dimensions,
+                placeCabbages(world, dimensions, detailsContent),
+                OverlayBuilder.getPlayerDetailsFromFile(detailsContent),
+                OverlayBuilder.getMagpieSpawnDetailsFromString(detailsContent),
+                OverlayBuilder.getEagleSpawnDetailsFromString(detailsContent),
+                OverlayBuilder.getPigeonSpawnDetailsFromString(detailsContent));
+    }
+
+    /**
+     * Constructs a new JavaBean Farm game around an already loaded world and parsed details.
+     *
+     * @param dimensions The dimensions we want for this game.
+     * @param world The world the game is played in, with its cabbages already planted.
+     * @param playerDetails The player's starting position and resources.
+     * @param magpieSpawners The details of each magpie spawner.
+     * @param eagleSpawners The details of each eagle spawner.
+     * @param pigeonSpawners The details of each pigeon spawner.
+     */
+    private JavaBeanFarm(
+            Dimensions dimensions,
+            GameWorld world,
+            PlayerDetails playerDetails,
+            List<SpawnerDetails> magpieSpawners,
+            List<SpawnerDetails> eagleSpawners,
+            List<SpawnerDetails> pigeonSpawners) {
+        // Initialize core game components
+        this.playerManager = initializePlayerManager(playerDetails);
+        this.npcs = new NpcManager();
+        this.enemies = initializeEnemyManager(
+                dimensions, magpieSpawners, eagleSpawners, pigeonSpawners);
+        this.world = world;
+        this.camera = initializeCamera(dimensions, world);
+        this.inventory = initializeInventory(playerDetails);
+        initializeOverlays(dimensions);
+    }
+
+    /**
+     * Builds a snapshot of the world described by the given map and details, with its cabbages
+     * planted, ready to be written with {@link WorldSnapshot#write(java.nio.file.Path)} and
+     * restored later without parsing.
+     *
+     * @param dimensions The dimensions of the world.
+     * @param mapReader A reader the contains a description of the world map.
+     * @param detailReader A reader the contains the overlay details for the game.
+     * @return A snapshot of the described world.
+     * @throws IOException If either reader fails or the details cannot be parsed.
+     * @throws WorldLoadException If the world map cannot be parsed successfully.
+     */
+    public static WorldSnapshot snapshotOf(
+            Dimensions dimensions, Reader mapReader, Reader detailReader)
+            throws IOException, WorldLoadException {
+        BeanWorld world = readWorld(dimensions, mapReader);
+        String detailsContent = readAllReader(detailReader);
+        return new WorldSnapshot(
+                placeCabbages(world, dimensions, detailsContent),
+                OverlayBuilder.getPlayerDetailsFromFile(detailsContent),
+                OverlayBuilder.getMagpieSpawnDetailsFromString(detailsContent),
+                OverlayBuilder.getEagleSpawnDetailsFromString(detailsContent),
+                OverlayBuilder.getPigeonSpawnDetailsFromString(detailsContent));
     }
 
     /**
@@ -137,17 +235,21 @@ public class JavaBeanFarm implements Game {
      * Initializes the enemy manager and adds all spawners from the details.
      * 
      * @param dimensions Game dimensions
-     * @param detailsContent String containing spawner configuration
+     * @param magpieSpawners Details of each magpie spawner
+     * @param eagleSpawners Details of each eagle spawner
+     * @param pigeonSpawners Details of each pigeon spawner
      * @return Initialized EnemyManager with all spawners added
-     * @throws IOException If spawner details cannot be parsed
      */
-    private EnemyManager initializeEnemyManager(Dimensions dimensions, String detailsContent) 
-            throws IOException {
+    private EnemyManager initializeEnemyManager(
+            Dimensions dimensions,
+            List<SpawnerDetails> magpieSpawners,
+            List<SpawnerDetails> eagleSpawners,
+            List<SpawnerDetails> pigeonSpawners) {
         EnemyManager enemyManager = new EnemyManager(dimensions);
         
-        addMagpieSpawners(enemyManager, detailsContent);
-        addEagleSpawners(enemyManager, detailsContent);
-        addPigeonSpawners(enemyManager, detailsContent);
+        addMagpieSpawners(enemyManager, magpieSpawners);
+        addEagleSpawners(enemyManager, eagleSpawners);
+        addPigeonSpawners(enemyManager, pigeonSpawners);
         
         return enemyManager;
     }
@@ -156,13 +258,10 @@ public class JavaBeanFarm implements Game {
      * Adds magpie spawners to the enemy manager.
      * 
      * @param enemyManager The enemy manager to add spawners to
-     * @param detailsContent String containing spawner configuration
-     * @throws IOException If spawner details cannot be parsed
+     * @param magpieSpawnPoints Details of each magpie spawner
      */
-    private void addMagpieSpawners(EnemyManager enemyManager, String detailsContent) 
-            throws IOException {
-        final List<SpawnerDetails> magpieSpawnPoints =
-                OverlayBuilder.getMagpieSpawnDetailsFromString(detailsContent);
+    private void addMagpieSpawners(
+            EnemyManager enemyManager, List<SpawnerDetails> magpieSpawnPoints) {
         for (SpawnerDetails spawnerDetails : magpieSpawnPoints) {
             enemyManager.add(new MagpieSpawner(
                     spawnerDetails.getX(),
@@ -175,13 +274,10 @@ public class JavaBeanFarm implements Game {
      * Adds eagle spawners to the enemy manager.
      * 
      * @param enemyManager The enemy manager to add spawners to
-     * @param detailsContent String containing spawner configuration
-     * @throws IOException If spawner details cannot be parsed
+     * @param eagleSpawnPoints Details of each eagle spawner
      */
-    private void addEagleSpawners(EnemyManager enemyManager, String detailsContent) 
-            throws IOException {
-        final List<SpawnerDetails> eagleSpawnPoints =
-                OverlayBuilder.getEagleSpawnDetailsFromString(detailsContent);
+    private void addEagleSpawners(
+            EnemyManager enemyManager, List<SpawnerDetails> eagleSpawnPoints) {
         for (SpawnerDetails spawnerDetails : eagleSpawnPoints) {
             enemyManager.add(new EagleSpawner(
                     spawnerDetails.getX(),
@@ -194,13 +290,10 @@ public class JavaBeanFarm implements Game {
      * Adds pigeon spawners to the enemy manager.
      * 
      * @param enemyManager The enemy manager to add spawners to
-     * @param detailsContent String containing spawner configuration
-     * @throws IOException If spawner details cannot be parsed
+     * @param pigeonSpawnPoints Details of each pigeon spawner
      */
-    private void addPigeonSpawners(EnemyManager enemyManager, String detailsContent) 
-            throws IOException {
-        final List<SpawnerDetails> pigeonSpawnPoints =
-                OverlayBuilder.getPigeonSpawnDetailsFromString(detailsContent);
+    private void addPigeonSpawners(
+            EnemyManager enemyManager, List<SpawnerDetails> pigeonSpawnPoints) {
         for (SpawnerDetails spawnerDetails : pigeonSpawnPoints) {
             enemyManager.add(new PigeonSpawner(
                     spawnerDetails.getX(),
@@ -210,24 +303,32 @@ public class JavaBeanFarm implements Game {
     }
 
     /**
-     * Initializes the game world from map data and places initial cabbages.
+     * Reads the game world from map data.
      * 
      * @param dimensions Game dimensions
      * @param mapReader Reader containing map data
-     * @param detailsContent String containing cabbage placement details
      * @return Initialized BeanWorld
      * @throws IOException If world data cannot be read
      * @throws WorldLoadException If world cannot be constructed
      */
-    private BeanWorld initializeWorld(Dimensions dimensions, Reader mapReader, 
-                                       String detailsContent) 
+    private static BeanWorld readWorld(Dimensions dimensions, Reader mapReader)
             throws IOException, WorldLoadException {
-        String worldContent = readAllReader(mapReader);
-        BeanWorld world = WorldBuilder.fromTiles(WorldBuilder.fromString(dimensions, worldContent));
-        
-        placeCabbages(world, dimensions, detailsContent);
-        
-        return world;
+        return WorldBuilder.fromTiles(dimensions, WorldBuilder.fromReader(dimensions, mapReader));
+    }
+
+    /**
+     * Initializes the camera over the whole world, centred on the player.
+     *
+     * @param dimensions Game dimensions
+     * @param world The world the camera looks at
+     * @return Initialized Camera
+     */
+    private Camera initializeCamera(Dimensions dimensions, GameWorld world) {
+        Camera camera = world instanceof ChunkedWorld chunked
+                ? new Camera(dimensions, chunked.getWidth(), chunked.getHeight())
+                : new Camera(dimensions, dimensions.windowSize(), dimensions.windowSize());
+        camera.follow(playerManager.getPlayer());
+        return camera;
     }
 
     /**
@@ -236,10 +337,12 @@ public class JavaBeanFarm implements Game {
      * @param world The world to place cabbages in
      * @param dimensions Game dimensions for tile position calculations
      * @param detailsContent String containing cabbage placement details
+     * @param <W> The type of world
+     * @return The given world, with cabbages placed
      * @throws IOException If cabbage details cannot be parsed
      */
-    private void placeCabbages(BeanWorld world, Dimensions dimensions, String detailsContent) 
-            throws IOException {
+    private static <W extends World> W placeCabbages(
+            W world, Dimensions dimensions, String detailsContent) throws IOException {
         final List<CabbageDetails> cabbageSpawnPoints =
                 OverlayBuilder.getCabbageSpawnDetailsFromString(detailsContent);
         for (CabbageDetails cabbageDetails : cabbageSpawnPoints) {
@@ -255,6 +358,7 @@ public class JavaBeanFarm implements Game {
                 }
             }
         }
+        return world;
     }
 
     /**
@@ -307,27 +411,68 @@ public class JavaBeanFarm implements Game {
      *     GameState)}.
      */
     public void tick(EngineState state) {
+        startPhases();
         GameState game = new JavaBeanGameState(
                 world, playerManager.getPlayer(), inventory, this.npcs, this.enemies);
         
         // Update all game components
         this.playerManager.tick(state, game);
+        this.camera.follow(playerManager.getPlayer());
+        lap("player");
         this.npcs.tick(state, game);
+        lap("npcs");
         this.enemies.tick(state, game);
+        lap("enemies");
         this.world.tick(state, game);
+        lap("world");
 
         // Update overlays
         for (Overlay overlay : overlays) {
             overlay.tick(state, game);
         }
+        lap("overlays");
 
         // Handle interactions
         this.npcs.interact(state, game);
         this.enemies.interact(state, game);
+        lap("interact");
 
         // Clean up removed entities
         this.npcs.cleanup();
         this.enemies.cleanup();
+        lap("cleanup");
+    }
+
+    /**
+     * Time each phase of every later tick and render with the given timer: the player (and
+     * camera), npcs, enemies, world, overlays, interact, cleanup and render phases.
+     *
+     * @param phases The timer to add the time spent in each phase to, or null to stop timing.
+     */
+    public void setPhaseTimer(PhaseTimer phases) {
+        this.phases = phases;
+    }
+
+    /**
+     * Tick birds in parallel on the given pool from the next tick on (see {@link
+     * EnemyManager#setTickPool(ForkJoinPool)}).
+     *
+     * @param tickPool The pool to tick birds on, or null to tick them on the ticking thread.
+     */
+    public void setTickPool(ForkJoinPool tickPool) {
+        this.enemies.setTickPool(tickPool);
+    }
+
+    private void startPhases() {
+        if (phases != null) {
+            phases.start();
+        }
+    }
+
+    private void lap(String phase) {
+        if (phases != null) {
+            phases.lap(phase);
+        }
     }
 
     /**
@@ -344,18 +489,20 @@ public class JavaBeanFarm implements Game {
      */
     @Override
     public List<Renderable> render() {
+        startPhases();
         List<Renderable> renderables = new ArrayList<>();
 
         // Render in correct order: world, NPCs, enemies, player, overlays
-        renderables.addAll(this.world.render());
-        renderables.addAll(this.npcs.render());
-        renderables.addAll(this.enemies.render());
-        renderables.addAll(this.playerManager.render());
+        renderables.addAll(this.camera.project(this.world.render()));
+        renderables.addAll(this.camera.project(this.npcs.render()));
+        renderables.addAll(this.camera.project(this.enemies.render()));
+        renderables.addAll(this.camera.project(this.playerManager.render()));
 
         for (Overlay overlay : overlays) {
             renderables.addAll(overlay.render());
         }
 
+        lap("render");
         return renderables;
     }
 }
\ No newline at end of file
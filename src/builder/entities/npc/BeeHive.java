@@ -8,7 +8,7 @@ import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 import engine.timing.RepeatingTimer;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /** Spawns bees it fires at enemy's within a set range */
 public class BeeHive extends Npc {
@@ -40,14 +40,22 @@ public class BeeHive extends Npc {
         this.timer.tick();
     }
 
+    /** A hive never moves but its reload timer advances every tick, so it never sleeps. */
+    @Override
+    public boolean hasPendingWork() {
+        return true;
+    }
+
     @Override
     public void interact(EngineState state, GameState game) {
         super.interact(state, game);
 
         timer.tick();
-        Npc npc = this.checkAndSpawnBee(game.getEnemies().getBirds());
-        if (npc != null) {
-            game.getNpcs().getNpcs().add(npc);
+        Enemy target = this.checkForTarget(
+                game.getEnemies().within(this.getX(), this.getY(), DETECTION_DISTANCE));
+        if (target != null) {
+            NpcManager npcs = game.getNpcs();
+            npcs.getNpcs().add(npcs.mkBee(this.getX(), this.getY(), target));
         }
         if (timer.isFinished()) {
             this.loaded = true;
@@ -57,15 +65,26 @@ public class BeeHive extends Npc {
     /**
      * Checks for nearby enemies and spawns a bee if an enemy is detected.
      *
-     * @param targets List of enemy targets to check for
+     * @param targets List of enemy targets to check for, e.g. those found by {@link
+     *     builder.entities.npc.enemies.EnemyManager#within(int, int, int)}
      * @return The spawned bee, or null if no bee was spawned
      */
-    public Npc checkAndSpawnBee(ArrayList<Enemy> targets) {
+    public Npc checkAndSpawnBee(List<Enemy> targets) {
+        Enemy target = this.checkForTarget(targets);
+        return target == null ? null : new GuardBee(this.getX(), this.getY(), target);
+    }
+
+    /**
+     * Checks for nearby enemies and, if one is detected, unloads the hive to fire a bee at it.
+     *
+     * @param targets List of enemy targets to check for
+     * @return The enemy to fire a bee at, or null if no bee should be fired
+     */
+    private Enemy checkForTarget(List<Enemy> targets) {
         for (Enemy enemy : targets) {
             if (this.distanceFrom(enemy) < DETECTION_DISTANCE && this.loaded) {
                 this.loaded = false;
-                return new GuardBee(
-                        this.getX(), this.getY(), enemy); // can only spawn one bee in a frame
+                return enemy; // can only spawn one bee in a frame
             }
         }
         return null;
@@ -2,6 +2,8 @@ package builder.entities.npc;
 
 import builder.GameState;
 import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.timing.Lifespan;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
@@ -9,18 +11,21 @@ import engine.art.sprites.SpriteGroup;
 import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 
+import java.util.List;
+
 /**
  * A highly trained Guard Bee... don't think about that too much. This is our projectile class,
  * basically a bullet.
  */
 public class GuardBee extends Npc implements Expirable {
 
-    private final int spawnX;
-    private final int spawnY;
+    private int spawnX;
+    private int spawnY;
     private static final int SPEED = 2;
+    private static final int TRACKING_DISTANCE = 350;
+    private static final int LIFESPAN = 300;
     private static final SpriteGroup art = SpriteGallery.bee;
-    private FixedTimer lifespan = new FixedTimer(300);
-    private final HasPosition trackedTarget;
+    private FixedTimer lifespan = new Lifespan(LIFESPAN);
 
     /**
      * Constructs a GuardBee at the specified coordinates.
@@ -32,15 +37,34 @@ public class GuardBee extends Npc implements Expirable {
     public GuardBee(int x, int y, HasPosition trackedTarget) {
         super(x, y);
         this.setSprite(art.getSprite("default"));
-        this.trackedTarget = trackedTarget;
 
         this.spawnX = x;
         this.spawnY = y;
 
-        double deltaX = trackedTarget.getX() - this.getX();
-        double deltaY = trackedTarget.getY() - this.getY();
-        this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+        this.turnTowards(trackedTarget.getX(), trackedTarget.getY());
         this.setSpeed(GuardBee.SPEED);
+        this.setSubPixelMotion(true); // slow enough that whole-pixel steps would skew its aim
+    }
+
+    /**
+     * Resets this bee to the state of a newly constructed one, so that it can be reused.
+     *
+     * @param x horizontal spawning position
+     * @param y vertical spawning position
+     * @param trackedTarget target with a position we want this to track
+     */
+    void reset(int x, int y, HasPosition trackedTarget) {
+        super.reset(x, y);
+        Lifespan.cancel(this.lifespan);
+        this.lifespan = new Lifespan(LIFESPAN);
+        this.setSprite(art.getSprite("default"));
+
+        this.spawnX = x;
+        this.spawnY = y;
+
+        this.turnTowards(trackedTarget.getX(), trackedTarget.getY());
+        this.setSpeed(GuardBee.SPEED);
+        this.setSubPixelMotion(true);
     }
 
     @Override
@@ -50,6 +74,7 @@ public class GuardBee extends Npc implements Expirable {
 
     @Override
     public void setLifespan(FixedTimer timer) {
+        Lifespan.cancel(this.lifespan);
         this.lifespan = timer;
     }
 
@@ -75,32 +100,21 @@ public class GuardBee extends Npc implements Expirable {
     public void tick(EngineState state, GameState game) {
         super.tick(state);
 
-        boolean foundNearbyEnemy = false;
-        for (Enemy enemy : game.getEnemies().getBirds()) {
-            if (this.distanceFrom(enemy) < 350) {
-                double deltaX = enemy.getX() - this.getX();
-                double deltaY = enemy.getY() - this.getY();
-                this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
-                foundNearbyEnemy = true;
-                break;
-            }
-        }
-        
-        if (!foundNearbyEnemy) {
-            if (this.distanceFrom(this.spawnX, this.spawnY) > 15) {
-                double deltaX = this.spawnX - this.getX();
-                double deltaY = this.spawnY - this.getY();
-                this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
-            } else {
-                this.markForRemoval();
-            }
+        EnemyManager enemies = game.getEnemies();
+        List<Enemy> nearby = enemies.within(this.getX(), this.getY(), TRACKING_DISTANCE);
+        if (!nearby.isEmpty()) {
+            Enemy enemy = nearby.get(0);
+            this.turnTowards(enemy.getX(), enemy.getY());
+        } else if (this.distanceFrom(this.spawnX, this.spawnY) > 15) {
+            this.turnTowards(this.spawnX, this.spawnY);
+        } else {
+            this.markForRemoval();
         }
-        for (Enemy enemy : game.getEnemies().getAll()) {
-            if (this.distanceFrom(enemy) < state.getDimensions().tileSize()) {
-                enemy.markForRemoval();
-                this.markForRemoval();
-                break;
-            }
+        List<Enemy> hit =
+                enemies.within(this.getX(), this.getY(), state.getDimensions().tileSize());
+        if (!hit.isEmpty()) {
+            hit.get(0).markForRemoval();
+            this.markForRemoval();
         }
 
         this.updateArtBasedOnDirection();
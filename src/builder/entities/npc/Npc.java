@@ -16,6 +16,36 @@ public class Npc extends Entity implements Interactable, Tickable, Directable {
     private int direction = 0;
     private double speed = 1;
 
+    /** Whether this npc has been put to sleep by its manager (see {@link #hasPendingWork()}). */
+    private boolean dormant = false;
+
+    private NpcListener listener;
+
+    /**
+     * Whether this NPC has been marked for removal. Kept here rather than in {@link Entity}, which
+     * cannot be unmarked, so that a pooled NPC can be {@link #reset(int, int)} and reused.
+     */
+    private boolean removed = false;
+
+    /** The number of times this NPC has been reset, each reset giving it a new identity. */
+    private int lives = 0;
+
+    /** The ID of this NPC in its current life, or null if not yet worked out. */
+    private String id = null;
+
+    /** The handle of this NPC, see {@link NpcHandles}. */
+    private int handle = NpcHandles.NONE;
+
+    /** Whether this NPC carries fractions of a pixel between moves (see {@link #move()}). */
+    private boolean subPixelMotion = false;
+
+    /**
+     * The fraction of a pixel by which this NPC's true position is ahead of its whole-pixel
+     * position along each axis, with {@link Steering#FRACTION_BITS} fractional bits.
+     */
+    private int remainderX = 0;
+    private int remainderY = 0;
+
     /**
      * Creates a new Npc at the specified coordinates.
      *
@@ -26,6 +56,106 @@ public class Npc extends Entity implements Interactable, Tickable, Directable {
         super(x, y);
     }
 
+    /**
+     * Restore this NPC to the state of a newly constructed NPC at the given position, so that an
+     * NPC removed from the game can be pooled and reused rather than discarded (see {@link
+     * NpcPool}). The NPC is given a new ID, so that it is seen as a different entity.
+     *
+     * <p>Pooled subclasses extend this to restore their own state, in the same way as their
+     * constructor sets it up.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     */
+    protected void reset(int x, int y) {
+        this.removed = false;
+        this.dormant = false;
+        this.lives++;
+        this.id = null;
+        this.setSubPixelMotion(false);
+        this.setDirection(0);
+        this.setSpeed(1);
+        this.setX(x);
+        this.setY(y);
+    }
+
+    @Override
+    public String getID() {
+        if (this.lives == 0) {
+            return super.getID();
+        }
+        if (this.id == null) {
+            this.id = super.getID() + "#" + this.lives;
+        }
+        return this.id;
+    }
+
+    /**
+     * The handle other systems can hold to refer to this NPC, if it has been given one by its
+     * manager.
+     *
+     * @return The handle of this NPC, or {@link NpcHandles#NONE} if it has none.
+     */
+    public int getHandle() {
+        return this.handle;
+    }
+
+    void setHandle(int handle) {
+        this.handle = handle;
+    }
+
+    @Override
+    public boolean isMarkedForRemoval() {
+        return this.removed;
+    }
+
+    @Override
+    public void markForRemoval() {
+        this.removed = true;
+    }
+
+    /**
+     * Set the listener to notify when this NPC moves.
+     *
+     * @param listener The listener to notify, or null to stop notifying.
+     */
+    public void setListener(NpcListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void setX(int x) {
+        int oldX = this.getX();
+        super.setX(x);
+        this.remainderX = 0;
+        if (oldX != x) {
+            this.notifyMoved(oldX, this.getY());
+        }
+    }
+
+    @Override
+    public void setY(int y) {
+        int oldY = this.getY();
+        super.setY(y);
+        this.remainderY = 0;
+        if (oldY != y) {
+            this.notifyMoved(this.getX(), oldY);
+        }
+    }
+
+    /**
+     * Notify the listener, if any, that this NPC has moved. Subclasses that keep their position
+     * somewhere other than {@link Entity} call this whenever they change it.
+     *
+     * @param oldX The x-axis (horizontal) coordinate before the move.
+     * @param oldY The y-axis (vertical) coordinate before the move.
+     */
+    protected void notifyMoved(int oldX, int oldY) {
+        if (listener != null) {
+            listener.npcMoved(this, oldX, oldY);
+        }
+    }
+
     /**
      * Gets the current speed of this NPC.
      *
@@ -42,6 +172,38 @@ public class Npc extends Entity implements Interactable, Tickable, Directable {
      */
     public void setSpeed(int speed) {
         this.speed = speed;
+        if (speed != 0) {
+            this.dormant = false;
+        }
+    }
+
+    /**
+     * Whether this NPC still needs to be ticked. Stationary NPCs have nothing to do in a tick, so
+     * the {@link NpcManager} puts them to sleep until they are given a speed again.
+     *
+     * @return true if this NPC moves or otherwise changes over time, false otherwise.
+     */
+    public boolean hasPendingWork() {
+        return this.speed != 0;
+    }
+
+    /**
+     * Whether this NPC is currently asleep and skipped by the {@link NpcManager} tick.
+     *
+     * @return true if this NPC is dormant, false otherwise.
+     */
+    public boolean isDormant() {
+        return this.dormant;
+    }
+
+    /** Put this NPC to sleep until it is woken. */
+    void sleep() {
+        this.dormant = true;
+    }
+
+    /** Wake this NPC so that it is ticked again. */
+    public void wake() {
+        this.dormant = false;
     }
 
     /**
@@ -62,14 +224,54 @@ public class Npc extends Entity implements Interactable, Tickable, Directable {
         this.direction = direction;
     }
 
+    /**
+     * Set whether this NPC carries the fraction of a pixel it did not move into its next move.
+     *
+     * @param subPixelMotion true to move along the true path, false to round each move to whole
+     *     pixels.
+     */
+    protected void setSubPixelMotion(boolean subPixelMotion) {
+        this.subPixelMotion = subPixelMotion;
+        this.remainderX = 0;
+        this.remainderY = 0;
+    }
+
+    /**
+     * Turn this NPC to face the given position.
+     *
+     * @param x The x-axis (horizontal) coordinate to face.
+     * @param y The y-axis (vertical) coordinate to face.
+     */
+    public void turnTowards(int x, int y) {
+        this.setDirection(Steering.atan2(y - this.getY(), x - this.getX()));
+    }
+
     /**
      * Adjusts the X and Y coordinates of this NPC based on direction and speed.
+     *
+     * <p>By default each move is rounded to whole pixels along each axis, so a slow NPC moving at
+     * a shallow angle may not move along one of the axes at all. With sub-pixel motion (see {@link
+     * #setSubPixelMotion(boolean)}) the NPC instead moves to the whole pixel nearest its true
+     * position and carries the fraction of a pixel left over into its next move. Setting either
+     * coordinate directly drops the fraction along that axis.
      */
     public void move() {
-        final int deltaX = (int) Math.round(Math.cos(Math.toRadians(this.direction)) * this.speed);
-        final int deltaY = (int) Math.round(Math.sin(Math.toRadians(this.direction)) * this.speed);
-        this.setX(this.getX() + deltaX);
-        this.setY(this.getY() + deltaY);
+        if (this.speed == 0) {
+            return;
+        }
+        if (!this.subPixelMotion) {
+            this.setX(this.getX() + Steering.pixelStepX(this.direction, this.speed));
+            this.setY(this.getY() + Steering.pixelStepY(this.direction, this.speed));
+            return;
+        }
+        final int fixedX = Steering.toFixed(this.getX()) + this.remainderX
+                + Steering.stepX(this.direction, this.speed);
+        final int fixedY = Steering.toFixed(this.getY()) + this.remainderY
+                + Steering.stepY(this.direction, this.speed);
+        this.setX(Steering.toPixels(fixedX));
+        this.setY(Steering.toPixels(fixedY));
+        this.remainderX = fixedX - Steering.toFixed(this.getX());
+        this.remainderY = fixedY - Steering.toFixed(this.getY());
     }
 
     @Override
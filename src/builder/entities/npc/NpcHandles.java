@@ -0,0 +1,120 @@
+package builder.entities.npc;
+
+import java.util.Arrays;
+
+/**
+ * Hands out integer handles to NPCs, so that other systems can refer to an NPC without holding
+ * on to it and can tell when the NPC it referred to has gone.
+ *
+ * <p>A handle packs a slot in a table of NPCs together with the generation of that slot. When an
+ * NPC is {@link #release(Npc) released}, its slot's generation is advanced and the slot is reused
+ * for a later NPC, so every handle to the released NPC stops resolving (see {@link #get(int)}),
+ * even if the NPC object itself is pooled and comes back (see {@link NpcPool}).
+ *
+ * <p>Generations wrap after {@value #GENERATIONS} reuses of the same slot, after which a very old
+ * handle could resolve again; handles are meant to be checked far more often than that.
+ *
+ * @param <T> The type of NPC referred to.
+ */
+public class NpcHandles<T extends Npc> {
+
+    /** A handle that never refers to an NPC. */
+    public static final int NONE = 0;
+
+    private static final int SLOT_BITS = 17;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    /** The number of distinct generations of a slot. */
+    private static final int GENERATIONS = 1 << (Integer.SIZE - SLOT_BITS);
+
+    private Npc[] npcs = new Npc[16];
+
+    /** The generation of each slot, from 1 up; a handle with generation 0 is {@link #NONE}. */
+    private int[] generations = new int[16];
+
+    /** Slots that have been released, reused before new slots are taken. */
+    private int[] free = new int[16];
+    private int freeCount = 0;
+
+    /** The number of slots ever used. */
+    private int used = 0;
+
+    /**
+     * The handle of the given NPC, handing out a new one if it has none.
+     *
+     * <p>An NPC is given a handle by one table at most; the handle is recorded on the NPC.
+     *
+     * @param npc The NPC to refer to.
+     * @return A handle that resolves to the NPC until it is released.
+     */
+    public int handleOf(T npc) {
+        if (get(npc.getHandle()) == npc) {
+            return npc.getHandle();
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = free[--freeCount];
+        } else {
+            if (used > SLOT_MASK) {
+                throw new IllegalStateException("Too many NPCs with handles");
+            }
+            slot = used++;
+            if (slot == npcs.length) {
+                npcs = Arrays.copyOf(npcs, slot * 2);
+                generations = Arrays.copyOf(generations, slot * 2);
+            }
+            generations[slot] = 1;
+        }
+        npcs[slot] = npc;
+        int handle = (generations[slot] << SLOT_BITS) | slot;
+        npc.setHandle(handle);
+        return handle;
+    }
+
+    /**
+     * The NPC the given handle refers to.
+     *
+     * @param handle A handle from {@link #handleOf(Npc)}, or {@link #NONE}.
+     * @return The NPC, or null if it has been released or the handle is {@link #NONE}.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        int slot = handle & SLOT_MASK;
+        int generation = handle >>> SLOT_BITS;
+        if (generation == 0 || slot >= used || generations[slot] != generation) {
+            return null;
+        }
+        return (T) npcs[slot];
+    }
+
+    /**
+     * Whether the given handle still refers to an NPC.
+     *
+     * @param handle A handle from {@link #handleOf(Npc)}, or {@link #NONE}.
+     * @return true if the NPC has not been released, false otherwise.
+     */
+    public boolean isLive(int handle) {
+        return get(handle) != null;
+    }
+
+    /**
+     * Stop referring to the given NPC, so that every handle to it stops resolving. Releasing an
+     * NPC without a handle from this table has no effect.
+     *
+     * @param npc The NPC that has gone.
+     */
+    public void release(T npc) {
+        int handle = npc.getHandle();
+        if (get(handle) != npc) {
+            return;
+        }
+        int slot = handle & SLOT_MASK;
+        npcs[slot] = null;
+        generations[slot] = generations[slot] + 1 == GENERATIONS ? 1 : generations[slot] + 1;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = slot;
+        npc.setHandle(NONE);
+    }
+}
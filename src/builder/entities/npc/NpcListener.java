@@ -0,0 +1,20 @@
+package builder.entities.npc;
+
+/**
+ * A listener that is notified when an {@link Npc} moves.
+ *
+ * <p>A {@link SpatialHash} registers itself as the listener of each NPC it holds (see {@link
+ * Npc#setListener(NpcListener)}) so that it can keep the NPC in the right cell without scanning
+ * every NPC.
+ */
+public interface NpcListener {
+
+    /**
+     * Called after the position of an NPC has changed along either axis.
+     *
+     * @param npc The NPC that moved.
+     * @param oldX The x-axis (horizontal) coordinate of the NPC before it moved.
+     * @param oldY The y-axis (vertical) coordinate of the NPC before it moved.
+     */
+    void npcMoved(Npc npc, int oldX, int oldY);
+}
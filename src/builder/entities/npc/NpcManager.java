@@ -3,9 +3,12 @@ package builder.entities.npc;
 import builder.GameState;
 import builder.Tickable;
 import builder.entities.Interactable;
+import builder.timing.Lifespan;
+import builder.timing.TimerWheel;
 import builder.ui.RenderableGroup;
 
 import engine.EngineState;
+import engine.game.HasPosition;
 import engine.renderer.Renderable;
 
 import java.util.ArrayList;
@@ -18,7 +21,25 @@ import java.util.List;
 public class NpcManager implements Interactable, Tickable, RenderableGroup {
     
     /** List of all managed NPCs. */
-    private final ArrayList<Npc> npcs = new ArrayList<>();
+    private final TrackedList<Npc> npcs = new TrackedList<>();
+
+    /** Spatial hash over {@link #npcs} for range queries. */
+    private final SpatialHash<Npc> nearby = new SpatialHash<>();
+
+    /** The modification count of {@link #npcs} when {@link #nearby} was last in line with it. */
+    private int nearbySynced = -1;
+
+    /** Handles to NPCs, released as they are removed. */
+    private final NpcHandles<Npc> handles = new NpcHandles<>();
+
+    /** Lifespans of spawned guard bees, advanced once per tick, so that they need not be ticked. */
+    private final TimerWheel timers = new TimerWheel();
+
+    /** Whether a tick is under way, in which case newly spawned bees are ticked this tick. */
+    private boolean ticking = false;
+
+    /** Removed guard bees kept for reuse by {@link #mkBee(int, int, HasPosition)}. */
+    private final NpcPool<GuardBee> bees = new NpcPool<>();
 
     /**
      * Creates a new NpcManager with an empty list of NPCs.
@@ -37,14 +58,80 @@ public class NpcManager implements Interactable, Tickable, RenderableGroup {
     }
 
     /**
-     * Removes all NPCs marked for removal from the active NPC list.
+     * Removes all NPCs marked for removal from the active NPC list, keeping the order of the rest.
+     * Handles to removed NPCs stop resolving and removed guard bees are kept to be reused by later
+     * spawns.
+     *
+     * <p>The list is compacted in a single pass, however many NPCs are removed.
      */
     public void cleanup() {
-        for (int i = this.getNpcs().size() - 1; i >= 0; i -= 1) {
-            if (this.getNpcs().get(i).isMarkedForRemoval()) {
-                this.getNpcs().remove(i);
+        // removed entries are taken out of the hash as they go, so it stays in line with the list
+        boolean inSync = this.nearbySynced == this.npcs.getModificationCount();
+        int kept = 0;
+        for (int i = 0; i < this.npcs.size(); i++) {
+            Npc npc = this.npcs.get(i);
+            if (npc.isMarkedForRemoval()) {
+                this.nearby.remove(npc);
+                this.handles.release(npc);
+                if (npc instanceof Expirable expirable
+                        && expirable.getLifespan() instanceof Lifespan lifespan) {
+                    lifespan.cancel();
+                }
+                if (npc.getClass() == GuardBee.class) {
+                    this.bees.recycle((GuardBee) npc);
+                }
+            } else {
+                this.npcs.set(kept++, npc);
             }
         }
+        this.npcs.subList(kept, this.npcs.size()).clear();
+        if (inSync) {
+            this.nearbySynced = this.npcs.getModificationCount();
+        }
+    }
+
+    /**
+     * Gets a handle to the given NPC, which other systems can hold instead of the NPC itself.
+     *
+     * @param npc An NPC managed by this NPC manager.
+     * @return A handle that resolves to the NPC (see {@link #get(int)}) until it is removed by
+     *     {@link #cleanup()}.
+     */
+    public int handleOf(Npc npc) {
+        return this.handles.handleOf(npc);
+    }
+
+    /**
+     * Gets the NPC the given handle refers to.
+     *
+     * @param handle A handle from {@link #handleOf(Npc)}, or {@link NpcHandles#NONE}.
+     * @return The NPC, or null if it has been removed.
+     */
+    public Npc get(int handle) {
+        return this.handles.get(handle);
+    }
+
+    /**
+     * Creates a new guard bee, reusing a removed bee if there is one. The bee is not added to this
+     * manager, but its lifespan is kept by this manager from the next tick on.
+     *
+     * @param x horizontal spawning position
+     * @param y vertical spawning position
+     * @param trackedTarget target with a position we want the bee to track
+     * @return The created bee
+     */
+    public GuardBee mkBee(int x, int y, HasPosition trackedTarget) {
+        GuardBee bee = this.bees.obtain();
+        if (bee == null) {
+            bee = new GuardBee(x, y, trackedTarget);
+        } else {
+            bee.reset(x, y, trackedTarget);
+        }
+        if (bee.getLifespan() instanceof Lifespan lifespan) {
+            long firstTick = this.ticking ? this.timers.now() : this.timers.now() + 1;
+            lifespan.expireOn(this.timers, firstTick, bee::markForRemoval);
+        }
+        return bee;
     }
 
     /**
@@ -56,14 +143,74 @@ public class NpcManager implements Interactable, Tickable, RenderableGroup {
         this.getNpcs().add(npc);
     }
 
+    /**
+     * Tick every NPC that is awake. NPCs left without pending work after their tick (see {@link
+     * Npc#hasPendingWork()}) are put to sleep and skipped until they are woken.
+     */
     @Override
     public void tick(EngineState state, GameState game) {
         this.cleanup();
+        this.timers.advance();
+        this.ticking = true;
         for (Npc npc : npcs) {
+            if (npc.isDormant()) {
+                continue;
+            }
             npc.tick(state, game);
+            if (!npc.hasPendingWork()) {
+                npc.sleep();
+            }
+        }
+        this.syncNearby();
+        this.ticking = false;
+    }
+
+    /**
+     * Gets every NPC strictly closer than the given radius to the given position, as measured by
+     * {@link Npc#distanceFrom(int, int)}.
+     *
+     * <p>Only NPCs near the position are measured, see {@link SpatialHash}.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param radius The radius in pixels.
+     * @return The NPCs within the radius, in the order of {@link #getNpcs()}.
+     */
+    public List<Npc> within(int x, int y, int radius) {
+        this.refreshNearby();
+        return this.nearby.within(x, y, radius);
+    }
+
+    /**
+     * Gets the NPC closest to the given position, if it is strictly closer than the given radius.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param radius The radius in pixels to search within.
+     * @return The nearest NPC within the radius, or null if there are none.
+     */
+    public Npc nearest(int x, int y, int radius) {
+        this.refreshNearby();
+        return this.nearby.nearest(x, y, radius);
+    }
+
+    /**
+     * Bring the spatial hash in line with {@link #npcs} if the list has changed since it was
+     * last synced, e.g. because it was changed directly through the list returned by {@link
+     * #getNpcs()}.
+     */
+    private void refreshNearby() {
+        if (this.nearbySynced != this.npcs.getModificationCount()) {
+            this.syncNearby();
         }
     }
 
+    /** Bring the spatial hash in line with {@link #npcs} and note the list as synced. */
+    private void syncNearby() {
+        this.nearby.sync(this.npcs);
+        this.nearbySynced = this.npcs.getModificationCount();
+    }
+
     @Override
     public void interact(EngineState state, GameState game) {
         for (Interactable interactable : this.getInteractables()) {
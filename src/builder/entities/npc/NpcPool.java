@@ -0,0 +1,71 @@
+package builder.entities.npc;
+
+import java.util.ArrayDeque;
+
+/**
+ * A bounded store of NPCs that have been removed from the game, kept so that they can be reused
+ * rather than constructed anew.
+ *
+ * <p>Short-lived NPCs such as birds and guard bees are spawned and removed continually. A manager
+ * {@link #recycle(Npc) recycles} each such NPC as it removes it and {@link #obtain() obtains} one
+ * from the pool when spawning, resetting it to the state of a newly constructed NPC (see {@link
+ * Npc#reset(int, int)}). Only when the pool is empty is a new NPC constructed, so once the number
+ * of NPCs alive settles, spawning stops allocating.
+ *
+ * <p>An NPC must not be recycled while it is still in the game, and must not be used by its old
+ * holders after it has been recycled.
+ *
+ * @param <T> The type of NPC pooled.
+ */
+public class NpcPool<T extends Npc> {
+
+    /** The number of NPCs kept by default, more than are alive at once in a normal game. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final int capacity;
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+
+    /** Construct a new empty pool holding at most {@link #DEFAULT_CAPACITY} NPCs. */
+    public NpcPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a new empty pool holding at most the given number of NPCs.
+     *
+     * @param capacity The most NPCs to keep; NPCs recycled beyond this are discarded.
+     * @requires capacity >= 0
+     */
+    public NpcPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * The number of NPCs waiting to be reused.
+     *
+     * @return The number of NPCs in the pool.
+     */
+    public int size() {
+        return free.size();
+    }
+
+    /**
+     * Take an NPC from the pool. The caller must reset it before use.
+     *
+     * @return The most recently recycled NPC, or null if the pool is empty.
+     */
+    public T obtain() {
+        return free.pollLast();
+    }
+
+    /**
+     * Return an NPC that has been removed from the game to the pool, unless the pool is full.
+     *
+     * @param npc The NPC to keep for reuse.
+     */
+    public void recycle(T npc) {
+        if (free.size() < capacity) {
+            free.addLast(npc);
+        }
+    }
+}
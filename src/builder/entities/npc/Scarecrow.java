@@ -10,8 +10,6 @@ import builder.ui.SpriteGallery;
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 
-import java.util.ArrayList;
-
 /**
  * A scarecrow NPC that scares away birds.
  */
@@ -41,28 +39,18 @@ public class Scarecrow extends Npc {
     public void interact(EngineState state, GameState game) {
         super.interact(state, game);
         EnemyManager enemies = game.getEnemies();
-        final ArrayList<Magpie> magpies = new ArrayList<>();
-        final ArrayList<Pigeon> pigeons = new ArrayList<>();
-        for (Enemy bird : enemies.getBirds()) {
-            if (bird instanceof Magpie) {
-                magpies.add((Magpie) bird);
-            }
-            if (bird instanceof Pigeon) {
-                pigeons.add((Pigeon) bird);
-            }
-        }
-
         final int scareRadius = state.getDimensions().tileSize() * 4;
 
-        for (Magpie magpie : magpies) {
-            if (this.distanceFrom(magpie) < scareRadius) {
+        for (Enemy bird : enemies.within(this.getX(), this.getY(), scareRadius)) {
+            if (bird instanceof Magpie magpie) {
                 magpie.setAttacking(false);
                 // trigger the scare animation
             }
         }
 
-        for (Pigeon pigeon : pigeons) {
-            if (this.distanceFrom(pigeon) > scareRadius) {
+        // pigeons outside the radius are scared off, so every pigeon has to be measured
+        for (Enemy bird : enemies.getBirds()) {
+            if (bird instanceof Pigeon pigeon && this.distanceFrom(pigeon) > scareRadius) {
                 pigeon.setAttacking(false);
                 // trigger the scare animation
             }
@@ -0,0 +1,287 @@
+package builder.entities.npc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid over NPC positions for range queries that only look at nearby NPCs.
+ *
+ * <p>Space is divided into square cells of a fixed size and each NPC is recorded in the cell
+ * containing its position. A query for the NPCs within some radius of a point only measures the
+ * distance to NPCs in the cells overlapping that circle, rather than to every NPC.
+ *
+ * <p>The hash listens to every NPC it holds (see {@link NpcListener}) and moves an NPC to its new
+ * cell as soon as it crosses a cell boundary. NPCs are added and removed individually, or the
+ * whole membership is brought in line with a list via {@link #sync(List)}, which also fixes the
+ * order in which query results are returned: the order of that list, with NPCs added since then
+ * after it. Query results therefore match what a scan of the list would find first.
+ *
+ * @param <T> The type of NPC held.
+ */
+public class SpatialHash<T extends Npc> implements NpcListener {
+
+    /** The cell size used by the managers, a few tiles wide at the default tile size. */
+    public static final int DEFAULT_CELL_SIZE = 100;
+
+    private final int cellSize;
+
+    /** The NPCs in each non-empty cell, keyed by {@link #key(int, int)}. */
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+
+    /** The entry of each NPC held, by identity. */
+    private final Map<Npc, Entry<T>> entries = new IdentityHashMap<>();
+
+    /** The order given to the next NPC added. */
+    private int nextOrder = 0;
+
+    /** The number of calls to {@link #sync(List)}, used to find NPCs missing from the list. */
+    private int generation = 0;
+
+    /** Construct a new empty spatial hash with cells of {@link #DEFAULT_CELL_SIZE} pixels. */
+    public SpatialHash() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Construct a new empty spatial hash with cells of the given size.
+     *
+     * @param cellSize The width and height of each cell in pixels.
+     * @requires cellSize > 0
+     */
+    public SpatialHash(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * The number of NPCs held.
+     *
+     * @return The number of NPCs in the hash.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Whether the given NPC is held.
+     *
+     * @param npc The NPC to look for.
+     * @return true if the NPC is in the hash, false otherwise.
+     */
+    public boolean contains(Npc npc) {
+        return entries.containsKey(npc);
+    }
+
+    /**
+     * Add an NPC to the hash, after every NPC already held in query order. Adding an NPC that is
+     * already held has no effect.
+     *
+     * @param npc The NPC to add.
+     */
+    public void add(T npc) {
+        if (entries.containsKey(npc)) {
+            return;
+        }
+        Entry<T> entry = new Entry<>(npc, keyOf(npc.getX(), npc.getY()), nextOrder++);
+        entry.generation = generation;
+        entries.put(npc, entry);
+        cells.computeIfAbsent(entry.cell, cell -> new ArrayList<>()).add(entry);
+        npc.setListener(this);
+    }
+
+    /**
+     * Remove an NPC from the hash. Removing an NPC that is not held has no effect.
+     *
+     * @param npc The NPC to remove.
+     */
+    public void remove(Npc npc) {
+        Entry<T> entry = entries.remove(npc);
+        if (entry == null) {
+            return;
+        }
+        removeFromCell(entry);
+        npc.setListener(null);
+    }
+
+    /**
+     * Make the hash hold exactly the NPCs in the given list, in the order of the list.
+     *
+     * <p>NPCs already held keep their entries, so this costs a lookup per NPC plus the cost of any
+     * NPCs added or removed. The cell of every NPC is checked as well, in case it moved while not
+     * listened to (e.g. while also held by another hash).
+     *
+     * @param npcs The NPCs that should be held.
+     */
+    public void sync(List<? extends T> npcs) {
+        generation++;
+        nextOrder = 0;
+        int held = 0;
+        for (T npc : npcs) {
+            Entry<T> entry = entries.get(npc);
+            if (entry == null) {
+                add(npc);
+                held++;
+            } else if (entry.generation != generation) {
+                entry.generation = generation;
+                entry.order = nextOrder++;
+                held++;
+                relocate(entry);
+                npc.setListener(this);
+            }
+        }
+        if (entries.size() > held) {
+            List<Npc> stale = new ArrayList<>();
+            for (Entry<T> entry : entries.values()) {
+                if (entry.generation != generation) {
+                    stale.add(entry.npc);
+                }
+            }
+            for (Npc npc : stale) {
+                remove(npc);
+            }
+        }
+    }
+
+    @Override
+    public void npcMoved(Npc npc, int oldX, int oldY) {
+        Entry<T> entry = entries.get(npc);
+        if (entry == null) {
+            npc.setListener(null); // no longer held
+            return;
+        }
+        relocate(entry);
+    }
+
+    /** Move the entry to the cell of its NPC's current position, if it has changed. */
+    private void relocate(Entry<T> entry) {
+        long cell = keyOf(entry.npc.getX(), entry.npc.getY());
+        if (cell != entry.cell) {
+            removeFromCell(entry);
+            entry.cell = cell;
+            cells.computeIfAbsent(cell, key -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    /**
+     * Return every NPC strictly closer than the given radius to the given position.
+     *
+     * <p>Distances are measured as in {@link Npc#distanceFrom(int, int)}, so an NPC is returned
+     * exactly when {@code npc.distanceFrom(x, y) < radius}.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param radius The radius in pixels.
+     * @return The NPCs within the radius, in query order (see {@link #sync(List)}).
+     */
+    public List<T> within(int x, int y, int radius) {
+        List<Entry<T>> found = new ArrayList<>();
+        long limit = (long) radius * radius;
+        int minColumn = Math.floorDiv(x - radius, cellSize);
+        int maxColumn = Math.floorDiv(x + radius, cellSize);
+        int minRow = Math.floorDiv(y - radius, cellSize);
+        int maxRow = Math.floorDiv(y + radius, cellSize);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                List<Entry<T>> cell = cells.get(key(column, row));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry<T> entry : cell) {
+                    if (distanceSquared(entry.npc, x, y) < limit) {
+                        found.add(entry);
+                    }
+                }
+            }
+        }
+        found.sort(Comparator.comparingInt(entry -> entry.order));
+        List<T> result = new ArrayList<>(found.size());
+        for (Entry<T> entry : found) {
+            result.add(entry.npc);
+        }
+        return result;
+    }
+
+    /**
+     * Return the NPC closest to the given position, if it is strictly closer than the given
+     * radius. Ties are broken by query order (see {@link #sync(List)}).
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param radius The radius in pixels to search within.
+     * @return The nearest NPC within the radius, or null if there are none.
+     */
+    public T nearest(int x, int y, int radius) {
+        int column = Math.floorDiv(x, cellSize);
+        int row = Math.floorDiv(y, cellSize);
+        int rings = radius / cellSize + 1;
+        Entry<T> best = null;
+        long bestDistance = (long) radius * radius;
+        for (int ring = 0; ring <= rings; ring++) {
+            // every cell in this ring is at least (ring - 1) cells away from the position
+            long reach = (long) Math.max(0, ring - 1) * cellSize;
+            if (best != null && reach * reach > bestDistance) {
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                boolean edgeRow = r == row - ring || r == row + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = column - ring; c <= column + ring; c += Math.max(1, step)) {
+                    List<Entry<T>> cell = cells.get(key(c, r));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Entry<T> entry : cell) {
+                        long distance = distanceSquared(entry.npc, x, y);
+                        if (distance < bestDistance
+                                || (distance == bestDistance
+                                        && best != null
+                                        && entry.order < best.order)) {
+                            best = entry;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best == null ? null : best.npc;
+    }
+
+    private void removeFromCell(Entry<T> entry) {
+        List<Entry<T>> cell = cells.get(entry.cell);
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            cells.remove(entry.cell);
+        }
+    }
+
+    private long keyOf(int x, int y) {
+        return key(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize));
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    private static long distanceSquared(Npc npc, int x, int y) {
+        long deltaX = npc.getX() - x;
+        long deltaY = npc.getY() - y;
+        return deltaX * deltaX + deltaY * deltaY;
+    }
+
+    /** The cell and query order of an NPC held in the hash. */
+    private static class Entry<T extends Npc> {
+        private final T npc;
+        private long cell;
+        private int order;
+        private int generation;
+
+        private Entry(T npc, long cell, int order) {
+            this.npc = npc;
+            this.cell = cell;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package builder.entities.npc;
+
+/**
+ * Table-driven steering maths for NPCs, working in whole degrees and fixed-point pixels.
+ *
+ * <p>Directions are whole degrees, as in {@link Npc#getDirection()}, measured clockwise on screen
+ * from the positive x-axis. Sines and cosines are read from 360-entry tables rather than computed,
+ * and {@link #atan2(int, int)} finds the direction to a point from a table of tangents.
+ *
+ * <p>By default an NPC moves in whole-pixel steps, {@link #pixelStepX(int, double) rounded} from
+ * the exact sine and cosine of its direction, also read from tables. With sub-pixel motion (see
+ * {@link Npc#setSubPixelMotion(boolean)}) motion is instead worked out in fixed-point pixels with
+ * {@link #FRACTION_BITS} fractional bits, so an NPC can carry the fraction of a pixel it did not
+ * move into its next move. Slow NPCs and NPCs moving at shallow angles then travel at
+ * their true speed and in their true direction, rather than stalling or snapping to whole-pixel
+ * steps.
+ */
+public class Steering {
+
+    /** The number of fractional bits in a fixed-point position. */
+    public static final int FRACTION_BITS = 8;
+
+    /** The number of fractional bits in the sine table. */
+    private static final int TABLE_BITS = 16;
+
+    /** The sine of each whole degree, scaled by 2^{@link #TABLE_BITS}. */
+    private static final int[] SINE = new int[360];
+
+    /** The lowest direction, in degrees, in the tables of exact sines and cosines. */
+    private static final int EXACT_FROM = -360;
+
+    /**
+     * The sine of each whole degree from {@link #EXACT_FROM} to 359, exactly as computed by {@code
+     * Math.sin(Math.toRadians(degrees))}, which may differ in its last bit between a direction and
+     * the same direction a turn away.
+     */
+    private static final double[] EXACT_SINE = new double[360 - EXACT_FROM];
+
+    /** The cosine of each whole degree from {@link #EXACT_FROM} to 359, as for the sines. */
+    private static final double[] EXACT_COSINE = new double[360 - EXACT_FROM];
+
+    /** The number of fractional bits in the tangent table. */
+    private static final int TAN_BITS = 30;
+
+    /** The tangent of each whole degree from 0 to 45, scaled by 2^{@link #TAN_BITS}. */
+    private static final long[] TAN = new long[46];
+
+    static {
+        for (int degrees = 0; degrees < 360; degrees++) {
+            SINE[degrees] = (int) Math.round(Math.sin(Math.toRadians(degrees)) * (1 << TABLE_BITS));
+        }
+        for (int degrees = EXACT_FROM; degrees < 360; degrees++) {
+            EXACT_SINE[degrees - EXACT_FROM] = Math.sin(Math.toRadians(degrees));
+            EXACT_COSINE[degrees - EXACT_FROM] = Math.cos(Math.toRadians(degrees));
+        }
+        for (int degrees = 0; degrees <= 45; degrees++) {
+            TAN[degrees] = Math.round(Math.tan(Math.toRadians(degrees)) * (1L << TAN_BITS));
+        }
+    }
+
+    private Steering() {}
+
+    /**
+     * The sine of the given direction, scaled by 2^16.
+     *
+     * @param degrees The direction in degrees, of any sign or size.
+     * @return The sine of the direction multiplied by 65536 and rounded.
+     */
+    public static int sin(int degrees) {
+        return SINE[Math.floorMod(degrees, 360)];
+    }
+
+    /**
+     * The cosine of the given direction, scaled by 2^16.
+     *
+     * @param degrees The direction in degrees, of any sign or size.
+     * @return The cosine of the direction multiplied by 65536 and rounded.
+     */
+    public static int cos(int degrees) {
+        return SINE[Math.floorMod(degrees + 90, 360)];
+    }
+
+    /**
+     * The direction of the point (deltaX, deltaY) from the origin, in whole degrees truncated
+     * towards zero.
+     *
+     * <p>Gives the same direction as {@code (int) Math.toDegrees(Math.atan2(deltaY, deltaX))}, with
+     * the same range of -180 to 180, using only integer arithmetic and a search of a table of
+     * tangents.
+     *
+     * @param deltaY The y-axis (vertical) offset of the point.
+     * @param deltaX The x-axis (horizontal) offset of the point.
+     * @return The direction in degrees, or 0 if the point is the origin.
+     */
+    public static int atan2(int deltaY, int deltaX) {
+        if (deltaX == 0 && deltaY == 0) {
+            return 0;
+        }
+        long absX = Math.abs((long) deltaX);
+        long absY = Math.abs((long) deltaY);
+        // the angle from the nearer axis, which is at most 45 degrees, truncated and rounded up
+        int floor = absY <= absX ? atanFloor(absY, absX) : atanFloor(absX, absY);
+        boolean whole = absX == 0 || absY == 0 || absX == absY;
+        int ceiling = whole ? floor : floor + 1;
+        // truncate the angle from the positive x-axis, measured the short way round
+        int angle = absY <= absX ? floor : 90 - ceiling;
+        if (deltaX < 0) {
+            angle = 180 - (absY <= absX ? ceiling : 90 - floor);
+        }
+        return deltaY < 0 ? -angle : angle;
+    }
+
+    /**
+     * The arctangent of {@code opposite / adjacent} in whole degrees, rounded down.
+     *
+     * @param opposite The length of the side opposite the angle.
+     * @param adjacent The length of the side adjacent to the angle, no less than opposite.
+     * @return The largest whole number of degrees whose tangent is at most opposite / adjacent.
+     */
+    private static int atanFloor(long opposite, long adjacent) {
+        long scaled = opposite << TAN_BITS;
+        int low = 0;
+        int high = 45;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (TAN[middle] * adjacent <= scaled) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The fixed-point distance moved along the x-axis in one move.
+     *
+     * @param direction The direction of movement in degrees.
+     * @param speed The speed in pixels per move.
+     * @return The distance along the x-axis with {@link #FRACTION_BITS} fractional bits.
+     */
+    public static int stepX(int direction, double speed) {
+        return scale(cos(direction), speed);
+    }
+
+    /**
+     * The fixed-point distance moved along the y-axis in one move.
+     *
+     * @param direction The direction of movement in degrees.
+     * @param speed The speed in pixels per move.
+     * @return The distance along the y-axis with {@link #FRACTION_BITS} fractional bits.
+     */
+    public static int stepY(int direction, double speed) {
+        return scale(sin(direction), speed);
+    }
+
+    /**
+     * The whole-pixel distance moved along the x-axis in one move, rounded from the exact cosine.
+     *
+     * <p>Always equal to {@code Math.round(Math.cos(Math.toRadians(direction)) * speed)}.
+     *
+     * @param direction The direction of movement in degrees.
+     * @param speed The speed in pixels per move.
+     * @return The distance along the x-axis in pixels.
+     */
+    public static int pixelStepX(int direction, double speed) {
+        if (direction < EXACT_FROM || direction >= 360) {
+            return (int) Math.round(Math.cos(Math.toRadians(direction)) * speed);
+        }
+        return (int) Math.round(EXACT_COSINE[direction - EXACT_FROM] * speed);
+    }
+
+    /**
+     * The whole-pixel distance moved along the y-axis in one move, rounded from the exact sine.
+     *
+     * <p>Always equal to {@code Math.round(Math.sin(Math.toRadians(direction)) * speed)}.
+     *
+     * @param direction The direction of movement in degrees.
+     * @param speed The speed in pixels per move.
+     * @return The distance along the y-axis in pixels.
+     */
+    public static int pixelStepY(int direction, double speed) {
+        if (direction < EXACT_FROM || direction >= 360) {
+            return (int) Math.round(Math.sin(Math.toRadians(direction)) * speed);
+        }
+        return (int) Math.round(EXACT_SINE[direction - EXACT_FROM] * speed);
+    }
+
+    private static int scale(int ratio, double speed) {
+        return (int) Math.round(ratio * speed / (1 << (TABLE_BITS - FRACTION_BITS)));
+    }
+
+    /**
+     * Convert a whole-pixel position to fixed point.
+     *
+     * @param pixels The position in pixels.
+     * @return The position with {@link #FRACTION_BITS} fractional bits.
+     */
+    public static int toFixed(int pixels) {
+        return pixels << FRACTION_BITS;
+    }
+
+    /**
+     * Round a fixed-point position to the nearest whole pixel, rounding halves up.
+     *
+     * @param fixed The position with {@link #FRACTION_BITS} fractional bits.
+     * @return The position in pixels.
+     */
+    public static int toPixels(int fixed) {
+        return (fixed + (1 << (FRACTION_BITS - 1))) >> FRACTION_BITS;
+    }
+}
@@ -0,0 +1,44 @@
+package builder.entities.npc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An array list that counts the changes made to it, so that a structure built from the list (e.g.
+ * a {@link SpatialHash}) can tell cheaply whether it is out of date.
+ *
+ * <p>Every change counts: elements added, removed or {@link #set(int, Object) replaced}, and the
+ * list sorted or cleared. Taking a {@link #subList(int, int) sub list} also counts as a change, as
+ * elements may be replaced through it without the list seeing.
+ *
+ * @param <E> The type of element held.
+ */
+public class TrackedList<E> extends ArrayList<E> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Changes that {@link ArrayList} does not count as structural, e.g. replacing an element. */
+    private int replacements = 0;
+
+    /**
+     * The number of changes made to this list so far. Comparing two counts tells whether the list
+     * changed in between.
+     *
+     * @return The number of changes made.
+     */
+    public int getModificationCount() {
+        return modCount + replacements;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        replacements++;
+        return super.set(index, element);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        replacements++;
+        return super.subList(fromIndex, toIndex);
+    }
+}
@@ -0,0 +1,176 @@
+package builder.entities.npc.enemies;
+
+import builder.GameState;
+
+import engine.EngineState;
+
+/**
+ * Base class for the birds that fly at the player: magpies, eagles and pigeons.
+ *
+ * <p>A bird moves twice in a tick, once before and once after deciding where to fly. Its tick is
+ * split into the work done between those moves and the work done after them ({@link
+ * #afterMove(EngineState, GameState)}), so that an {@link EnemyManager} can move all of its birds
+ * at once between the two halves rather than moving each bird in turn (see {@link
+ * BirdStore#moveAll()}).
+ *
+ * <p>The work between the moves is split again into {@link #plan(EngineState, GameState)}, which
+ * only reads the game state and only changes the bird itself, followed by {@link
+ * #beforeMove(EngineState, GameState)}, which may also read what the bird's plan left behind.
+ * Neither changes anything but the bird: any change to the rest of the game state, e.g. taking
+ * from the inventory, is left to {@link #afterMove(EngineState, GameState)}, which a manager runs
+ * for each bird in list order. Birds' plans are independent of one another, so a manager may run
+ * them in parallel (see {@link EnemyManager#setTickPool(java.util.concurrent.ForkJoinPool)}).
+ *
+ * <p>While managed, a bird is a view over its slot of the manager's {@link BirdStore}: its position
+ * lives in the store's arrays rather than in the bird. A bird that is not managed keeps its own
+ * position and ticks as a standalone entity.
+ */
+public abstract class Bird extends Enemy {
+
+    /** The store holding this bird's position, or null if it holds its own. */
+    private BirdStore store;
+    private int slot;
+
+    /**
+     * Creates a new Bird at the specified coordinates.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     */
+    public Bird(int x, int y) {
+        super(x, y);
+    }
+
+    /**
+     * Do the part of the work between the bird's two moves that depends only on the bird and on
+     * reading the game state, such as choosing where to fly. This must not change anything other
+     * than this bird, nor move it, so that it can run at the same time as other birds' plans.
+     *
+     * @param engine The state of the engine.
+     * @param game The state of the game, which must only be read.
+     */
+    protected void plan(EngineState engine, GameState game) {}
+
+    /**
+     * Do the rest of the work of a tick between the bird's two moves, after {@link
+     * #plan(EngineState, GameState)}. Like a plan, this must not change anything other than this
+     * bird: a manager runs every bird's {@code beforeMove} before any bird's {@link
+     * #afterMove(EngineState, GameState)}, so a change to the game state here could be seen by, or
+     * undone by, a bird that would only have ticked after this one.
+     *
+     * @param engine The state of the engine.
+     * @param game The state of the game.
+     */
+    protected void beforeMove(EngineState engine, GameState game) {}
+
+    /**
+     * Do the work of a tick after the bird's second move.
+     *
+     * @param engine The state of the engine.
+     * @param game The state of the game.
+     */
+    protected abstract void afterMove(EngineState engine, GameState game);
+
+    @Override
+    public final void tick(EngineState engine, GameState game) {
+        super.tick(engine, game);
+        this.plan(engine, game);
+        this.beforeMove(engine, game);
+        this.move();
+        this.afterMove(engine, game);
+    }
+
+    @Override
+    public int getX() {
+        return store == null ? super.getX() : store.getX(slot);
+    }
+
+    @Override
+    public int getY() {
+        return store == null ? super.getY() : store.getY(slot);
+    }
+
+    @Override
+    public void setX(int x) {
+        if (store == null) {
+            super.setX(x);
+            return;
+        }
+        int oldX = store.getX(slot);
+        store.setX(slot, x);
+        if (oldX != x) {
+            this.notifyMoved(oldX, store.getY(slot));
+        }
+    }
+
+    @Override
+    public void setY(int y) {
+        if (store == null) {
+            super.setY(y);
+            return;
+        }
+        int oldY = store.getY(slot);
+        store.setY(slot, y);
+        if (oldY != y) {
+            this.notifyMoved(store.getX(slot), oldY);
+        }
+    }
+
+    @Override
+    public void setDirection(int direction) {
+        super.setDirection(direction);
+        if (store != null) {
+            store.steer(slot, direction, this.getSpeed());
+        }
+    }
+
+    @Override
+    public void setSpeed(int speed) {
+        super.setSpeed(speed);
+        if (store != null) {
+            store.steer(slot, this.getDirection(), speed);
+        }
+    }
+
+    @Override
+    public void move() {
+        if (store == null) {
+            super.move();
+            return;
+        }
+        int oldX = store.getX(slot);
+        int oldY = store.getY(slot);
+        store.move(slot);
+        if (store.getX(slot) != oldX || store.getY(slot) != oldY) {
+            this.notifyMoved(oldX, oldY);
+        }
+    }
+
+    /** Whether this bird is a view over a slot of the given store. */
+    boolean isHeldBy(BirdStore store) {
+        return this.store == store;
+    }
+
+    /** The slot of this bird in the store holding it. */
+    int getSlot() {
+        return slot;
+    }
+
+    /** Make this bird a view over the given slot of the store. */
+    void attach(BirdStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /** Copy this bird's position out of the store holding it, if any, and stop viewing it. */
+    void detach() {
+        if (store == null) {
+            return;
+        }
+        int x = store.getX(slot);
+        int y = store.getY(slot);
+        store = null;
+        this.setX(x);
+        this.setY(y);
+    }
+}
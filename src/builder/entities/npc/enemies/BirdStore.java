@@ -0,0 +1,215 @@
+package builder.entities.npc.enemies;
+
+import builder.entities.npc.Steering;
+
+import java.util.List;
+
+/**
+ * The positions, directions and speeds of every {@link Bird} managed by an {@link EnemyManager},
+ * stored as parallel arrays indexed by slot rather than in each bird.
+ *
+ * <p>Each bird held is a thin view over its slot: reading or writing its position reads or writes
+ * the arrays (see {@link Bird#getX()}). The step a bird takes along each axis when it moves is
+ * worked out once whenever its direction or speed changes, so that {@link #moveAll()} is a single
+ * pass adding two int arrays to two others, with no per-bird trigonometry or virtual calls. Birds
+ * move in whole-pixel steps, as an {@link builder.entities.npc.Npc} does by default.
+ *
+ * <p>Slots follow the order of the manager's list of enemies. {@link #sync(List)} brings the store
+ * in line with that list, attaching birds that were added to it and detaching those that were
+ * removed; a detached bird copies its position back into itself and behaves as a standalone bird.
+ */
+class BirdStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size = 0;
+    private Bird[] birds = new Bird[INITIAL_CAPACITY];
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    private int[] direction = new int[INITIAL_CAPACITY];
+    private float[] speed = new float[INITIAL_CAPACITY];
+    private int[] stepX = new int[INITIAL_CAPACITY];
+    private int[] stepY = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of birds held.
+     *
+     * @return The number of occupied slots.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * The bird in the given slot.
+     *
+     * @param slot The slot to look in.
+     * @return The bird whose state is stored in the slot.
+     * @requires 0 <= slot < size()
+     */
+    Bird get(int slot) {
+        return birds[slot];
+    }
+
+    int getX(int slot) {
+        return x[slot];
+    }
+
+    void setX(int slot, int value) {
+        x[slot] = value;
+    }
+
+    int getY(int slot) {
+        return y[slot];
+    }
+
+    void setY(int slot, int value) {
+        y[slot] = value;
+    }
+
+    /**
+     * Move the bird in the given slot by one step in its current direction.
+     *
+     * @param slot The slot of the bird.
+     */
+    void move(int slot) {
+        x[slot] += stepX[slot];
+        y[slot] += stepY[slot];
+    }
+
+    /**
+     * Record a new direction and speed for the bird in the given slot and work out the step it
+     * takes along each axis when it moves, rounded as in {@link builder.entities.npc.Npc#move()}.
+     *
+     * @param slot The slot of the bird.
+     * @param direction The direction of the bird in degrees.
+     * @param speed The speed of the bird in pixels per move.
+     */
+    void steer(int slot, int direction, double speed) {
+        if (this.direction[slot] == direction && this.speed[slot] == (float) speed) {
+            return;
+        }
+        this.direction[slot] = direction;
+        this.speed[slot] = (float) speed;
+        stepX[slot] = stepX(direction, this.speed[slot]);
+        stepY[slot] = stepY(direction, this.speed[slot]);
+    }
+
+    private static int stepX(int direction, float speed) {
+        return Steering.pixelStepX(direction, speed);
+    }
+
+    private static int stepY(int direction, float speed) {
+        return Steering.pixelStepY(direction, speed);
+    }
+
+    /**
+     * Move every bird held by one step in its current direction.
+     *
+     * <p>Birds are moved without notifying their listeners, so a {@link
+     * builder.entities.npc.SpatialHash} holding them must be synced afterwards.
+     */
+    void moveAll() {
+        moveRange(0, size);
+    }
+
+    /**
+     * Move the birds in the given range of slots by one step in their current direction. Disjoint
+     * ranges may be moved at the same time.
+     *
+     * @param from The first slot to move.
+     * @param to The slot after the last slot to move.
+     * @requires 0 <= from <= to <= size()
+     */
+    void moveRange(int from, int to) {
+        final int[] x = this.x;
+        final int[] y = this.y;
+        final int[] stepX = this.stepX;
+        final int[] stepY = this.stepY;
+        for (int i = from; i < to; i++) {
+            x[i] += stepX[i];
+            y[i] += stepY[i];
+        }
+    }
+
+    /**
+     * Make the store hold exactly the birds among the given enemies, in the order of the list.
+     *
+     * <p>When the birds in the list are already held in the same order, which is the case on most
+     * ticks, this is one pass over the list. Otherwise the arrays are rebuilt in list order, which
+     * keeps birds that are ticked together next to each other in memory.
+     *
+     * @param enemies The enemies whose birds should be held. Each bird appears at most once.
+     */
+    void sync(List<? extends Enemy> enemies) {
+        int count = 0;
+        boolean same = true;
+        for (Enemy enemy : enemies) {
+            if (enemy instanceof Bird bird) {
+                same = same && count < size && birds[count] == bird && bird.isHeldBy(this);
+                count++;
+            }
+        }
+        if (same && count == size) {
+            return;
+        }
+        rebuild(enemies, count);
+    }
+
+    private void rebuild(List<? extends Enemy> enemies, int count) {
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, count)) << 1);
+        Bird[] newBirds = new Bird[capacity];
+        int[] newX = new int[capacity];
+        int[] newY = new int[capacity];
+        int[] newDirection = new int[capacity];
+        float[] newSpeed = new float[capacity];
+        int[] newStepX = new int[capacity];
+        int[] newStepY = new int[capacity];
+
+        int slot = 0;
+        for (Enemy enemy : enemies) {
+            if (!(enemy instanceof Bird bird)) {
+                continue;
+            }
+            int old = bird.isHeldBy(this) ? bird.getSlot() : -1;
+            if (old >= 0 && old < size && birds[old] == bird) {
+                newX[slot] = x[old];
+                newY[slot] = y[old];
+                newDirection[slot] = direction[old];
+                newSpeed[slot] = speed[old];
+                newStepX[slot] = stepX[old];
+                newStepY[slot] = stepY[old];
+                birds[old] = null; // kept, so not detached below
+            } else {
+                bird.detach(); // in case it is held by another store
+                newX[slot] = bird.getX();
+                newY[slot] = bird.getY();
+                newDirection[slot] = bird.getDirection();
+                newSpeed[slot] = (float) bird.getSpeed();
+                newStepX[slot] = stepX(newDirection[slot], newSpeed[slot]);
+                newStepY[slot] = stepY(newDirection[slot], newSpeed[slot]);
+            }
+            newBirds[slot] = bird;
+            slot++;
+        }
+
+        // birds left in the old slots are no longer in the list
+        for (int old = 0; old < size; old++) {
+            if (birds[old] != null) {
+                birds[old].detach();
+            }
+        }
+
+        birds = newBirds;
+        x = newX;
+        y = newY;
+        direction = newDirection;
+        speed = newSpeed;
+        stepX = newStepX;
+        stepY = newStepY;
+        size = count;
+        for (int i = 0; i < count; i++) {
+            birds[i].attach(this, i);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package builder.entities.npc.enemies;
 
 import builder.GameState;
 import builder.entities.npc.Expirable;
+import builder.timing.Lifespan;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
@@ -12,16 +13,20 @@ import engine.timing.FixedTimer;
 /**
  * An eagle enemy that steals food from the player.
  */
-public class Eagle extends Enemy implements Expirable {
+public class Eagle extends Bird implements Expirable {
 
     private static final SpriteGroup art = SpriteGallery.eagle;
-    private FixedTimer lifespan = new FixedTimer(5000);
+    private static final int LIFESPAN = 5000;
+    private FixedTimer lifespan = new Lifespan(LIFESPAN);
     private HasPosition trackedTarget;
     private boolean attacking = true;
     private int spawnX = 0;
     private int spawnY = 0;
     private int food = 0;
 
+    /** Whether this eagle reached the player before moving this tick and takes food after it. */
+    private boolean stealing = false;
+
     /**
      * Constructs an Eagle at the specified position with a target.
      *
@@ -43,16 +48,34 @@ public class Eagle extends Enemy implements Expirable {
         this.setSprite(art.getSprite("default"));
 
         if (attacking) {
-            double deltaX = trackedTarget.getX() - this.getX();
-            double deltaY = trackedTarget.getY() - this.getY();
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.turnTowards(trackedTarget.getX(), trackedTarget.getY());
         } else {
-            double deltaX = trackedTarget.getX() - this.getX();
-            double deltaY = trackedTarget.getY() - this.getY();
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.turnTowards(trackedTarget.getX(), trackedTarget.getY());
         }
     }
 
+    /**
+     * Resets this eagle to the state of a newly constructed one, so that it can be reused.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param trackedTarget the target to track
+     */
+    void reset(int x, int y, HasPosition trackedTarget) {
+        super.reset(x, y);
+        Lifespan.cancel(this.lifespan);
+        this.lifespan = new Lifespan(LIFESPAN);
+        this.attacking = true;
+        this.food = 0;
+        this.stealing = false;
+        this.spawnX = x;
+        this.spawnY = y;
+        this.setSpeed(2);
+        this.trackedTarget = trackedTarget;
+        this.setSprite(art.getSprite("default"));
+        this.turnTowards(trackedTarget.getX(), trackedTarget.getY());
+    }
+
     @Override
     public FixedTimer getLifespan() {
         return lifespan;
@@ -60,6 +83,7 @@ public class Eagle extends Enemy implements Expirable {
 
     @Override
     public void setLifespan(FixedTimer timer) {
+        Lifespan.cancel(this.lifespan);
         this.lifespan = timer;
     }
 
@@ -73,19 +97,22 @@ public class Eagle extends Enemy implements Expirable {
     }
 
     @Override
-    public void tick(EngineState engine, GameState game) {
-        super.tick(engine, game);
+    protected void plan(EngineState engine, GameState game) {
         this.lifespan.tick();
         if (this.lifespan.isFinished()) {
             this.markForRemoval();
         }
+    }
+
+    @Override
+    protected void beforeMove(EngineState engine, GameState game) {
         if ((this.distanceFrom(game.getPlayer().getX(), game.getPlayer().getY())
                         < engine.getDimensions().tileSize())
                 && this.attacking) {
             this.attacking = false;
             //      if (game.getInventory().getFood() > 0) {
             if (this.food == 0) {
-                game.getInventory().addFood(-3);
+                this.stealing = true; // taken from the inventory in afterMove
                 this.food = 3;
             }
             this.setSpeed(4); // the eagle BOOKS it once it has the food
@@ -95,21 +122,23 @@ public class Eagle extends Enemy implements Expirable {
                 && !this.attacking) {
             this.markForRemoval();
         }
-        this.move();
+    }
 
+    @Override
+    protected void afterMove(EngineState engine, GameState game) {
+        if (this.stealing) {
+            this.stealing = false;
+            game.getInventory().addFood(-3);
+        }
         if (attacking) {
-            double deltaX = trackedTarget.getX() - this.getX();
-            double deltaY = trackedTarget.getY() - this.getY();
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.turnTowards(trackedTarget.getX(), trackedTarget.getY());
             if (trackedTarget.getY() > this.getY()) {
                 this.setSprite(art.getSprite("down"));
             } else {
                 this.setSprite(art.getSprite("up"));
             }
         } else {
-            double deltaX = this.spawnX - this.getX();
-            double deltaY = this.spawnY - this.getY();
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.turnTowards(this.spawnX, this.spawnY);
             if (this.spawnY < this.getY()) {
                 this.setSprite(art.getSprite("up"));
             } else {
@@ -3,17 +3,29 @@ package builder.entities.npc.enemies;
 import builder.GameState;
 import builder.Tickable;
 import builder.entities.Interactable;
+import builder.entities.npc.Expirable;
+import builder.entities.npc.Npc;
+import builder.entities.npc.NpcHandles;
+import builder.entities.npc.NpcPool;
+import builder.entities.npc.SpatialHash;
+import builder.entities.npc.TrackedList;
+import builder.entities.npc.spawners.SpawnSchedule;
 import builder.entities.npc.spawners.Spawner;
 import builder.player.Player;
+import builder.timing.Lifespan;
+import builder.timing.TimerWheel;
 import builder.ui.RenderableGroup;
 
 import engine.EngineState;
 import engine.game.HasPosition;
 import engine.renderer.Dimensions;
 import engine.renderer.Renderable;
+import engine.timing.FixedTimer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Manages all enemy entities including birds and their spawners.
@@ -21,8 +33,44 @@ import java.util.List;
  */
 public class EnemyManager implements Tickable, Interactable, RenderableGroup {
 
+    /** Spawners that must be ticked every tick. */
     private final ArrayList<Spawner> spawners = new ArrayList<>();
-    private final ArrayList<Enemy> birds = new ArrayList<>();
+
+    /** Spawners on a fixed schedule, only looked at on the ticks they spawn. */
+    private final SpawnSchedule schedule = new SpawnSchedule();
+    private final TrackedList<Enemy> birds = new TrackedList<>();
+
+    /** The positions of the {@link Bird}s in {@link #birds}, moved in batches each tick. */
+    private final BirdStore store = new BirdStore();
+
+    /** Removed birds kept for reuse by {@link #mkM}, {@link #mkP} and {@link #mkE}. */
+    private final NpcPool<Magpie> magpies = new NpcPool<>();
+    private final NpcPool<Pigeon> pigeons = new NpcPool<>();
+    private final NpcPool<Eagle> eagles = new NpcPool<>();
+
+    /** The number of birds below which a parallel task works through its slots itself. */
+    private static final int BIRDS_PER_TASK = 256;
+
+    /** The pool to tick birds on in parallel, or null to tick them on the calling thread. */
+    private ForkJoinPool tickPool = null;
+
+    /**
+     * Lifespans of spawned enemies, advanced once per tick, so that they need not be ticked. Its
+     * current tick is also the tick {@link #schedule} runs to.
+     */
+    private final TimerWheel timers = new TimerWheel();
+
+    /** Whether a tick is under way, in which case newly spawned birds are ticked this tick. */
+    private boolean ticking = false;
+
+    /** Handles to enemies, released as they are removed. */
+    private final NpcHandles<Enemy> handles = new NpcHandles<>();
+
+    /** Spatial hash over {@link #birds} for range queries. */
+    private final SpatialHash<Enemy> nearby = new SpatialHash<>();
+
+    /** The modification count of {@link #birds} when {@link #nearby} was last in line with it. */
+    private int nearbySynced = -1;
     private int spawnX;
     private int spawnY;
 
@@ -81,70 +129,320 @@ public class EnemyManager implements Tickable, Interactable, RenderableGroup {
     }
 
     /**
-     * Removes all enemies marked for removal from the active enemy list.
+     * Removes all enemies marked for removal from the active enemy list, keeping the order of the
+     * rest. Handles to removed enemies stop resolving and removed birds are kept to be reused by
+     * later spawns.
+     *
+     * <p>The list is compacted in a single pass, however many enemies are removed.
      */
     public void cleanup() {
-        for (int i = this.birds.size() - 1; i >= 0; i -= 1) {
-            if (this.birds.get(i).isMarkedForRemoval()) {
-                this.birds.remove(i);
+        // removed entries are taken out of the hash as they go, so it stays in line with the list
+        boolean inSync = this.nearbySynced == this.birds.getModificationCount();
+        int kept = 0;
+        for (int i = 0; i < this.birds.size(); i++) {
+            Enemy bird = this.birds.get(i);
+            if (bird.isMarkedForRemoval()) {
+                this.nearby.remove(bird);
+                this.handles.release(bird);
+                if (bird instanceof Expirable expirable
+                        && expirable.getLifespan() instanceof Lifespan lifespan) {
+                    lifespan.cancel();
+                }
+                this.recycle(bird);
+            } else {
+                this.birds.set(kept++, bird);
             }
         }
+        this.birds.subList(kept, this.birds.size()).clear();
+        if (inSync) {
+            this.nearbySynced = this.birds.getModificationCount();
+        }
+    }
+
+    /**
+     * Gets a handle to the given enemy, which other systems can hold instead of the enemy itself.
+     *
+     * @param enemy An enemy managed by this enemy manager.
+     * @return A handle that resolves to the enemy (see {@link #get(int)}) until it is removed by
+     *     {@link #cleanup()}.
+     */
+    public int handleOf(Enemy enemy) {
+        return this.handles.handleOf(enemy);
+    }
+
+    /**
+     * Gets the enemy the given handle refers to.
+     *
+     * @param handle A handle from {@link #handleOf(Enemy)}, or {@link NpcHandles#NONE}.
+     * @return The enemy, or null if it has been removed.
+     */
+    public Enemy get(int handle) {
+        return this.handles.get(handle);
+    }
+
+    /** Keep a removed bird for reuse, if it is of a pooled type (and not a subclass of one). */
+    private void recycle(Enemy bird) {
+        if (bird.getClass() == Magpie.class) {
+            this.magpies.recycle((Magpie) bird);
+        } else if (bird.getClass() == Pigeon.class) {
+            this.pigeons.recycle((Pigeon) bird);
+        } else if (bird.getClass() == Eagle.class) {
+            this.eagles.recycle((Eagle) bird);
+        }
     }
 
     /**
      * Adds a spawner to this enemy manager.
+     *
+     * <p>A spawner on a fixed schedule (see {@link Spawner#getInterval()}) is not ticked; it is
+     * told to spawn on the ticks its timer would have finished. Other spawners are ticked every
+     * tick, before the scheduled spawners spawn.
      * 
      * @param spawner The spawner to add
      */
     public void add(Spawner spawner) {
-        this.spawners.add(spawner);
+        if (spawner.getInterval() > 0) {
+            long firstTick = this.ticking ? this.timers.now() : this.timers.now() + 1;
+            this.schedule.add(spawner, firstTick);
+        } else {
+            this.spawners.add(spawner);
+        }
     }
 
     /**
-     * Creates and spawns a new Magpie at the current spawn location.
+     * Creates and spawns a new Magpie at the current spawn location, reusing a removed magpie if
+     * there is one.
      * 
      * @param player The player target for the magpie
      * @return The created magpie
      */
     public Magpie mkM(Player player) {
-        final Magpie magpie = new Magpie(this.getSpawnX(), this.getSpawnY(), player);
+        Magpie magpie = this.magpies.obtain();
+        if (magpie == null) {
+            magpie = new Magpie(this.getSpawnX(), this.getSpawnY(), player);
+        } else {
+            magpie.reset(this.getSpawnX(), this.getSpawnY(), player);
+        }
         this.birds.add(magpie);
+        this.expire(magpie, magpie.getLifespan());
         return magpie;
     }
 
     /**
-     * Creates and spawns a new Pigeon at the current spawn location.
+     * Creates and spawns a new Pigeon at the current spawn location, reusing a removed pigeon if
+     * there is one.
      * 
      * @param target The target position for the pigeon
      * @return The created pigeon
      */
     public Pigeon mkP(HasPosition target) {
-        final Pigeon pigeon = new Pigeon(this.getSpawnX(), this.getSpawnY(), target);
+        Pigeon pigeon = this.pigeons.obtain();
+        if (pigeon == null) {
+            pigeon = new Pigeon(this.getSpawnX(), this.getSpawnY(), target);
+        } else {
+            pigeon.reset(this.getSpawnX(), this.getSpawnY(), target);
+        }
         this.birds.add(pigeon);
+        this.expire(pigeon, pigeon.getLifespan());
         return pigeon;
     }
 
     /**
-     * Creates and spawns a new Eagle at the current spawn location.
+     * Creates and spawns a new Eagle at the current spawn location, reusing a removed eagle if
+     * there is one.
      * 
      * @param player The player target for the eagle
      * @return The created eagle
      */
     public Eagle mkE(Player player) {
-        final Eagle eagle = new Eagle(this.getSpawnX(), this.getSpawnY(), player);
+        Eagle eagle = this.eagles.obtain();
+        if (eagle == null) {
+            eagle = new Eagle(this.getSpawnX(), this.getSpawnY(), player);
+        } else {
+            eagle.reset(this.getSpawnX(), this.getSpawnY(), player);
+        }
         this.birds.add(eagle);
+        this.expire(eagle, eagle.getLifespan());
         return eagle;
     }
 
+    /**
+     * Put the lifespan of a newly spawned enemy on {@link #timers}, to mark the enemy for removal
+     * on the tick it would have done so itself. Lifespans other than {@link Lifespan}s are left to
+     * be ticked by their enemy.
+     */
+    private void expire(Enemy enemy, FixedTimer lifespan) {
+        if (lifespan instanceof Lifespan wheeled) {
+            long firstTick = this.ticking ? this.timers.now() : this.timers.now() + 1;
+            wheeled.expireOn(this.timers, firstTick, enemy::markForRemoval);
+        }
+    }
+
     @Override
     public void tick(EngineState state, GameState game) {
         this.cleanup();
+        this.timers.advance();
+        this.ticking = true;
         for (Spawner spawner : this.spawners) {
             spawner.tick(state, game);
         }
+        this.schedule.runDue(this.timers.now(), state, game);
         for (Enemy bird : birds) {
-            bird.tick(state, game);
+            if (!(bird instanceof Bird)) {
+                bird.tick(state, game);
+            }
+        }
+        this.tickBirds(state, game);
+        this.syncNearby();
+        this.ticking = false;
+    }
+
+    /**
+     * Tick birds in parallel on the given pool, or on the calling thread if it is null.
+     *
+     * <p>A parallel tick has two phases. In the first, each bird's moves and its {@link
+     * Bird#plan(EngineState, GameState) plan} (e.g. where to fly) are worked out in parallel. Plans
+     * only read the game state, and nothing else changes it while they run, so every plan sees the
+     * same snapshot. In the second, the rest of each bird's tick is done on the calling thread,
+     * every bird's {@link Bird#beforeMove(EngineState, GameState) beforeMove} and then, after they
+     * all move, every bird's {@link Bird#afterMove(EngineState, GameState) afterMove} in list
+     * order. Birds only change the rest of the game, e.g. taking from the inventory or removing
+     * cabbages, in {@code afterMove}, so the outcome is the same as that of a tick on the calling
+     * thread.
+     *
+     * @param tickPool The pool to tick birds on, or null to stop ticking in parallel.
+     */
+    public void setTickPool(ForkJoinPool tickPool) {
+        this.tickPool = tickPool;
+    }
+
+    /**
+     * Tick every {@link Bird} in {@link #birds}, doing each part of the tick for all of them
+     * before moving them all at once (see {@link Bird#tick(EngineState, GameState)}).
+     *
+     * <p>Birds only affect each other through changes to the game state, which they only make in
+     * {@link Bird#afterMove(EngineState, GameState)}. That is still done in list order, so this has
+     * the same outcome as ticking each in turn.
+     */
+    private void tickBirds(EngineState state, GameState game) {
+        this.store.sync(this.birds);
+        if (this.tickPool != null) {
+            this.tickPool.invoke(new PlanTask(state, game, 0, this.store.size()));
+        } else {
+            this.store.moveAll();
+            for (int slot = 0; slot < this.store.size(); slot++) {
+                this.store.get(slot).plan(state, game);
+            }
+        }
+        for (int slot = 0; slot < this.store.size(); slot++) {
+            this.store.get(slot).beforeMove(state, game);
+        }
+        if (this.tickPool != null) {
+            this.tickPool.invoke(new MoveTask(0, this.store.size()));
+        } else {
+            this.store.moveAll();
+        }
+        for (int slot = 0; slot < this.store.size(); slot++) {
+            this.store.get(slot).afterMove(state, game);
+        }
+    }
+
+    /** Moves, then plans for, the birds in a range of slots, splitting the range in parallel. */
+    private class PlanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient EngineState state;
+        private final transient GameState game;
+        private final int from;
+        private final int to;
+
+        private PlanTask(EngineState state, GameState game, int from, int to) {
+            this.state = state;
+            this.game = game;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BIRDS_PER_TASK) {
+                store.moveRange(from, to);
+                for (int slot = from; slot < to; slot++) {
+                    store.get(slot).plan(state, game);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PlanTask(state, game, from, middle),
+                    new PlanTask(state, game, middle, to));
+        }
+    }
+
+    /** Moves the birds in a range of slots, splitting the range in parallel. */
+    private class MoveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        private MoveTask(int from, int to) {
+            this.from = from;
+            this.to = to;
         }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BIRDS_PER_TASK) {
+                store.moveRange(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MoveTask(from, middle), new MoveTask(middle, to));
+        }
+    }
+
+    /**
+     * Gets every enemy strictly closer than the given radius to the given position, as measured
+     * by {@link Npc#distanceFrom(int, int)}.
+     *
+     * <p>Only enemies near the position are measured, see {@link SpatialHash}.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param radius The radius in pixels.
+     * @return The enemies within the radius, in the order of {@link #getBirds()}.
+     */
+    public List<Enemy> within(int x, int y, int radius) {
+        this.refreshNearby();
+        return this.nearby.within(x, y, radius);
+    }
+
+    /**
+     * Gets the enemy closest to the given position, if it is strictly closer than the given radius.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param radius The radius in pixels to search within.
+     * @return The nearest enemy within the radius, or null if there are none.
+     */
+    public Enemy nearest(int x, int y, int radius) {
+        this.refreshNearby();
+        return this.nearby.nearest(x, y, radius);
+    }
+
+    /**
+     * Bring the spatial hash in line with {@link #birds} if the list has changed since it was
+     * last synced, e.g. because it was changed directly through the list returned by {@link
+     * #getBirds()}.
+     */
+    private void refreshNearby() {
+        if (this.nearbySynced != this.birds.getModificationCount()) {
+            this.syncNearby();
+        }
+    }
+
+    /** Bring the spatial hash in line with {@link #birds} and note the list as synced. */
+    private void syncNearby() {
+        this.nearby.sync(this.birds);
+        this.nearbySynced = this.birds.getModificationCount();
     }
 
     /**
@@ -3,29 +3,28 @@ package builder.entities.npc.enemies;
 import builder.GameState;
 import builder.entities.npc.Expirable;
 import builder.player.Player;
+import builder.timing.Lifespan;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 import engine.game.HasPosition;
 import engine.timing.FixedTimer;
-import engine.timing.RepeatingTimer;
 
 /**
  * A magpie enemy that steals coins from the player.
  */
-public class Magpie extends Enemy implements Expirable {
+public class Magpie extends Bird implements Expirable {
 
     private static final SpriteGroup art = SpriteGallery.magpie;
-    private FixedTimer lifespan = new FixedTimer(10000);
+    private static final int LIFESPAN = 10000;
+    private FixedTimer lifespan = new Lifespan(LIFESPAN);
     private HasPosition trackedTarget;
     private Boolean attacking;
     private int coins = 0;
 
-    private RepeatingTimer directionalUpdateTimer = new RepeatingTimer(30);
-
-    private final int spawnX;
-    private final int spawnY;
+    private int spawnX;
+    private int spawnY;
 
     /**
      * Constructs a Magpie at the specified position with a target.
@@ -44,6 +43,26 @@ public class Magpie extends Enemy implements Expirable {
         this.attacking = true;
     }
 
+    /**
+     * Resets this magpie to the state of a newly constructed one, so that it can be reused.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param trackedTarget the target to track
+     */
+    void reset(int x, int y, HasPosition trackedTarget) {
+        super.reset(x, y);
+        Lifespan.cancel(this.lifespan);
+        this.lifespan = new Lifespan(LIFESPAN);
+        this.coins = 0;
+        this.spawnX = x;
+        this.spawnY = y;
+        this.trackedTarget = trackedTarget;
+        this.setSprite(art.getSprite("down"));
+        this.setSpeed(3);
+        this.attacking = true;
+    }
+
     @Override
     public FixedTimer getLifespan() {
         return lifespan;
@@ -51,6 +70,7 @@ public class Magpie extends Enemy implements Expirable {
 
     @Override
     public void setLifespan(FixedTimer timer) {
+        Lifespan.cancel(this.lifespan);
         this.lifespan = timer;
     }
 
@@ -73,16 +93,13 @@ public class Magpie extends Enemy implements Expirable {
     }
 
     @Override
-    public void tick(EngineState engine, GameState game) {
-        super.tick(engine, game);
+    protected void plan(EngineState engine, GameState game) {
         this.lifespan.tick();
         if (this.lifespan.isFinished()) {
             this.markForRemoval();
         }
         if (this.attacking) {
-            double deltaX = trackedTarget.getX() - this.getX();
-            double deltaY = trackedTarget.getY() - this.getY();
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.turnTowards(trackedTarget.getX(), trackedTarget.getY());
             // target is below
             if (trackedTarget.getY() > this.getY()) {
                 this.setSprite(art.getSprite("down"));
@@ -90,18 +107,17 @@ public class Magpie extends Enemy implements Expirable {
                 this.setSprite(art.getSprite("up"));
             }
         } else {
-            double deltaX = this.spawnX - this.getX();
-            double deltaY = this.spawnY - this.getY();
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.turnTowards(this.spawnX, this.spawnY);
             if (this.spawnY < this.getY()) {
                 this.setSprite(art.getSprite("up"));
             } else {
                 this.setSprite(art.getSprite("down"));
             }
         }
-        this.move();
-        this.directionalUpdateTimer.tick();
+    }
 
+    @Override
+    protected void afterMove(EngineState engine, GameState game) {
         Player player = game.getPlayer();
 
         final boolean hasHitPlayer =
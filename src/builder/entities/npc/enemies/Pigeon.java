@@ -2,25 +2,25 @@ package builder.entities.npc.enemies;
 
 import builder.GameState;
 import builder.entities.npc.Expirable;
+import builder.entities.npc.Steering;
 import builder.entities.resources.Cabbage;
 import builder.entities.tiles.Tile;
+import builder.timing.Lifespan;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
-import engine.game.Entity;
 import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 
-import java.util.List;
-
 /**
  * A pigeon enemy that attacks cabbages and can return to spawn point.
  */
-public class Pigeon extends Enemy implements Expirable {
+public class Pigeon extends Bird implements Expirable {
 
     private static final SpriteGroup art = SpriteGallery.pigeon;
-    private FixedTimer lifespan = new FixedTimer(3000);
+    private static final int LIFESPAN = 3000;
+    private FixedTimer lifespan = new Lifespan(LIFESPAN);
     private HasPosition trackedTarget;
     private Boolean attacking = true;
     private int spawnX = 0;
@@ -56,6 +56,25 @@ public class Pigeon extends Enemy implements Expirable {
         this.setSprite(art.getSprite("down"));
     }
 
+    /**
+     * Resets this pigeon to the state of a newly constructed one, so that it can be reused.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param trackedTarget the target to track, or null to fly to the default targets
+     */
+    void reset(int x, int y, HasPosition trackedTarget) {
+        super.reset(x, y);
+        Lifespan.cancel(this.lifespan);
+        this.lifespan = new Lifespan(LIFESPAN);
+        this.attacking = true;
+        this.spawnX = x;
+        this.spawnY = y;
+        this.trackedTarget = trackedTarget;
+        this.setSpeed(4);
+        this.setSprite(art.getSprite("down"));
+    }
+
     @Override
     public FixedTimer getLifespan() {
         return lifespan;
@@ -63,6 +82,7 @@ public class Pigeon extends Enemy implements Expirable {
 
     @Override
     public void setLifespan(FixedTimer timer) {
+        Lifespan.cancel(this.lifespan);
         this.lifespan = timer;
     }
 
@@ -85,12 +105,9 @@ public class Pigeon extends Enemy implements Expirable {
     }
 
     @Override
-    public void tick(EngineState engine, GameState game) {
-        super.tick(engine, game);
+    protected void plan(EngineState engine, GameState game) {
         if (!this.attacking) {
-            double deltaX = (this.spawnX - this.getX());
-            double deltaY = (this.spawnY - this.getY());
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.turnTowards(this.spawnX, this.spawnY);
 
             if (this.distanceFrom(this.spawnX, this.spawnY)
                     < engine.getDimensions().tileSize()) { // get close to spawn
@@ -104,8 +121,8 @@ public class Pigeon extends Enemy implements Expirable {
         }
         
         if (this.trackedTarget == null && this.attacking) { 
-            double deltaX;
-            double deltaY;
+            int deltaX;
+            int deltaY;
             if (this.getX() < 400) {
                 deltaX = (450 - this.getX());
                 deltaY = (900 - this.getY());
@@ -113,7 +130,7 @@ public class Pigeon extends Enemy implements Expirable {
                 deltaX = (850 - this.getX());
                 deltaY = (850 - this.getY());
             }
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.setDirection(Steering.atan2(deltaY, deltaX));
             if (deltaY > 0) {
                 this.setSprite(art.getSprite("down"));
             } else {
@@ -122,12 +139,12 @@ public class Pigeon extends Enemy implements Expirable {
         }
         
         if (this.trackedTarget != null && this.attacking) {
-            double deltaX = (this.trackedTarget.getX() - this.getX());
-            double deltaY = (this.trackedTarget.getY() - this.getY());
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.turnTowards(this.trackedTarget.getX(), this.trackedTarget.getY());
         }
-        
-        this.move();
+    }
+
+    @Override
+    protected void afterMove(EngineState engine, GameState game) {
         this.lifespan.tick();
         if (this.lifespan.isFinished()) {
             this.markForRemoval();
@@ -144,43 +161,20 @@ public class Pigeon extends Enemy implements Expirable {
             }
         }
 
-        List<Tile> tiles =
+        Tile closest =
                 game.getWorld()
-                        .tileSelector(
-                                tile -> {
-                                    for (Entity entity : tile.getStackedEntities()) {
-                                        if (entity instanceof Cabbage) {
-                                            return true;
-                                        } else {
-                                            // do nothing
-                                        }
-                                    }
-                                    return false;
-                                });
-        if (tiles.size() > 0) {
-            int distance = this.distanceFrom(tiles.getFirst());
-            Tile closest = tiles.getFirst();
-            for (Tile tile : tiles) {
-                if (this.distanceFrom(tile) < distance) {
-                    closest = tile;
-                    distance = this.distanceFrom(tile);
-                } else {
-                    // do nothing
-                }
-            }
+                        .nearestWithStacked(
+                                Cabbage.class, this.getX(), this.getY(), engine.getDimensions());
+        if (closest != null) {
             this.trackedTarget = closest;
 
             int distanceToTarget = this.distanceFrom(this.trackedTarget);
             int tileSize = engine.getDimensions().tileSize();
             if (this.attacking && distanceToTarget < tileSize) {
-                for (Entity entity : closest.getStackedEntities()) {
-                    if (entity instanceof Cabbage cabbage) {
-                        cabbage.markForRemoval();
-                        this.attacking = false;
-                        break;
-                    } else {
-                        // do nothing
-                    }
+                Cabbage cabbage = closest.firstOf(Cabbage.class);
+                if (cabbage != null) {
+                    cabbage.markForRemoval();
+                    this.attacking = false;
                 }
             }
         } else { // no cabbages to get
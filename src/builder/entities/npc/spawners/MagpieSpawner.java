@@ -14,6 +14,7 @@ public class MagpieSpawner implements Spawner {
     private int x0 = 0;
     private int y0 = 0;
     private TickTimer timer;
+    private final int interval;
 
     /**
      * Constructs a MagpieSpawner with default duration.
@@ -24,7 +25,8 @@ public class MagpieSpawner implements Spawner {
     public MagpieSpawner(int x, int y) {
         this.x0 = x;
         this.y0 = y;
-        this.timer = new RepeatingTimer(360);
+        this.interval = 360;
+        this.timer = new RepeatingTimer(this.interval);
     }
 
     /**
@@ -37,6 +39,7 @@ public class MagpieSpawner implements Spawner {
     public MagpieSpawner(int x, int y, int duration) {
         this.x0 = x;
         this.y0 = y;
+        this.interval = duration;
         this.timer = new RepeatingTimer(duration);
     }
 
@@ -49,12 +52,22 @@ public class MagpieSpawner implements Spawner {
     public void tick(EngineState state, GameState game) {
         this.timer.tick();
         if (this.getTimer().isFinished()) {
-            game.getEnemies().setSpawnX(this.getX());
-            game.getEnemies().setSpawnY(this.getY());
-            game.getEnemies().mkM(game.getPlayer());
+            this.spawn(state, game);
         }
     }
 
+    @Override
+    public int getInterval() {
+        return this.interval;
+    }
+
+    @Override
+    public void spawn(EngineState state, GameState game) {
+        game.getEnemies().setSpawnX(this.getX());
+        game.getEnemies().setSpawnY(this.getY());
+        game.getEnemies().mkM(game.getPlayer());
+    }
+
     @Override
     public int getX() {
         return this.x0;
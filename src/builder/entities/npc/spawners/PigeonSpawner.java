@@ -5,13 +5,10 @@ import builder.entities.resources.Cabbage;
 import builder.entities.tiles.Tile;
 
 import engine.EngineState;
-import engine.game.Entity;
 import engine.game.HasPosition;
 import engine.timing.RepeatingTimer;
 import engine.timing.TickTimer;
 
-import java.util.List;
-
 /**
  * A spawner that creates Pigeon entities when cabbages are present.
  */
@@ -20,6 +17,7 @@ public class PigeonSpawner implements Spawner {
     private int x0 = 0;
     private int y0 = 0;
     private final RepeatingTimer timer;
+    private final int interval;
 
     /**
      * Constructs a PigeonSpawner with default duration.
@@ -30,7 +28,8 @@ public class PigeonSpawner implements Spawner {
     public PigeonSpawner(int x, int y) {
         this.x0 = x;
         this.y0 = y;
-        this.timer = new RepeatingTimer(100);
+        this.interval = 100;
+        this.timer = new RepeatingTimer(this.interval);
     }
 
     /**
@@ -43,6 +42,7 @@ public class PigeonSpawner implements Spawner {
     public PigeonSpawner(int x, int y, int duration) {
         this.x0 = x;
         this.y0 = y;
+        this.interval = duration;
         this.timer = new RepeatingTimer(duration);
     }
 
@@ -54,34 +54,27 @@ public class PigeonSpawner implements Spawner {
     @Override
     public void tick(EngineState state, GameState game) {
         this.timer.tick();
+        if (this.getTimer().isFinished()) {
+            this.spawn(state, game);
+        }
+    }
 
-        List<Tile> tiles =
-                game.getWorld()
-                        .tileSelector(
-                                tile -> {
-                                    for (Entity entity : tile.getStackedEntities()) {
-                                        if (entity instanceof Cabbage) {
-                                            return true;
-                                        }
-                                    }
-                                    return false;
-                                });
-
-
-        if (tiles.size() > 0) {
-            int distance = this.distanceFrom(tiles.getFirst());
-            Tile closest = tiles.getFirst();
-            for (Tile tile : tiles) {
-                if (this.distanceFrom(tile) < distance) {
-                    closest = tile;
-                }
-            }
+    @Override
+    public int getInterval() {
+        return this.interval;
+    }
 
-            if (this.getTimer().isFinished()) {
-                game.getEnemies().setSpawnX(this.getX());
-                game.getEnemies().setSpawnY(this.getY());
-                game.getEnemies().mkP(closest);
-            }
+    /** Spawns a pigeon targeting the nearest cabbage, if there is one; the search is done here. */
+    @Override
+    public void spawn(EngineState state, GameState game) {
+        Tile closest =
+                game.getWorld()
+                        .nearestWithStacked(
+                                Cabbage.class, this.getX(), this.getY(), state.getDimensions());
+        if (closest != null) {
+            game.getEnemies().setSpawnX(this.getX());
+            game.getEnemies().setSpawnY(this.getY());
+            game.getEnemies().mkP(closest);
         }
     }
 
@@ -0,0 +1,85 @@
+package builder.entities.npc.spawners;
+
+import builder.GameState;
+
+import engine.EngineState;
+
+import java.util.PriorityQueue;
+
+/**
+ * The spawners on a fixed schedule (see {@link Spawner#getInterval()}), kept in a priority queue
+ * keyed by the tick on which each next spawns.
+ *
+ * <p>Each tick only the spawners due on that tick are looked at, so the cost of a tick grows with
+ * the number of spawns rather than with the number of spawners. Spawners due on the same tick spawn
+ * in the order they were added, as they would if each were ticked in turn.
+ */
+public class SpawnSchedule {
+
+    /** A spawner and the tick on which it next spawns. */
+    private static class Entry implements Comparable<Entry> {
+        private final Spawner spawner;
+        private final int interval;
+        private final long order;
+        private long nextTick;
+
+        private Entry(Spawner spawner, long nextTick, long order) {
+            this.spawner = spawner;
+            this.interval = spawner.getInterval();
+            this.nextTick = nextTick;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (this.nextTick != other.nextTick) {
+                return Long.compare(this.nextTick, other.nextTick);
+            }
+            return Long.compare(this.order, other.order);
+        }
+    }
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private long added = 0;
+
+    /**
+     * The number of spawners in this schedule.
+     *
+     * @return The number of spawners added.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Add a spawner to this schedule.
+     *
+     * @param spawner The spawner to add.
+     * @param firstTick The tick on which the spawner would first have been ticked; it first spawns
+     *     {@link Spawner#getInterval()} - 1 ticks later, as its timer would first finish.
+     * @throws IllegalArgumentException If the spawner is not on a fixed schedule.
+     */
+    public void add(Spawner spawner, long firstTick) {
+        if (spawner.getInterval() <= 0) {
+            throw new IllegalArgumentException("Spawner must have a positive interval");
+        }
+        queue.add(new Entry(spawner, firstTick + spawner.getInterval() - 1, added++));
+    }
+
+    /**
+     * Spawn from every spawner due on or before the given tick, then schedule each for its next
+     * spawn.
+     *
+     * @param tick The current tick.
+     * @param state The state of the engine.
+     * @param game The state of the game.
+     */
+    public void runDue(long tick, EngineState state, GameState game) {
+        while (!queue.isEmpty() && queue.peek().nextTick <= tick) {
+            Entry entry = queue.poll();
+            entry.spawner.spawn(state, game);
+            entry.nextTick += entry.interval;
+            queue.add(entry);
+        }
+    }
+}
@@ -20,6 +20,27 @@ public interface Spawner extends HasPosition, Tickable {
      */
     public TickTimer getTimer();
 
+    /**
+     * The number of ticks between this spawner's spawns, if it spawns on a fixed schedule.
+     *
+     * <p>A spawner on a fixed schedule need not be ticked every tick: a manager may instead call
+     * {@link #spawn(EngineState, GameState)} on each tick a spawn is due, which has the same effect
+     * (see {@link SpawnSchedule}). Its timer is then left alone.
+     *
+     * @return The number of ticks between spawns, or 0 if this spawner must be ticked every tick.
+     */
+    public default int getInterval() {
+        return 0;
+    }
+
+    /**
+     * Spawn, as this spawner does on each tick its timer finishes.
+     *
+     * @param state The state of the engine.
+     * @param game The state of the game.
+     */
+    public default void spawn(EngineState state, GameState game) {}
+
     @Override
     public void tick(EngineState state, GameState game);
 
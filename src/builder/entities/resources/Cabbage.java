@@ -2,13 +2,15 @@ package builder.entities.resources;
 
 import builder.GameState;
 import builder.entities.Interactable;
+import builder.timing.Clocked;
+import builder.timing.TickClock;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
+import engine.art.sprites.Sprite;
 import engine.art.sprites.SpriteGroup;
 import engine.game.Entity;
 import engine.timing.RepeatingTimer;
-import engine.timing.TickTimer;
 import engine.timing.TimerDuration;
 
 /**
@@ -16,13 +18,34 @@ import engine.timing.TimerDuration;
  * collected by the player once grown. A cabbage is initially rendered as 'default' within {@link
  * SpriteGallery#cabbage}.
  *
+ * <p>A cabbage's growth is worked out from the number of ticks since it was planted whenever it is
+ * asked for, rather than advanced every tick. Once planted in a world, a cabbage reads the
+ * world's clock (see {@link Clocked}) and is not ticked at all, so a field of cabbages costs
+ * nothing per tick.
+ *
  * @stage3
  */
-public class Cabbage extends Entity implements Interactable {
+public class Cabbage extends Entity implements Interactable, Clocked {
+
+    /** The number of ticks a cabbage spends in each growth state before moving to the next. */
+    private static final int GROWTH_TICKS = TimerDuration.SHORT.getDuration();
 
-    private final TickTimer timer = new RepeatingTimer(TimerDuration.SHORT);
     private static final SpriteGroup art = SpriteGallery.cabbage;
-    private int growthState = 0;
+
+    /** Ticks counted before {@link #since}, or all ticks counted if there is no clock. */
+    private long ticked = 0;
+
+    /** The clock this cabbage keeps time by, or null if it is ticked. */
+    private TickClock clock;
+
+    /** The tick of {@link #clock} from which it counts. */
+    private long since;
+
+    /** Wakes the tile this cabbage is stacked on, or null. */
+    private Runnable wake;
+
+    /** The growth state {@link #getSprite()} last showed. */
+    private int shownState = 0;
 
     /** The cost of planting a cabbage, 2 coins. */
     public static final int COST = 2;
@@ -42,6 +65,60 @@ public class Cabbage extends Entity implements Interactable {
         this.setSprite(art.getSprite("default"));
     }
 
+    /**
+     * The growth state of this cabbage, from 0 (just planted) to 4 (collectable).
+     *
+     * @return The growth state of this cabbage.
+     */
+    public int getGrowthState() {
+        return (int) Math.min(4, this.age() / GROWTH_TICKS);
+    }
+
+    /** The number of ticks this cabbage has been growing for. */
+    private long age() {
+        return this.clock == null ? this.ticked : this.ticked + this.clock.now() - this.since;
+    }
+
+    /**
+     * Set the growth state of this cabbage, e.g. when restoring a saved world, and update how it is
+     * rendered to match.
+     *
+     * @param growthState The new growth state, clamped to between 0 and 4.
+     */
+    public void setGrowthState(int growthState) {
+        int state = Math.max(0, Math.min(4, growthState));
+        // keep the progress towards the next state, as a timer left running would
+        this.ticked = (long) state * GROWTH_TICKS + this.age() % GROWTH_TICKS;
+        this.since = this.clock == null ? 0 : this.clock.now();
+        this.updateArt();
+    }
+
+    @Override
+    public void setClock(TickClock clock, Runnable wake) {
+        this.ticked = this.age();
+        this.clock = clock;
+        this.since = clock == null ? 0 : clock.now();
+        this.wake = wake;
+    }
+
+    /** The sprite for this cabbage's current growth state. */
+    @Override
+    public Sprite getSprite() {
+        if (this.getGrowthState() != this.shownState) {
+            this.updateArt();
+        }
+        return super.getSprite();
+    }
+
+    /** Mark this cabbage for removal, waking its tile so that the tile can clean it up. */
+    @Override
+    public void markForRemoval() {
+        super.markForRemoval();
+        if (this.wake != null) {
+            this.wake.run();
+        }
+    }
+
     /**
      * Progress the state of the cabbage, updating how it is rendered as required.
      *
@@ -50,25 +127,25 @@ public class Cabbage extends Entity implements Interactable {
      *
      * <p>The cabbage should transition into its next state every 100 ticks.
      *
+     * <p>Only a cabbage without a clock counts its ticks; one with a clock reads the ticks since it
+     * was planted from the clock, and its sprite is brought up to date when it is next drawn.
+     *
      * @hint To track cabbage state transitions, you may find {@link RepeatingTimer} and {@link
      *     TimerDuration#SHORT} helpful.
      */
     @Override
     public void tick(EngineState state) {
-        this.timer.tick();
-        if (this.timer.isFinished()) {
-            if (this.growthState < 4) {
-                this.growthState++;
-            }
-            this.updateArt();
+        if (this.clock == null) {
+            this.ticked++;
         }
     }
 
     /** Updates the displayed art of this entity based on the given progress value. */
     private void updateArt() {
+        this.shownState = this.getGrowthState();
         this.setSprite(
                 art.getSprite(
-                        switch (this.growthState) {
+                        switch (this.shownState) {
                             case 0 -> "default";
                             case 1 -> "budding";
                             case 2 -> "growing";
@@ -90,7 +167,7 @@ public class Cabbage extends Entity implements Interactable {
      */
     @Override
     public void interact(EngineState state, GameState game) {
-        if (this.growthState >= 4) {
+        if (this.getGrowthState() >= 4) {
             game.getInventory().addFood(COST);
             game.getInventory().addCoins(3);
             this.markForRemoval();
@@ -22,7 +22,8 @@ import engine.timing.TickTimer;
 public class Ore extends Entity implements Usable {
 
     private static final SpriteGroup art = SpriteGallery.rock;
-    private static final int COIN_VALUE = 10;
+    /** The number of coins an ore holds before it is mined. */
+    public static final int COIN_VALUE = 10;
     private int coins = COIN_VALUE;
 
     private final TickTimer timer = new RepeatingTimer(5);
@@ -43,6 +44,24 @@ public class Ore extends Entity implements Usable {
         this.setSprite(art.getSprite("default"));
     }
 
+    /**
+     * The number of coins left to mine from this ore.
+     *
+     * @return The remaining coins, {@link #COIN_VALUE} until the ore is first mined.
+     */
+    public int getCoins() {
+        return coins;
+    }
+
+    /**
+     * Set the number of coins left to mine from this ore, e.g. when restoring a saved world.
+     *
+     * @param coins The remaining coins, clamped to between 0 and {@link #COIN_VALUE}.
+     */
+    public void setCoins(int coins) {
+        this.coins = Math.max(0, Math.min(COIN_VALUE, coins));
+    }
+
     /**
      * Progress the state of the ore, updating the sprite to render.
      *
@@ -88,12 +88,12 @@ public class Dirt extends Tile {
             this.till();
         }
         if (inventory.getHolding() instanceof Bucket
-                && this.getStackedEntities().isEmpty()
+                && this.isEmpty()
                 && this.isTilled()) {
             this.plant(inventory);
         }
         if (inventory.getHolding() instanceof Pole
-                && this.getStackedEntities().isEmpty()
+                && this.isEmpty()
                 && this.isTilled()
                 && inventory.getCoins() >= Scarecrow.COIN_COST) {
             inventory.addCoins(-Scarecrow.COIN_COST);
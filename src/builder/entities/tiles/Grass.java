@@ -46,14 +46,14 @@ public class Grass extends Tile {
         }
         // confirm they are holding the hoe, and there is nothing already on this grass!
         if (game.getInventory().getHolding() instanceof Hoe
-                && this.getStackedEntities().isEmpty()) {
+                && this.isEmpty()) {
             this.markForRemoval();
             Tile dirt = TileFactory.fromSymbol(this.getX(), this.getY(), 'd');
             game.getWorld().place(dirt);
         }
 
         if (game.getInventory().getHolding() instanceof HiveHammer
-                && this.getStackedEntities().isEmpty()
+                && this.isEmpty()
                 && game.getInventory().getCoins() >= BeeHive.COIN_COST
                 && game.getInventory().getFood() >= BeeHive.FOOD_COST) {
             game.getInventory().addCoins(-BeeHive.COIN_COST);
@@ -3,6 +3,7 @@ package builder.entities.tiles;
 import builder.GameState;
 import builder.entities.Interactable;
 import builder.entities.Usable;
+import builder.timing.Clocked;
 import builder.ui.RenderableGroup;
 
 import engine.EngineState;
@@ -15,6 +16,7 @@ import engine.renderer.Renderable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents a tile on the 'ground' of our world. Each tile is responsible for managing:
@@ -37,6 +39,7 @@ public abstract class Tile extends Entity
 
     private SpriteGroup art;
     private final List<Entity> stackedEntities = new ArrayList<>();
+    private TileListener listener;
 
     /**
      * Constructs an instance of {@link Tile}.
@@ -80,6 +83,50 @@ public abstract class Tile extends Entity
         this.setSprite(art.getSprite(artName));
     }
 
+    /**
+     * Set the listener to notify when entities are stacked on, or removed from, this tile.
+     *
+     * @param listener The listener to notify, or null to stop notifying.
+     */
+    public void setListener(TileListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Whether this tile has work to do on its next tick. A tile without pending work may be left
+     * dormant (not ticked) by the world until it is woken by stacking an entity on it, marking it
+     * for removal, or an explicit {@link #wake()}.
+     *
+     * <p>By default, a tile has pending work while any entity that must be ticked is stacked on
+     * it. Entities that keep time by their world's clock (see {@link Clocked}) need
+     * not be ticked, and wake the tile when they must be cleaned up. Subclasses that do their own
+     * work each tick should override this method.
+     *
+     * @return true if the tile should be ticked again, false if it may sleep.
+     */
+    public boolean hasPendingWork() {
+        for (int i = 0; i < this.stackedEntities.size(); i++) {
+            if (!(this.stackedEntities.get(i) instanceof Clocked)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Notify the world that this tile has new work and must be ticked again. */
+    protected void wake() {
+        if (listener != null) {
+            listener.tileWoken(this);
+        }
+    }
+
+    /** Mark this tile for removal, waking it so the world can reap it. */
+    @Override
+    public void markForRemoval() {
+        super.markForRemoval();
+        this.wake();
+    }
+
     /**
      * Progress the state of the tile. The tile's state is progressed by first cleaning up (removing
      * any stacked entities that are marked for removal according to {@link #isMarkedForRemoval()})
@@ -103,7 +150,10 @@ public abstract class Tile extends Entity
     private void cleanup() {
         for (int i = this.stackedEntities.size() - 1; i >= 0; i -= 1) {
             if (this.stackedEntities.get(i).isMarkedForRemoval()) {
-                this.stackedEntities.remove(i);
+                Entity removed = this.stackedEntities.remove(i);
+                if (listener != null) {
+                    listener.entityUnstacked(this, removed);
+                }
             }
         }
     }
@@ -112,7 +162,8 @@ public abstract class Tile extends Entity
      * Return the list of entities stacked upon this tile.
      *
      * <p>Modifying the returned list must not modify the tile's state (although modifying the
-     * entities within will).
+     * entities within will). The list is a copy, see {@link #forEachStacked(Consumer)} to visit
+     * the stacked entities without one.
      *
      * @return Any entities stacked onto this tile, e.g. {@link builder.entities.resources.Cabbage}.
      */
@@ -120,6 +171,59 @@ public abstract class Tile extends Entity
         return new ArrayList<>(this.stackedEntities);
     }
 
+    /**
+     * Visit each entity stacked upon this tile, in the order of {@link #getStackedEntities()},
+     * without copying them.
+     *
+     * <p>The visitor must not stack entities on this tile. Prefer this method (or {@link
+     * #firstOf(Class)}, {@link #isEmpty()} and {@link #getStackedCount()}) to {@link
+     * #getStackedEntities()} unless a copy that outlives later changes is required.
+     *
+     * @param visitor The action to perform on each stacked entity.
+     */
+    public void forEachStacked(Consumer<? super Entity> visitor) {
+        for (int i = 0; i < this.stackedEntities.size(); i++) {
+            visitor.accept(this.stackedEntities.get(i));
+        }
+    }
+
+    /**
+     * Return the first entity of the given type stacked upon this tile.
+     *
+     * @param type The type of entity to look for, subtypes also match.
+     * @param <T> The type of entity to look for.
+     * @return The first such entity in the order of {@link #getStackedEntities()}, or null if
+     *     there are none.
+     */
+    public <T extends Entity> T firstOf(Class<T> type) {
+        for (int i = 0; i < this.stackedEntities.size(); i++) {
+            Entity entity = this.stackedEntities.get(i);
+            if (type.isInstance(entity)) {
+                return type.cast(entity);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether nothing is stacked upon this tile.
+     *
+     * @return true if no entities are stacked upon this tile, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.stackedEntities.isEmpty();
+    }
+
+    /**
+     * The number of entities stacked upon this tile.
+     *
+     * @return The number of stacked entities, including any marked for removal but not yet
+     *     cleaned up.
+     */
+    public int getStackedCount() {
+        return this.stackedEntities.size();
+    }
+
     /**
      * Place the given tile on top of this tile.
      *
@@ -128,6 +232,9 @@ public abstract class Tile extends Entity
      */
     public void placeOn(Entity tile) {
         this.stackedEntities.add(tile);
+        if (listener != null) {
+            listener.entityStacked(this, tile);
+        }
     }
 
     /**
@@ -189,8 +296,9 @@ public abstract class Tile extends Entity
      */
     @Override
     public List<Renderable> render() {
-        List<Renderable> result = new ArrayList<>(List.of(this));
-        result.addAll(getStackedEntities());
+        List<Renderable> result = new ArrayList<>(1 + this.stackedEntities.size());
+        result.add(this);
+        result.addAll(this.stackedEntities);
         return result;
     }
 }
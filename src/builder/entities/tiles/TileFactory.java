@@ -54,4 +54,23 @@ public class TileFactory {
             }
         };
     }
+
+    /**
+     * Return the symbol that {@link #fromSymbol(int, int, char)} uses to construct a tile of the
+     * same kind as the given tile. Only the kind of the tile is considered (including whether dirt
+     * is tilled), not its position or any entities stacked on it.
+     *
+     * @param tile The tile to encode.
+     * @return The symbol for the kind of the tile.
+     * @throws IllegalArgumentException If the tile has no symbol.
+     */
+    public static char symbolOf(Tile tile) {
+        return switch (tile) {
+            case Dirt dirt -> dirt.isTilled() ? 't' : 'd';
+            case Water water -> 'w';
+            case Grass grass -> 'g';
+            case OreVein vein -> 'o';
+            default -> throw new IllegalArgumentException("Tile does not have a symbol.");
+        };
+    }
 }
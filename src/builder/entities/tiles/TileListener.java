@@ -0,0 +1,37 @@
+package builder.entities.tiles;
+
+import engine.game.Entity;
+
+/**
+ * A listener that is notified when the entities stacked on a {@link Tile} change.
+ *
+ * <p>The world registers itself as the listener of each tile placed into it (see {@link
+ * Tile#setListener(TileListener)}) so that it can keep its indexes up to date without scanning
+ * every tile.
+ */
+public interface TileListener {
+
+    /**
+     * Called after an entity has been stacked on a tile.
+     *
+     * @param tile The tile the entity was stacked on.
+     * @param entity The entity that was stacked.
+     */
+    void entityStacked(Tile tile, Entity entity);
+
+    /**
+     * Called after an entity has been removed from the stack of a tile.
+     *
+     * @param tile The tile the entity was removed from.
+     * @param entity The entity that was removed.
+     */
+    void entityUnstacked(Tile tile, Entity entity);
+
+    /**
+     * Called when a tile that may have been dormant has new work to do, such as being marked for
+     * removal (see {@link Tile#hasPendingWork()}).
+     *
+     * @param tile The tile that was woken.
+     */
+    void tileWoken(Tile tile);
+}
@@ -0,0 +1,73 @@
+package builder.headless;
+
+import engine.core.Core;
+import engine.core.Debug;
+import engine.renderer.Renderable;
+
+import java.util.List;
+
+/**
+ * A core with no window: it draws nothing and reads its keyboard and mouse input from an {@link
+ * InputScript}, so that an {@link engine.Engine} can be ticked as fast as the game allows.
+ *
+ * <p>The engine draws once at the end of each tick, so the core counts draws to know which tick of
+ * the script to give input from.
+ */
+public class HeadlessCore extends Core {
+
+    private final InputScript script;
+    private long tick = 0;
+    private InputScript.Step input;
+
+    /**
+     * Construct a headless core giving the input of the given script.
+     *
+     * @param script The input to give on each tick, starting from tick 0.
+     */
+    public HeadlessCore(InputScript script) {
+        super(new Debug(false));
+        this.script = script;
+        this.input = script.at(0);
+    }
+
+    @Override
+    public void draw(List<Renderable> renderables) {
+        tick++;
+        input = script.at(tick);
+    }
+
+    @Override
+    public int getMouseX() {
+        return input.getMouseX();
+    }
+
+    @Override
+    public int getMouseY() {
+        return input.getMouseY();
+    }
+
+    @Override
+    public boolean isLeftPressed() {
+        return input.isPressed('l');
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return input.isPressed('r');
+    }
+
+    @Override
+    public boolean isMiddlePressed() {
+        return input.isPressed('m');
+    }
+
+    @Override
+    public List<Character> getDown() {
+        return input.getKeys();
+    }
+
+    @Override
+    public boolean isDown(char character) {
+        return input.getKeys().contains(character);
+    }
+}
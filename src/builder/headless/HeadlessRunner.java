@@ -0,0 +1,105 @@
+package builder.headless;
+
+import builder.JavaBeanFarm;
+import builder.timing.PhaseTimer;
+import builder.world.WorldLoadException;
+
+import engine.Engine;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Runs a game without a window, ticking it back to back as fast as it allows rather than at the
+ * engine's frame rate, and reports how fast it ran and where the time went.
+ *
+ * <p>The game is ticked by an {@link Engine} over a {@link HeadlessCore}, so each tick does exactly
+ * what it would in a window, including building the renderables, except drawing them.
+ *
+ * <p>From the command line:
+ *
+ * <pre>{@code
+ * HeadlessRunner <map> <details> <ticks> [<warmup ticks>] [<input script>]
+ * }</pre>
+ */
+public class HeadlessRunner {
+
+    private static final int TILES_PER_ROW = 25;
+    private static final int WINDOW_SIZE = 800;
+
+    private final Engine engine;
+    private final PhaseTimer phases = new PhaseTimer();
+
+    /**
+     * Construct a runner for the given game.
+     *
+     * @param dimensions The dimensions the game was built with.
+     * @param game The game to run.
+     * @param script The input to give the game on each tick.
+     */
+    public HeadlessRunner(Dimensions dimensions, JavaBeanFarm game, InputScript script) {
+        this.engine = new Engine(game, dimensions, new HeadlessCore(script));
+        game.setPhaseTimer(phases);
+    }
+
+    /**
+     * Run the given number of ticks without timing them, e.g. to let the JIT compile the game
+     * before timing it.
+     *
+     * @param ticks The number of ticks to run.
+     */
+    public void warmUp(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            engine.tick();
+        }
+    }
+
+    /**
+     * Run the given number of ticks back to back and time them.
+     *
+     * @param ticks The number of ticks to run.
+     * @return The timings of the ticks run.
+     */
+    public SimulationReport run(int ticks) {
+        phases.reset();
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            engine.tick();
+        }
+        long nanos = System.nanoTime() - start;
+        return new SimulationReport(ticks, nanos, phases.getTotals());
+    }
+
+    /**
+     * Run the game in the given map and details files headless and print its timings.
+     *
+     * @param args The map file, details file and number of ticks, optionally followed by a number
+     *     of warmup ticks and an input script file.
+     * @throws IOException If a file cannot be read.
+     * @throws WorldLoadException If the map cannot be parsed.
+     */
+    public static void main(String[] args) throws IOException, WorldLoadException {
+        if (args.length < 3 || args.length > 5) {
+            System.err.println("Usage: HeadlessRunner <map file> <details file> <ticks>"
+                    + " [<warmup ticks>] [<input script>]");
+            System.exit(1);
+        }
+        Dimensions dimensions = new TileGrid(TILES_PER_ROW, WINDOW_SIZE);
+        JavaBeanFarm game = new JavaBeanFarm(dimensions, args[0], args[1]);
+        int ticks = Integer.parseInt(args[2]);
+        int warmup = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        InputScript script = InputScript.none();
+        if (args.length > 4) {
+            try (Reader reader = new FileReader(args[4])) {
+                script = InputScript.read(reader);
+            }
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(dimensions, game, script);
+        runner.warmUp(warmup);
+        System.out.print(runner.run(ticks));
+    }
+}
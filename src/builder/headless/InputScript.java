@@ -0,0 +1,162 @@
+package builder.headless;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The keyboard and mouse input to give a game on each tick of a headless run.
+ *
+ * <p>A script is read from text with one step per line, giving the input from its first to its
+ * last tick (inclusive), in the form
+ *
+ * <pre>{@code
+ * <first>[-<last>] [keys=<keys>] [mouse=<x>,<y>] [buttons=<lrm>]
+ * }</pre>
+ *
+ * <p>e.g. {@code 0-99 keys=d} holds 'd' down for the first 100 ticks and {@code 100 mouse=40,60
+ * buttons=l} clicks the left mouse button at (40, 60) on tick 100. Blank lines and lines starting
+ * with '#' are ignored. A step replaces any earlier step for the ticks it covers; on a tick covered
+ * by no step no keys or buttons are down and the mouse is at (0, 0).
+ */
+public class InputScript {
+
+    /** The input on a range of ticks. */
+    static class Step {
+        private static final Step NONE = new Step(0, 0, List.of(), 0, 0, "");
+
+        private final long first;
+        private final long last;
+        private final List<Character> keys;
+        private final int mouseX;
+        private final int mouseY;
+        private final String buttons;
+
+        private Step(long first, long last, List<Character> keys, int mouseX, int mouseY,
+                String buttons) {
+            this.first = first;
+            this.last = last;
+            this.keys = keys;
+            this.mouseX = mouseX;
+            this.mouseY = mouseY;
+            this.buttons = buttons;
+        }
+
+        List<Character> getKeys() {
+            return keys;
+        }
+
+        int getMouseX() {
+            return mouseX;
+        }
+
+        int getMouseY() {
+            return mouseY;
+        }
+
+        boolean isPressed(char button) {
+            return buttons.indexOf(button) >= 0;
+        }
+    }
+
+    private final List<Step> steps;
+
+    private InputScript(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * A script that gives no input on any tick.
+     *
+     * @return An empty script.
+     */
+    public static InputScript none() {
+        return new InputScript(List.of());
+    }
+
+    /**
+     * Read a script in the form described above.
+     *
+     * @param reader The reader to read the script from.
+     * @return The script read.
+     * @throws IOException If the reader fails or a line is not a valid step.
+     */
+    public static InputScript read(Reader reader) throws IOException {
+        List<Step> steps = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                steps.add(parseStep(line));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid step on line " + number + ": " + e.getMessage());
+            }
+        }
+        return new InputScript(steps);
+    }
+
+    private static Step parseStep(String line) {
+        String[] parts = line.split("\\s+");
+        String[] range = parts[0].split("-", 2);
+        long first = Long.parseLong(range[0]);
+        long last = range.length == 2 ? Long.parseLong(range[1]) : first;
+        if (first < 0 || last < first) {
+            throw new IllegalArgumentException("bad tick range " + parts[0]);
+        }
+
+        List<Character> keys = List.of();
+        int mouseX = 0;
+        int mouseY = 0;
+        String buttons = "";
+        for (int i = 1; i < parts.length; i++) {
+            String[] field = parts[i].split("=", 2);
+            if (field.length != 2) {
+                throw new IllegalArgumentException("expected name=value, found " + parts[i]);
+            }
+            switch (field[0]) {
+                case "keys" -> {
+                    List<Character> down = new ArrayList<>();
+                    for (char key : field[1].toCharArray()) {
+                        down.add(key);
+                    }
+                    keys = List.copyOf(down);
+                }
+                case "mouse" -> {
+                    String[] position = field[1].split(",", 2);
+                    if (position.length != 2) {
+                        throw new IllegalArgumentException("expected x,y, found " + field[1]);
+                    }
+                    mouseX = Integer.parseInt(position[0]);
+                    mouseY = Integer.parseInt(position[1]);
+                }
+                case "buttons" -> buttons = field[1];
+                default -> throw new IllegalArgumentException("unknown field " + field[0]);
+            }
+        }
+        return new Step(first, last, keys, mouseX, mouseY, buttons);
+    }
+
+    /**
+     * The input to give on the given tick.
+     *
+     * @param tick The tick, counting the first tick of the run as 0.
+     * @return The last step covering the tick, or a step with no input if there is none.
+     */
+    Step at(long tick) {
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            Step step = steps.get(i);
+            if (step.first <= tick && tick <= step.last) {
+                return step;
+            }
+        }
+        return Step.NONE;
+    }
+}
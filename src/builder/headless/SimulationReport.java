@@ -0,0 +1,101 @@
+package builder.headless;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The timings of a headless run of a game: how many ticks were run, how long they took, and how
+ * that time divides between the phases of a tick.
+ */
+public class SimulationReport {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    private final long ticks;
+    private final long nanos;
+    private final Map<String, Long> phases;
+
+    /**
+     * Construct a report of a run.
+     *
+     * @param ticks The number of ticks timed.
+     * @param nanos The wall-clock time taken by those ticks, in nanoseconds.
+     * @param phases The time spent in each phase of those ticks, in nanoseconds, in the order the
+     *     phases are run.
+     */
+    public SimulationReport(long ticks, long nanos, Map<String, Long> phases) {
+        this.ticks = ticks;
+        this.nanos = nanos;
+        this.phases = Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+    }
+
+    /**
+     * The number of ticks timed.
+     *
+     * @return The number of ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * The wall-clock time taken by the ticks timed.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * The number of ticks run per second of wall-clock time.
+     *
+     * @return The ticks per second, or 0 if no time was taken.
+     */
+    public double getTicksPerSecond() {
+        return nanos == 0 ? 0 : ticks * NANOS_PER_SECOND / nanos;
+    }
+
+    /**
+     * The time spent in the given phase of the ticks timed.
+     *
+     * @param phase The name of the phase, e.g. "enemies".
+     * @return The time in nanoseconds, or 0 if the game has no such phase.
+     */
+    public long getPhaseNanos(String phase) {
+        return phases.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * The time taken by the ticks timed that is not in any phase, e.g. spent in the engine.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getOtherNanos() {
+        long other = nanos;
+        for (long phase : phases.values()) {
+            other -= phase;
+        }
+        return Math.max(0, other);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d ticks in %.3f s: %.1f ticks/s%n",
+                ticks, nanos / NANOS_PER_SECOND, getTicksPerSecond()));
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            appendPhase(report, phase.getKey(), phase.getValue());
+        }
+        appendPhase(report, "other", getOtherNanos());
+        return report.toString();
+    }
+
+    private void appendPhase(StringBuilder report, String phase, long phaseNanos) {
+        double perTick = ticks == 0 ? 0 : phaseNanos / NANOS_PER_MICRO / ticks;
+        double share = nanos == 0 ? 0 : 100.0 * phaseNanos / nanos;
+        report.append(String.format("  %-10s %10.2f us/tick %6.1f%%%n", phase, perTick, share));
+    }
+}
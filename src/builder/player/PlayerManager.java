@@ -9,7 +9,6 @@ import builder.world.World;
 
 import engine.EngineState;
 import engine.game.Direction;
-import engine.game.Position;
 import engine.input.MouseState;
 import engine.renderer.Dimensions;
 import engine.renderer.Renderable;
@@ -112,17 +111,15 @@ public class PlayerManager implements Tickable, RenderableGroup {
     }
 
     private void tryMove(Direction direction, World world, Dimensions dimensions) {
-        Position nextPosition = new Position(player.getX(), player.getY()).shift(direction, 1);
-
-        List<Tile> underPlayer =
-                world.tilesAtPosition(nextPosition.getX(), nextPosition.getY(), dimensions);
-        boolean blocked = false;
-        for (Tile tile : underPlayer) {
-            if (!tile.canWalkThrough()) {
-                blocked = true;
-            }
+        int nextX = player.getX();
+        int nextY = player.getY();
+        switch (direction) {
+            case NORTH -> nextY -= 1;
+            case SOUTH -> nextY += 1;
+            case EAST -> nextX += 1;
+            case WEST -> nextX -= 1;
         }
-        if (!blocked) {
+        if (world.isWalkable(nextX, nextY, dimensions)) {
             player.move(direction, 1);
         }
     }
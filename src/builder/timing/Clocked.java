@@ -0,0 +1,23 @@
+package builder.timing;
+
+/**
+ * An entity stacked on a tile that changes over time by reading its world's {@link TickClock}
+ * rather than by being ticked, so that the tile need not be ticked for it (see {@link
+ * builder.entities.tiles.Tile#hasPendingWork()}).
+ *
+ * <p>The world gives each such entity its clock when the entity is stacked on one of its tiles,
+ * and takes it away when the entity leaves the world. Without a clock, the entity keeps time by
+ * being ticked.
+ */
+public interface Clocked {
+
+    /**
+     * Keep time by the given clock from now on, or by being ticked if it is null. Time already
+     * kept carries over.
+     *
+     * @param clock The clock to read, or null to count ticks instead.
+     * @param wake A task to run when the entity needs its tile to be ticked again, e.g. because it
+     *     has been marked for removal and must be cleaned up; null if there is no such tile.
+     */
+    void setClock(TickClock clock, Runnable wake);
+}
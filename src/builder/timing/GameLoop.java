@@ -0,0 +1,137 @@
+package builder.timing;
+
+import engine.Engine;
+import engine.EngineState;
+import engine.game.Game;
+import engine.renderer.Renderable;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs an engine at a fixed number of ticks per second, sleeping between ticks rather than
+ * polling the clock.
+ *
+ * <p>The loop wraps the game it runs, so the engine must be constructed with the loop as its game:
+ *
+ * <pre>{@code
+ * GameLoop loop = new GameLoop(game, tickNanos, maxFrameSkip);
+ * loop.run(new Engine(loop, dimensions));
+ * }</pre>
+ *
+ * <p>Each tick is due a fixed period after the one before. Until it is due the thread is parked
+ * with {@link LockSupport#parkNanos(long)}. If the loop falls behind, e.g. because a tick took
+ * longer than the period, the overdue ticks are run back to back to catch up, and all but the last
+ * skip rendering, with the engine drawing the last frame rendered again. At most the given number
+ * of frames are skipped in a row; if more ticks than that are overdue the rest are dropped, so the
+ * game slows down rather than falling further and further behind.
+ */
+public class GameLoop implements Game {
+
+    private final Game game;
+    private final long tickNanos;
+    private final int maxFrameSkip;
+
+    private List<Renderable> lastFrame;
+    private boolean skipRender = false;
+    private long skipped = 0;
+    private long dropped = 0;
+
+    /**
+     * Construct a loop running the given game.
+     *
+     * @param game The game to run.
+     * @param tickNanos The period between ticks, in nanoseconds.
+     * @param maxFrameSkip The most frames in a row that may be skipped to catch up.
+     * @throws IllegalArgumentException If the period is not positive or the frame skip limit is
+     *     negative.
+     */
+    public GameLoop(Game game, long tickNanos, int maxFrameSkip) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick period must be positive, was " + tickNanos);
+        }
+        if (maxFrameSkip < 0) {
+            throw new IllegalArgumentException(
+                    "Frame skip limit must not be negative, was " + maxFrameSkip);
+        }
+        this.game = game;
+        this.tickNanos = tickNanos;
+        this.maxFrameSkip = maxFrameSkip;
+    }
+
+    /**
+     * Tick the given engine on schedule until it stops running.
+     *
+     * @param engine The engine to run, constructed with this loop as its game.
+     */
+    public void run(Engine engine) {
+        long next = nanoTime();
+        while (engine.isRunning()) {
+            long now = nanoTime();
+            if (now < next) {
+                sleep(next - now);
+                continue;
+            }
+            long due = 1 + (now - next) / tickNanos;
+            long run = Math.min(due, maxFrameSkip + 1L);
+            skipRender = true;
+            for (long i = 1; i < run; i++) {
+                engine.tick();
+            }
+            skipRender = false;
+            engine.tick();
+            skipped += run - 1;
+            dropped += due - run;
+            next += due * tickNanos;
+        }
+    }
+
+    /**
+     * The number of frames that have not been rendered because the loop was catching up.
+     *
+     * @return The number of ticks run without rendering.
+     */
+    public long getSkippedFrames() {
+        return skipped;
+    }
+
+    /**
+     * The number of ticks that were not run because more were overdue than could be caught up.
+     *
+     * @return The number of ticks dropped.
+     */
+    public long getDroppedTicks() {
+        return dropped;
+    }
+
+    /**
+     * The current time, used to schedule ticks.
+     *
+     * @return The time in nanoseconds, as by {@link System#nanoTime()}.
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Wait for the given time, or less if the thread is woken early.
+     *
+     * @param nanos The time to wait, in nanoseconds.
+     */
+    protected void sleep(long nanos) {
+        LockSupport.parkNanos(nanos);
+    }
+
+    @Override
+    public void tick(EngineState state) {
+        game.tick(state);
+    }
+
+    @Override
+    public List<Renderable> render() {
+        if (!skipRender || lastFrame == null) {
+            lastFrame = game.render();
+        }
+        return lastFrame;
+    }
+}
@@ -0,0 +1,111 @@
+package builder.timing;
+
+import engine.timing.FixedTimer;
+
+/**
+ * The lifespan of an {@link builder.entities.npc.Expirable} entity: a timer that finishes after a
+ * fixed number of ticks, either by being ticked like any {@link FixedTimer} or by waiting on a
+ * {@link TimerWheel}.
+ *
+ * <p>A lifespan is ticked by its entity until a manager puts it on the manager's wheel with {@link
+ * #expireOn(TimerWheel, long, Runnable)}. From then on ticking it does nothing, and it finishes
+ * when the wheel reaches its deadline, so a manager with many entities waiting to expire does no
+ * work for them until they do.
+ *
+ * <p>Unlike a plain {@link FixedTimer}, a lifespan stays finished once it has finished.
+ */
+public class Lifespan extends FixedTimer {
+
+    private final int duration;
+    private int elapsed = 0;
+    private boolean expired = false;
+
+    /** The timeout on the wheel this lifespan waits on, or null if it is ticked. */
+    private TimerWheel.Timeout expiry;
+
+    /**
+     * Construct a lifespan lasting the given number of ticks.
+     *
+     * @param duration The number of ticks until the lifespan finishes.
+     * @requires duration > 0
+     */
+    public Lifespan(int duration) {
+        super(duration);
+        this.duration = duration;
+    }
+
+    /**
+     * The number of ticks this lifespan has left.
+     *
+     * @return The ticks left, or 0 if it has finished.
+     */
+    public int getRemaining() {
+        if (expired) {
+            return 0;
+        }
+        return duration - elapsed;
+    }
+
+    /**
+     * Stop counting ticks and instead finish when the given wheel reaches the tick on which this
+     * lifespan would have finished, running the given task then.
+     *
+     * @param wheel The wheel to wait on.
+     * @param firstTick The tick of the wheel on which this lifespan would next have been ticked.
+     * @param onExpiry The task to run when the lifespan finishes, e.g. removing its entity.
+     */
+    public void expireOn(TimerWheel wheel, long firstTick, Runnable onExpiry) {
+        this.cancel();
+        if (expired) {
+            return;
+        }
+        Runnable expire = () -> {
+            this.expiry = null;
+            this.expired = true;
+            onExpiry.run();
+        };
+        long deadline = firstTick + this.getRemaining() - 1;
+        if (deadline <= wheel.now()) {
+            expire.run();
+        } else {
+            this.expiry = wheel.scheduleAt(deadline, expire);
+        }
+    }
+
+    /**
+     * Take this lifespan off the wheel it is waiting on, if any, e.g. because its entity has been
+     * removed. It is then ticked again from where it was put on the wheel.
+     */
+    public void cancel() {
+        if (expiry != null) {
+            expiry.cancel();
+            expiry = null;
+        }
+    }
+
+    /**
+     * Take the given timer off the wheel it is waiting on, if it is a lifespan waiting on one, e.g.
+     * because its entity is being given a new lifespan and the old one must not finish it.
+     *
+     * @param timer The timer being replaced, which may be any timer or null.
+     */
+    public static void cancel(FixedTimer timer) {
+        if (timer instanceof Lifespan lifespan) {
+            lifespan.cancel();
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return expired;
+    }
+
+    @Override
+    public void tick() {
+        if (expiry != null || expired) {
+            return;
+        }
+        elapsed++;
+        expired = elapsed == duration;
+    }
+}
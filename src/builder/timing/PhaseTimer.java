@@ -0,0 +1,67 @@
+package builder.timing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adds up the wall-clock time spent in each named phase of a tick, e.g. to find out where a
+ * simulation spends its time.
+ *
+ * <p>The code being timed calls {@link #start()} when it begins and {@link #lap(String)} as it
+ * finishes each phase; the time since the previous call is added to that phase. Phases are
+ * reported in the order they were first lapped.
+ */
+public class PhaseTimer {
+
+    private final Map<String, long[]> totals = new LinkedHashMap<>();
+    private long last = System.nanoTime();
+
+    /** Start timing the first phase from now. */
+    public void start() {
+        last = System.nanoTime();
+    }
+
+    /**
+     * Add the time since the last call to {@link #start()} or {@link #lap(String)} to the given
+     * phase, and start timing the next phase from now.
+     *
+     * @param phase The name of the phase that has just finished.
+     */
+    public void lap(String phase) {
+        long now = System.nanoTime();
+        totals.computeIfAbsent(phase, name -> new long[1])[0] += now - last;
+        last = now;
+    }
+
+    /**
+     * The total time spent in the given phase.
+     *
+     * @param phase The name of the phase.
+     * @return The total time in nanoseconds, or 0 if the phase has never been lapped.
+     */
+    public long getNanos(String phase) {
+        long[] total = totals.get(phase);
+        return total == null ? 0 : total[0];
+    }
+
+    /**
+     * The total time spent in each phase.
+     *
+     * @return An unmodifiable map from each phase, in the order first lapped, to its total time in
+     *     nanoseconds.
+     */
+    public Map<String, Long> getTotals() {
+        Map<String, Long> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /** Forget every phase timed so far, e.g. once a simulation has warmed up. */
+    public void reset() {
+        totals.clear();
+        start();
+    }
+}
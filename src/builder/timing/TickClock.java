@@ -0,0 +1,24 @@
+package builder.timing;
+
+/**
+ * A count of the ticks something, such as a world, has been ticked, for entities that work out
+ * their state from the time that has passed rather than by being ticked (see {@link Clocked}).
+ */
+public class TickClock {
+
+    private long now = 0;
+
+    /**
+     * The number of times this clock has been advanced.
+     *
+     * @return The current tick.
+     */
+    public long now() {
+        return now;
+    }
+
+    /** Move on to the next tick. */
+    public void advance() {
+        now++;
+    }
+}
@@ -0,0 +1,216 @@
+package builder.timing;
+
+/**
+ * A hierarchical timing wheel that runs callbacks on given ticks, so that many timers can wait
+ * without each being ticked.
+ *
+ * <p>Timers are kept in {@value #LEVELS} wheels of {@value #SLOTS} slots. The first wheel has a
+ * slot for each of the next {@value #SLOTS} ticks; each wheel after it has slots {@value #SLOTS}
+ * times as wide as the one before. A timer is placed in the finest wheel whose span covers its
+ * deadline, and is moved down to a finer wheel whenever the slot it is in comes round. Each
+ * {@link #advance()} therefore only touches the timers that fire on that tick, plus, once every
+ * {@value #SLOTS} ticks or less often, the timers in a coarser slot that are moved down.
+ *
+ * <p>Deadlines further away than the coarsest wheel spans are parked in its furthest slot and
+ * placed again each time that slot comes round.
+ */
+public class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    /** The number of ticks ahead that the coarsest wheel reaches. */
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    /** The first timer in each slot of each wheel, each slot being a doubly-linked list. */
+    private final Timeout[][] wheels = new Timeout[LEVELS][SLOTS];
+
+    private long now = 0;
+    private int size = 0;
+
+    /** A callback waiting on a {@link TimerWheel}. */
+    public static class Timeout {
+        private final TimerWheel wheel;
+        private final Runnable task;
+        private final int interval;
+        private long deadline;
+        private int level = -1;
+        private int slot;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(TimerWheel wheel, long deadline, int interval, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.interval = interval;
+            this.task = task;
+        }
+
+        /**
+         * The tick on which this timeout next fires.
+         *
+         * @return The tick, as counted by {@link TimerWheel#now()}.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Whether this timeout is still waiting to fire; a repeating timeout waits until it is
+         * cancelled.
+         *
+         * @return true if it will fire on a later tick, false otherwise.
+         */
+        public boolean isPending() {
+            return level >= 0;
+        }
+
+        /** Stop this timeout from firing. Cancelling a timeout not pending has no effect. */
+        public void cancel() {
+            if (isPending()) {
+                wheel.unlink(this);
+            }
+        }
+    }
+
+    /**
+     * The current tick: the number of times the wheel has been {@link #advance() advanced}.
+     *
+     * @return The current tick.
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * The number of timeouts waiting to fire.
+     *
+     * @return The number of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Run the given task once, the given number of ticks from now.
+     *
+     * @param delay The number of calls to {@link #advance()} after which to run the task.
+     * @param task The task to run.
+     * @return The timeout, which may be cancelled.
+     * @throws IllegalArgumentException If the delay is less than 1.
+     */
+    public Timeout schedule(int delay, Runnable task) {
+        if (delay < 1) {
+            throw new IllegalArgumentException("Delay must be at least one tick, was " + delay);
+        }
+        return add(new Timeout(this, now + delay, 0, task));
+    }
+
+    /**
+     * Run the given task once on the given tick.
+     *
+     * @param deadline The tick, as counted by {@link #now()}, on which to run the task.
+     * @param task The task to run.
+     * @return The timeout, which may be cancelled.
+     * @throws IllegalArgumentException If the deadline is not after the current tick.
+     */
+    public Timeout scheduleAt(long deadline, Runnable task) {
+        if (deadline <= now) {
+            throw new IllegalArgumentException("Deadline " + deadline + " is not after " + now);
+        }
+        return add(new Timeout(this, deadline, 0, task));
+    }
+
+    /**
+     * Run the given task every given number of ticks, starting that many ticks from now, until
+     * the timeout is cancelled.
+     *
+     * @param interval The number of ticks between runs of the task.
+     * @param task The task to run.
+     * @return The timeout, which may be cancelled.
+     * @throws IllegalArgumentException If the interval is less than 1.
+     */
+    public Timeout scheduleRepeating(int interval, Runnable task) {
+        if (interval < 1) {
+            throw new IllegalArgumentException(
+                    "Interval must be at least one tick, was " + interval);
+        }
+        return add(new Timeout(this, now + interval, interval, task));
+    }
+
+    /**
+     * Move on to the next tick and run every task due on it. Tasks due on the same tick run in no
+     * particular order, and may schedule and cancel timeouts, including those due on this tick.
+     */
+    public void advance() {
+        now++;
+        // coarser slots first, so that timers moved down a level can be moved down again
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((now & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                cascade(level, (int) (now >>> (SLOT_BITS * level)) & SLOT_MASK);
+            }
+        }
+        Timeout[] slots = wheels[0];
+        int slot = (int) now & SLOT_MASK;
+        while (slots[slot] != null) {
+            Timeout timeout = slots[slot];
+            unlink(timeout);
+            if (timeout.interval > 0) {
+                timeout.deadline += timeout.interval;
+                add(timeout);
+            }
+            timeout.task.run();
+        }
+    }
+
+    /** Place every timer in the given slot again, now that the slot has come round. */
+    private void cascade(int level, int slot) {
+        Timeout timeout = wheels[level][slot];
+        wheels[level][slot] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.level = -1;
+            size--;
+            add(timeout);
+            timeout = next;
+        }
+    }
+
+    private Timeout add(Timeout timeout) {
+        long delta = timeout.deadline - now;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long placed = delta < SPAN ? timeout.deadline : now + SPAN - 1;
+        int slot = (int) (placed >>> (SLOT_BITS * level)) & SLOT_MASK;
+
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.previous = null;
+        timeout.next = wheels[level][slot];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        wheels[level][slot] = timeout;
+        size++;
+        return timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            wheels[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.level = -1;
+        timeout.previous = null;
+        timeout.next = null;
+        size--;
+    }
+}
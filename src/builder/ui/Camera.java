@@ -0,0 +1,140 @@
+package builder.ui;
+
+import engine.art.sprites.Sprite;
+import engine.game.HasPosition;
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A viewport onto a world that may be larger than the window.
+ *
+ * <p>The camera follows a target (usually the player), keeping it centred in the window except
+ * near the edges of the world where the view stops scrolling. {@link #project(List)} translates
+ * renderables from world positions into window positions and drops those outside the window, so
+ * that only what is on screen is drawn. Overlays are drawn relative to the window and should not
+ * be projected.
+ */
+public class Camera {
+
+    private final Dimensions dimensions;
+    private final int width;
+    private final int height;
+    private int offsetX = 0;
+    private int offsetY = 0;
+
+    /**
+     * Construct a new camera over a world of the given size, looking at its top left corner.
+     *
+     * @param dimensions The dimensions of the window.
+     * @param width The width of the world in pixels.
+     * @param height The height of the world in pixels.
+     */
+    public Camera(Dimensions dimensions, int width, int height) {
+        this.dimensions = dimensions;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * The x-axis (horizontal) world coordinate shown at the left edge of the window.
+     *
+     * @return The horizontal offset of the view in pixels.
+     */
+    public int getOffsetX() {
+        return offsetX;
+    }
+
+    /**
+     * The y-axis (vertical) world coordinate shown at the top edge of the window.
+     *
+     * @return The vertical offset of the view in pixels.
+     */
+    public int getOffsetY() {
+        return offsetY;
+    }
+
+    /**
+     * Move the view so that the given target is centred, as far as the edges of the world allow.
+     *
+     * @param target The position to centre the view on.
+     */
+    public void follow(HasPosition target) {
+        int window = dimensions.windowSize();
+        offsetX = Math.max(0, Math.min(width - window, target.getX() - window / 2));
+        offsetY = Math.max(0, Math.min(height - window, target.getY() - window / 2));
+    }
+
+    /**
+     * Whether any part of a tile-sized renderable at the given world position is in the window.
+     *
+     * @param renderable The renderable to check.
+     * @return true if the renderable is within a tile of the visible area, false otherwise.
+     */
+    public boolean isVisible(Renderable renderable) {
+        int margin = dimensions.tileSize();
+        int x = renderable.getX() - offsetX;
+        int y = renderable.getY() - offsetY;
+        return x > -margin
+                && y > -margin
+                && x < dimensions.windowSize() + margin
+                && y < dimensions.windowSize() + margin;
+    }
+
+    /**
+     * Translate the given renderables from world positions to window positions, dropping those
+     * that are not visible.
+     *
+     * <p>If the whole world fits in the window, the renderables are returned unchanged.
+     *
+     * @param renderables The renderables positioned in the world.
+     * @return The visible renderables positioned in the window.
+     */
+    public List<Renderable> project(List<Renderable> renderables) {
+        if (width <= dimensions.windowSize() && height <= dimensions.windowSize()) {
+            return renderables;
+        }
+        List<Renderable> projected = new ArrayList<>();
+        for (Renderable renderable : renderables) {
+            if (isVisible(renderable)) {
+                projected.add(new Projected(renderable, offsetX, offsetY));
+            }
+        }
+        return projected;
+    }
+
+    /** A view of a renderable shifted by the camera offset. */
+    private static class Projected implements Renderable {
+        private final Renderable renderable;
+        private final int offsetX;
+        private final int offsetY;
+
+        private Projected(Renderable renderable, int offsetX, int offsetY) {
+            this.renderable = renderable;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+
+        @Override
+        public int getX() {
+            return renderable.getX() - offsetX;
+        }
+
+        @Override
+        public int getY() {
+            return renderable.getY() - offsetY;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return renderable.getSprite();
+        }
+
+        @Override
+        public String getID() {
+            return renderable.getID();
+        }
+    }
+}
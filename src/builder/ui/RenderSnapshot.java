@@ -0,0 +1,96 @@
+package builder.ui;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable copy of a frame: the position, sprite and ID of each renderable at the end of a
+ * tick.
+ *
+ * <p>Renderables are usually views over live game state, e.g. an entity whose position changes
+ * every tick, so a list of them may only be read on the thread that ticks the game. A snapshot
+ * reads each of them once when it is taken and may then be drawn on any thread while the game
+ * carries on ticking.
+ */
+public class RenderSnapshot {
+
+    private final long tick;
+    private final List<Renderable> renderables;
+
+    private RenderSnapshot(long tick, List<Renderable> renderables) {
+        this.tick = tick;
+        this.renderables = renderables;
+    }
+
+    /**
+     * Take a snapshot of the given renderables as they are now.
+     *
+     * @param tick The number of the tick the frame was rendered after.
+     * @param renderables The renderables of the frame, in the order they should be drawn.
+     * @return A snapshot holding a copy of each renderable.
+     */
+    public static RenderSnapshot of(long tick, List<Renderable> renderables) {
+        List<Renderable> frozen = new ArrayList<>(renderables.size());
+        for (Renderable renderable : renderables) {
+            frozen.add(new Frozen(renderable));
+        }
+        return new RenderSnapshot(tick, Collections.unmodifiableList(frozen));
+    }
+
+    /**
+     * The tick this snapshot was taken after.
+     *
+     * @return The number of the tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * The renderables of this frame, in the order they should be drawn.
+     *
+     * @return An unmodifiable list of copies of the renderables.
+     */
+    public List<Renderable> getRenderables() {
+        return renderables;
+    }
+
+    /** A renderable fixed at the position, sprite and ID it had when the snapshot was taken. */
+    private static class Frozen implements Renderable {
+        private final String id;
+        private final int x;
+        private final int y;
+        private final Sprite sprite;
+
+        private Frozen(Renderable renderable) {
+            this.id = renderable.getID();
+            this.x = renderable.getX();
+            this.y = renderable.getY();
+            this.sprite = renderable.getSprite();
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return sprite;
+        }
+
+        @Override
+        public String getID() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package builder.ui;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands the latest {@link RenderSnapshot} from the thread ticking the game to the thread drawing
+ * it, without either ever waiting for the other.
+ *
+ * <p>This plays the part of a triple buffer: the writer always has somewhere to put its next frame
+ * and the reader always gets the newest frame written. Because snapshots are immutable and a new
+ * one is taken each tick, the buffers need not be reused, so the three slots reduce to one shared
+ * slot swapped with a single atomic operation. A frame written before the last one was read is
+ * replaced, and counted as skipped.
+ *
+ * <p>Only one thread may {@link #publish(RenderSnapshot)} and only one may {@link #take()}.
+ */
+public class SnapshotBuffer {
+
+    private final AtomicReference<RenderSnapshot> latest = new AtomicReference<>();
+    private volatile long published = 0;
+    private volatile long skipped = 0;
+
+    /**
+     * Make the given snapshot the newest frame, replacing any frame not yet taken.
+     *
+     * @param snapshot The snapshot to hand over.
+     */
+    public void publish(RenderSnapshot snapshot) {
+        RenderSnapshot replaced = latest.getAndSet(snapshot);
+        published++;
+        if (replaced != null) {
+            skipped++;
+        }
+    }
+
+    /**
+     * Take the newest frame, if one has been published since the last was taken.
+     *
+     * @return The newest snapshot, or null if there is none new.
+     */
+    public RenderSnapshot take() {
+        return latest.getAndSet(null);
+    }
+
+    /**
+     * The number of frames published.
+     *
+     * @return The number of calls to {@link #publish(RenderSnapshot)}.
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    /**
+     * The number of frames replaced by a newer frame before they were taken.
+     *
+     * @return The number of frames never taken.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,147 @@
+package builder.ui;
+
+import engine.core.Core;
+import engine.renderer.Renderable;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A core that draws on its own thread, so that drawing a frame does not hold up the next tick and
+ * a slow tick does not hold up drawing.
+ *
+ * <p>The engine still calls {@link #draw(List)} at the end of each tick, on the thread ticking the
+ * game. Rather than drawing, this takes a {@link RenderSnapshot} of the frame and publishes it to a
+ * {@link SnapshotBuffer}, which takes time in proportion to the number of renderables but never
+ * waits on drawing. A render thread started by {@link #start()} draws the newest snapshot onto the
+ * wrapped core whenever one is published, skipping any it was too slow to draw, and otherwise
+ * sleeps. Keyboard and mouse input is read from the wrapped core as before.
+ *
+ * <p>When the engine draws the same list of renderables again, e.g. because a {@link
+ * builder.timing.GameLoop} skipped rendering a frame, no new snapshot is taken.
+ */
+public class ThreadedCore extends Core {
+
+    private final Core target;
+    private final SnapshotBuffer buffer = new SnapshotBuffer();
+
+    /** The render thread, or null until {@link #start()} is called. */
+    private Thread renderer;
+    private volatile boolean running = false;
+    private volatile long drawn = 0;
+
+    /** The frame last drawn by the engine, only touched on the thread ticking the game. */
+    private List<Renderable> lastFrame;
+    private long tick = 0;
+
+    /**
+     * Construct a core that draws onto the given core on a separate thread.
+     *
+     * @param target The core to draw onto and read input from, e.g. a window.
+     */
+    public ThreadedCore(Core target) {
+        super(target.debug());
+        this.target = target;
+    }
+
+    /** Start drawing published frames on a new render thread. */
+    public void start() {
+        running = true;
+        renderer = new Thread(this::renderLoop, "render");
+        renderer.setDaemon(true);
+        renderer.start();
+    }
+
+    /**
+     * Stop the render thread, waiting for it to finish drawing any frame it is part way through.
+     */
+    public void stop() {
+        running = false;
+        if (renderer == null) {
+            return;
+        }
+        LockSupport.unpark(renderer);
+        try {
+            renderer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The number of frames the render thread has drawn.
+     *
+     * @return The number of snapshots drawn onto the wrapped core.
+     */
+    public long getDrawnFrames() {
+        return drawn;
+    }
+
+    /**
+     * The number of frames published that the render thread never drew because a newer frame was
+     * published first.
+     *
+     * @return The number of snapshots skipped.
+     */
+    public long getSkippedFrames() {
+        return buffer.getSkipped();
+    }
+
+    @Override
+    public void draw(List<Renderable> renderables) {
+        long frameTick = tick++;
+        if (renderables == lastFrame) {
+            return;
+        }
+        lastFrame = renderables;
+        buffer.publish(RenderSnapshot.of(frameTick, renderables));
+        LockSupport.unpark(renderer);
+    }
+
+    private void renderLoop() {
+        while (running) {
+            RenderSnapshot snapshot = buffer.take();
+            if (snapshot == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            target.draw(snapshot.getRenderables());
+            drawn++;
+        }
+    }
+
+    @Override
+    public int getMouseX() {
+        return target.getMouseX();
+    }
+
+    @Override
+    public int getMouseY() {
+        return target.getMouseY();
+    }
+
+    @Override
+    public boolean isLeftPressed() {
+        return target.isLeftPressed();
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return target.isRightPressed();
+    }
+
+    @Override
+    public boolean isMiddlePressed() {
+        return target.isMiddlePressed();
+    }
+
+    @Override
+    public List<Character> getDown() {
+        return target.getDown();
+    }
+
+    @Override
+    public boolean isDown(char character) {
+        return target.isDown(character);
+    }
+}
@@ -1,16 +1,24 @@
 package builder.world;
 
 import builder.GameState;
-import builder.Tickable;
 import builder.entities.tiles.Tile;
-import builder.ui.RenderableGroup;
+import builder.entities.tiles.TileListener;
+import builder.timing.Clocked;
+import builder.timing.TickClock;
 
 import engine.EngineState;
+import engine.game.Entity;
 import engine.renderer.Dimensions;
 import engine.renderer.Renderable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 /**
@@ -19,13 +27,76 @@ import java.util.function.Predicate;
  * <p>A world consists of a grid of tiles. The tiles must be updated by the world each tick and
  * appropriately rendered via the render method.
  *
+ * <p>Tiles are indexed by their tile coordinates (see {@link TileIndex}) so that {@link
+ * #tilesAtPosition(int, int, Dimensions)} takes constant time regardless of the size of the world.
+ * The index is built for a particular tile size, either given at construction or taken from the
+ * dimensions of the first query, and is rebuilt if queried with a different tile size.
+ *
+ * <p>Each tile lives in a slot of the world's tile storage. Tiles that have been marked for removal
+ * (see {@link Tile#markForRemoval()}) are reaped during the next tick and their slots are reused by
+ * later placements. Placing a tile into a cell whose current tile is marked for removal
+ * (e.g. grass being replaced by dirt) takes over the marked tile's slot immediately. The storage is
+ * therefore bounded by the number of live tiles rather than by the number of placements.
+ *
+ * <p>The world listens to every tile it holds (see {@link TileListener}) and keeps a {@link
+ * StackIndex} of stacked entities by type, answering {@link #tilesWithStacked(Class)} without a
+ * scan. The first {@link #nearestWithStacked(Class, int, int, Dimensions)} query for a type builds
+ * a {@link DistanceField} from every tile with that type stacked on it, which is then updated
+ * incrementally as such entities are stacked and removed.
+ *
+ * <p>Only awake tiles are ticked. A tile is awake when it is placed and goes dormant after a tick
+ * in which it has no pending work (see {@link Tile#hasPendingWork()}), e.g. bare grass and water.
+ * A dormant tile is woken again when an entity is stacked on it or it is marked for removal, so a
+ * mostly static map costs nothing per tick.
+ *
  * @test
  * @stage2
  */
-public class BeanWorld implements RenderableGroup, Tickable, World {
+public class BeanWorld implements GameWorld {
 
+    /** Tile storage, a null entry is a free slot waiting to be reused. */
     private final List<Tile> tiles = new ArrayList<>();
 
+    /** Slots of {@link #tiles} that have been reaped and may be reused. */
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    /** Grid index over the slots of {@link #tiles}, null until the tile size is known. */
+    private TileIndex index;
+
+    /** Which cells of {@link #index} can be walked through, null whenever the index is. */
+    private WalkabilityMap walkable;
+
+    /** Index of stacked entities by type across all tiles in the world. */
+    private final StackIndex stacked = new StackIndex();
+
+    /** Distance fields for each stacked entity type that has been queried for the nearest tile. */
+    private final Map<Class<? extends Entity>, DistanceField> fields = new HashMap<>();
+
+    /** Listener registered with every tile in the world. */
+    private final TileListener events = new TileEvents();
+
+    /** Slots of {@link #tiles} holding tiles that must be ticked. */
+    private final BitSet awake = new BitSet();
+
+    /** Tiles woken since the last tick whose slots have not been looked up yet. */
+    private final List<Tile> woken = new ArrayList<>();
+
+    /** The renderables of each slot's tile and its stacked entities, null if never rendered. */
+    private final List<Renderable[]> cells = new ArrayList<>();
+
+    /** Slots whose entry in {@link #cells} is out of date. */
+    private final BitSet dirty = new BitSet();
+
+    /** The renderables of every slot in order, rebuilt from {@link #cells} after any change. */
+    private final List<Renderable> layer = new ArrayList<>();
+    private final List<Renderable> layerView = Collections.unmodifiableList(layer);
+
+    /** The number of times this world has been ticked, read by {@link Clocked} entities. */
+    private final TickClock clock = new TickClock();
+
+    /** Number of changes made to the tiles of this world, see {@link #getModificationCount()}. */
+    private int modifications = 0;
+
     /**
      * Construct a new empty world with no tiles.
      *
@@ -35,6 +106,40 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
      */
     BeanWorld() {}
 
+    /**
+     * Construct a new empty world with no tiles, indexed for the tile size of the given dimensions.
+     *
+     * @param dimensions The dimensions of the world.
+     */
+    BeanWorld(Dimensions dimensions) {
+        this.index = new TileIndex(dimensions.tileSize());
+        this.walkable = new WalkabilityMap();
+    }
+
+    /**
+     * The number of changes made to this world so far: tiles placed, entities stacked on or removed
+     * from tiles, and tiles woken (e.g. marked for removal). Comparing two counts tells whether the
+     * world changed in between.
+     *
+     * @return The number of changes made to this world.
+     */
+    int getModificationCount() {
+        return modifications;
+    }
+
+    /**
+     * The number of grid cells covered by this world's tile index and walkability bitmap, which
+     * grows with the area the world's tiles span rather than with their distance from the origin.
+     *
+     * @return The number of cells indexed, 0 if the index has not been built.
+     */
+    int getIndexedCellCount() {
+        if (index == null) {
+            return 0;
+        }
+        return index.getColumns() * index.getRows() + walkable.getCellCount();
+    }
+
     /**
      * Finds all tiles that contain the given pixel coordinates.
      *
@@ -45,27 +150,253 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
      */
     @Override
     public List<Tile> tilesAtPosition(int x, int y, Dimensions dimensions) {
-        List<Tile> result = new ArrayList<>();
-        int gridX = dimensions.pixelToTile(x);
-        int gridY = dimensions.pixelToTile(y);
+        TileIndex grid = indexFor(dimensions);
+        int[] slots = grid.slotsAt(grid.toCell(x), grid.toCell(y));
+        List<Tile> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(tiles.get(slot));
+        }
+        return result;
+    }
+
+    /**
+     * Return the index for the tile size of the given dimensions, building it from the current
+     * tiles if it has not been built yet or was built for a different tile size.
+     */
+    private TileIndex indexFor(Dimensions dimensions) {
+        if (index == null || index.getTileSize() != dimensions.tileSize()) {
+            index = new TileIndex(dimensions.tileSize());
+            walkable = new WalkabilityMap();
+            fields.clear();
+            for (int slot = 0; slot < tiles.size(); slot++) {
+                if (tiles.get(slot) != null) {
+                    indexSlot(slot);
+                }
+            }
+        }
+        return index;
+    }
+
+    /** Record the tile in the given slot within the index. */
+    private void indexSlot(int slot) {
+        Tile tile = tiles.get(slot);
+        index.add(index.toCell(tile.getX()), index.toCell(tile.getY()), slot);
+        if (!tile.canWalkThrough()) {
+            walkable.setWalkable(index.toCell(tile.getX()), index.toCell(tile.getY()), false);
+        }
+    }
+
+    /** Recompute whether the cell holding the given tile can be walked through. */
+    private void updateWalkable(Tile tile) {
+        int column = index.toCell(tile.getX());
+        int row = index.toCell(tile.getY());
+        boolean canWalk = true;
+        for (int slot : index.slotsAt(column, row)) {
+            canWalk &= tiles.get(slot).canWalkThrough();
+        }
+        walkable.setWalkable(column, row, canWalk);
+    }
+
+    /**
+     * Whether the cell containing the given pixel position can be walked through, i.e. every tile
+     * in it can be walked through (see {@link Tile#canWalkThrough()}).
+     *
+     * <p>The answer is read from a bitmap of the world's cells that is kept up to date as tiles are
+     * placed, replaced and reaped, so this is a single bit test. It assumes a tile's walkability
+     * does not change while it is in the world.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param dimensions The dimensions of the world.
+     * @return true if the position can be walked through, false otherwise.
+     */
+    @Override
+    public boolean isWalkable(int x, int y, Dimensions dimensions) {
+        TileIndex grid = indexFor(dimensions);
+        return walkable.isWalkable(grid.toCell(x), grid.toCell(y));
+    }
+
+    @Override
+    public List<Tile> allTiles() {
+        List<Tile> result = new ArrayList<>(tiles.size() - freeSlots.size());
         for (Tile tile : tiles) {
-            int tileX = dimensions.pixelToTile(tile.getX());
-            int tileY = dimensions.pixelToTile(tile.getY());
-            if (gridX == tileX && gridY == tileY) {
+            if (tile != null) {
                 result.add(tile);
             }
         }
         return result;
     }
 
+    /**
+     * Place a new tile into the world.
+     *
+     * <p>If the cell the tile occupies already holds a tile marked for removal, the new tile
+     * replaces it in place. Otherwise, the tile is stored in a free slot left by a reaped tile, or
+     * in a new slot if there are none.
+     *
+     * @param tile The tile to place into the world.
+     */
     @Override
-    public List<Tile> allTiles() {
-        return new ArrayList<>(tiles);
+    public void place(Tile tile) {
+        modifications++;
+        int slot = index == null ? -1 : replaceMarked(tile);
+        if (slot >= 0) {
+            updateWalkable(tile);
+        } else {
+            if (freeSlots.isEmpty()) {
+                slot = tiles.size();
+                tiles.add(tile);
+            } else {
+                slot = freeSlots.pop();
+                tiles.set(slot, tile);
+            }
+            if (index != null) {
+                indexSlot(slot);
+            }
+        }
+        awake.set(slot);
+        dirty.set(slot);
+        tile.setListener(events);
+        tile.forEachStacked(entity -> stack(tile, entity));
+    }
+
+    /**
+     * Attempt to store the given tile in the slot of a tile marked for removal in the same cell.
+     *
+     * @return The slot of the replaced tile, or -1 if the cell had no marked tile.
+     */
+    private int replaceMarked(Tile tile) {
+        for (int slot : index.slotsAt(index.toCell(tile.getX()), index.toCell(tile.getY()))) {
+            Tile occupant = tiles.get(slot);
+            if (occupant.isMarkedForRemoval()) {
+                forget(occupant);
+                tiles.set(slot, tile);
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /** Find the slot holding the given tile using the index, or -1 if it is not in the world. */
+    private int slotOf(Tile tile) {
+        for (int slot : index.slotsAt(index.toCell(tile.getX()), index.toCell(tile.getY()))) {
+            if (tiles.get(slot) == tile) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /** Empty the given slot, dropping its tile from the index and recording the slot as free. */
+    private void release(int slot) {
+        Tile tile = tiles.get(slot);
+        if (index != null) {
+            index.remove(index.toCell(tile.getX()), index.toCell(tile.getY()), slot);
+            updateWalkable(tile);
+        }
+        forget(tile);
+        tiles.set(slot, null);
+        awake.clear(slot);
+        dirty.set(slot);
+        freeSlots.push(slot);
+    }
+
+    /** Stop listening to a tile that is leaving the world and drop its stacked entities. */
+    private void forget(Tile tile) {
+        tile.setListener(null);
+        tile.forEachStacked(entity -> unstack(tile, entity));
+    }
+
+    /**
+     * Record a newly stacked entity in the stack index and any distance field for its type, and
+     * give it this world's clock if it keeps time by one.
+     */
+    private void stack(Tile tile, Entity entity) {
+        modifications++;
+        stacked.add(tile, entity);
+        if (entity instanceof Clocked clocked) {
+            clocked.setClock(clock, () -> events.tileWoken(tile));
+        }
+        for (Map.Entry<Class<? extends Entity>, DistanceField> entry : fields.entrySet()) {
+            if (entry.getKey().isInstance(entity)) {
+                entry.getValue().addSource(
+                        index.toCell(tile.getX()), index.toCell(tile.getY()), tile);
+            }
+        }
+    }
+
+    /** Remove an entity from the stack index and any distance field for its type. */
+    private void unstack(Tile tile, Entity entity) {
+        modifications++;
+        stacked.remove(tile, entity);
+        if (entity instanceof Clocked clocked) {
+            clocked.setClock(null, null);
+        }
+        for (Map.Entry<Class<? extends Entity>, DistanceField> entry : fields.entrySet()) {
+            Class<? extends Entity> type = entry.getKey();
+            if (!type.isInstance(entity) || stacked.has(tile, type)) {
+                continue;
+            }
+            int column = index.toCell(tile.getX());
+            int row = index.toCell(tile.getY());
+            Tile other = otherTileWith(type, column, row, tile);
+            if (other == null) {
+                entry.getValue().removeSource(column, row);
+            } else {
+                entry.getValue().replaceSource(column, row, other);
+            }
+        }
+    }
+
+    /** Find a tile in the given cell, other than the excluded tile, stacked with the type. */
+    private Tile otherTileWith(Class<? extends Entity> type, int column, int row, Tile excluded) {
+        for (int slot : index.slotsAt(column, row)) {
+            Tile tile = tiles.get(slot);
+            if (tile != excluded && stacked.has(tile, type)) {
+                return tile;
+            }
+        }
+        return null;
     }
 
     @Override
-    public void place(Tile tile) {
-        this.tiles.add(tile);
+    public List<Tile> tilesWithStacked(Class<? extends Entity> type) {
+        return stacked.tilesWith(type);
+    }
+
+    /**
+     * Return the tile nearest to the given position that has an entity of the given type stacked
+     * on it.
+     *
+     * <p>Distances are measured between grid cells, so the result is a lookup in the {@link
+     * DistanceField} for the type. The field is built on the first query for a type (or when the
+     * world has grown since it was built) and is updated incrementally afterwards.
+     *
+     * @param type The type of stacked entity to look for, subtypes also match.
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param dimensions The dimensions of the world.
+     * @return The nearest tile with such an entity stacked on it, or null if there are none.
+     */
+    @Override
+    public Tile nearestWithStacked(
+            Class<? extends Entity> type, int x, int y, Dimensions dimensions) {
+        TileIndex grid = indexFor(dimensions);
+        DistanceField field = fields.get(type);
+        if (field == null
+                || field.getBaseColumn() != grid.getBaseColumn()
+                || field.getBaseRow() != grid.getBaseRow()
+                || field.getColumns() != grid.getColumns()
+                || field.getRows() != grid.getRows()) {
+            field = new DistanceField(
+                    grid.getBaseColumn(), grid.getBaseRow(), grid.getColumns(), grid.getRows());
+            for (Tile tile : stacked.tilesWith(type)) {
+                field.seed(grid.toCell(tile.getX()), grid.toCell(tile.getY()), tile);
+            }
+            field.propagate();
+            fields.put(type, field);
+        }
+        return field.nearest(grid.toCell(x), grid.toCell(y));
     }
 
     /**
@@ -76,7 +407,7 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
     public List<Tile> tileSelector(Predicate<Tile> filter) {
         List<Tile> result = new ArrayList<>();
         for (Tile tile : tiles) {
-            if (filter.test(tile)) {
+            if (tile != null && filter.test(tile)) {
                 result.add(tile);
             }
         }
@@ -84,8 +415,9 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
     }
 
     /**
-     * Progress the state of the world. The world is progressed by calling the {@link
-     * Tile#tick(EngineState)} method on every world tile.
+     * Progress the state of the world. The world is progressed by advancing its clock, reaping any
+     * tiles marked for removal and calling the {@link Tile#tick(EngineState)} method on every awake
+     * tile. Tiles left without pending work afterwards go dormant until they are woken.
      *
      * @param state The state of the engine, including the mouse, keyboard information and
      *     dimension. Useful for processing keyboard presses or mouse movement.
@@ -94,8 +426,26 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
      */
     @Override
     public void tick(EngineState state, GameState game) {
-        for (Tile tile : this.tiles) {
+        indexFor(state.getDimensions());
+        clock.advance();
+        for (Tile tile : woken) {
+            int slot = slotOf(tile);
+            if (slot >= 0) {
+                awake.set(slot);
+            }
+        }
+        woken.clear();
+
+        for (int slot = awake.nextSetBit(0); slot >= 0; slot = awake.nextSetBit(slot + 1)) {
+            Tile tile = tiles.get(slot);
+            if (tile.isMarkedForRemoval()) {
+                release(slot);
+                continue;
+            }
             tile.tick(state);
+            if (!tile.hasPendingWork()) {
+                awake.clear(slot);
+            }
         }
     }
 
@@ -108,14 +458,74 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
      *
      * <p>Otherwise, any ordering is appropriate.
      *
-     * @return The list of renderables required to draw the world to the screen.
+     * <p>The renderables are cached per slot and the returned list is reused between frames. A
+     * slot's renderables are only gathered again (via {@link Tile#render()}) after a tile is placed
+     * into or reaped from it, or an entity is stacked on or removed from its tile. Sprite changes
+     * need no rebuild as the list holds the tiles and entities themselves, which are asked for
+     * their sprite when drawn. A frame in which nothing was placed, stacked or removed therefore
+     * allocates nothing.
+     *
+     * @return The list of renderables required to draw the world to the screen. The list cannot be
+     *     modified and is updated in place by later calls.
      */
     @Override
     public List<Renderable> render() {
-        List<Renderable> result = new ArrayList<>();
-        for (Tile tile : tiles) {
-            result.addAll(tile.render());
+        if (dirty.isEmpty()) {
+            return layerView;
+        }
+
+        while (cells.size() < tiles.size()) {
+            cells.add(null);
+        }
+        for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+            if (slot >= tiles.size()) {
+                break;
+            }
+            Tile tile = tiles.get(slot);
+            cells.set(slot, tile == null ? null : tile.render().toArray(new Renderable[0]));
+        }
+        dirty.clear();
+
+        layer.clear();
+        for (Renderable[] cell : cells) {
+            if (cell != null) {
+                Collections.addAll(layer, cell);
+            }
+        }
+        return layerView;
+    }
+
+    /** Mark the slot of a tile whose stacked entities changed as needing to be rendered again. */
+    private void restacked(Tile tile) {
+        if (index == null) {
+            dirty.set(0, tiles.size()); // the slot cannot be found without an index
+            return;
+        }
+        int slot = slotOf(tile);
+        if (slot >= 0) {
+            dirty.set(slot);
+        }
+    }
+
+    /** Forwards stacking changes on tiles in this world to the world's indexes. */
+    private class TileEvents implements TileListener {
+        @Override
+        public void entityStacked(Tile tile, Entity entity) {
+            stack(tile, entity);
+            woken.add(tile);
+            restacked(tile);
+        }
+
+        @Override
+        public void entityUnstacked(Tile tile, Entity entity) {
+            unstack(tile, entity);
+            restacked(tile);
+        }
+
+        @Override
+        public void tileWoken(Tile tile) {
+            modifications++;
+            woken.add(tile);
         }
-        return result;
     }
 }
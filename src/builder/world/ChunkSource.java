@@ -0,0 +1,64 @@
+package builder.world;
+
+import builder.entities.tiles.Tile;
+
+import engine.renderer.Dimensions;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A source of tiles for a {@link ChunkedWorld}, able to produce the tiles of any rectangular area
+ * of a map without the rest of the map being loaded.
+ */
+public interface ChunkSource {
+
+    /**
+     * The width of the map in tiles.
+     *
+     * @return The number of columns of tiles in the map.
+     */
+    int getColumns();
+
+    /**
+     * The height of the map in tiles.
+     *
+     * @return The number of rows of tiles in the map.
+     */
+    int getRows();
+
+    /**
+     * Construct the tiles in the given area of the map. Any part of the area outside the map is
+     * ignored.
+     *
+     * @param column The first column of the area.
+     * @param row The first row of the area.
+     * @param columns The number of columns in the area.
+     * @param rows The number of rows in the area.
+     * @param dimensions The dimensions used to position the tiles.
+     * @return New tiles for every cell of the map within the area.
+     * @throws IOException If the tiles cannot be read.
+     */
+    List<Tile> load(int column, int row, int columns, int rows, Dimensions dimensions)
+            throws IOException;
+
+    /**
+     * Store the tiles of the given area so that a later {@link #load(int, int, int, int,
+     * Dimensions)} of the area constructs equivalent tiles, e.g. after the area was changed during
+     * the game.
+     *
+     * <p>By default, sources are read-only and nothing is stored.
+     *
+     * @param column The first column of the area.
+     * @param row The first row of the area.
+     * @param columns The number of columns in the area.
+     * @param rows The number of rows in the area.
+     * @param tiles The tiles currently in the area.
+     * @param dimensions The dimensions used to position the tiles.
+     * @return true if the tiles were stored, false if this source cannot represent them.
+     */
+    default boolean save(
+            int column, int row, int columns, int rows, List<Tile> tiles, Dimensions dimensions) {
+        return false;
+    }
+}
@@ -0,0 +1,307 @@
+package builder.world;
+
+import builder.GameState;
+import builder.entities.tiles.Tile;
+
+import engine.EngineState;
+import engine.game.Entity;
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A world for maps larger than the window, split into square chunks of {@link #CHUNK_SIZE} by
+ * {@link #CHUNK_SIZE} tiles that are streamed in from a {@link ChunkSource} around the player.
+ *
+ * <p>Each tick, the chunks within a radius of the player's chunk (large enough to cover the window)
+ * are loaded and every other chunk is evicted. Only loaded chunks are ticked, rendered and returned
+ * by {@link #allTiles()}, {@link #tileSelector(Predicate)} and {@link #tilesWithStacked(Class)}. A
+ * query for a position in a chunk that is not loaded (e.g. {@link #tilesAtPosition(int, int,
+ * Dimensions)} or {@link #place(Tile)}) loads that chunk on demand.
+ *
+ * <p>Evicted chunks that have been entered by the player or changed since they were loaded are
+ * first offered back to the source (see {@link ChunkSource#save(int, int, int, int, List,
+ * Dimensions)}). If the source cannot represent them, e.g. a map file cannot describe planted
+ * cabbages, they are kept aside (without being ticked) and restored when they are loaded again.
+ * Untouched chunks are dropped and read from the source again when needed.
+ *
+ * <p>Each chunk is a {@link BeanWorld}, so lookups within a chunk use its grid index.
+ */
+public class ChunkedWorld implements GameWorld {
+
+    /** The width and height of a chunk in tiles. */
+    public static final int CHUNK_SIZE = 16;
+
+    private final ChunkSource source;
+    private final Dimensions dimensions;
+
+    /** The number of chunks loaded on each side of the player's chunk. */
+    private final int radius;
+
+    /** Chunks currently loaded, keyed by {@link #key(int, int)}. */
+    private final Map<Long, Chunk> loaded = new HashMap<>();
+
+    /** Evicted chunks that must not be re-read from the source, keyed by {@link #key(int, int)}. */
+    private final Map<Long, Chunk> parked = new HashMap<>();
+
+    /**
+     * Construct a new world streaming its tiles from the given source. No chunks are loaded until
+     * they are first needed.
+     *
+     * @param source The source of the world's tiles.
+     * @param dimensions The dimensions of the window, used to position tiles and to decide how
+     *     many chunks to keep loaded around the player.
+     */
+    public ChunkedWorld(ChunkSource source, Dimensions dimensions) {
+        this.source = source;
+        this.dimensions = dimensions;
+        int windowTiles = dimensions.windowSize() / dimensions.tileSize();
+        // enough chunks to cover half the window either side, plus one so chunks are loaded before
+        // they scroll into view
+        this.radius = (windowTiles + 2 * CHUNK_SIZE - 1) / (2 * CHUNK_SIZE) + 1;
+    }
+
+    /**
+     * The width of the whole world in pixels.
+     *
+     * @return The number of columns of tiles multiplied by the tile size.
+     */
+    public int getWidth() {
+        return source.getColumns() * dimensions.tileSize();
+    }
+
+    /**
+     * The height of the whole world in pixels.
+     *
+     * @return The number of rows of tiles multiplied by the tile size.
+     */
+    public int getHeight() {
+        return source.getRows() * dimensions.tileSize();
+    }
+
+    /**
+     * The number of chunks currently loaded.
+     *
+     * @return The number of loaded chunks.
+     */
+    public int getLoadedChunkCount() {
+        return loaded.size();
+    }
+
+    /**
+     * The number of grid cells indexed by the loaded chunks, for each chunk the cells covered by
+     * its tile index plus those covered by its walkability bitmap.
+     *
+     * @return The total number of cells indexed.
+     */
+    public int getIndexedCellCount() {
+        int cells = 0;
+        for (Chunk chunk : loaded.values()) {
+            cells += chunk.world.getIndexedCellCount();
+        }
+        return cells;
+    }
+
+    /**
+     * Whether the chunk containing the given pixel position is currently loaded.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @return true if the chunk is loaded, false otherwise.
+     */
+    public boolean isLoaded(int x, int y) {
+        return loaded.containsKey(key(chunkOf(x), chunkOf(y)));
+    }
+
+    /**
+     * Load every chunk within the streaming radius of the given position and evict all others.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels, usually the player's.
+     * @param y The y-axis (vertical) coordinate in pixels, usually the player's.
+     */
+    public void streamAround(int x, int y) {
+        int centreColumn = chunkOf(x);
+        int centreRow = chunkOf(y);
+        int lastColumn = Math.max(0, (source.getColumns() - 1) / CHUNK_SIZE);
+        int lastRow = Math.max(0, (source.getRows() - 1) / CHUNK_SIZE);
+        int fromColumn = Math.max(0, centreColumn - radius);
+        int toColumn = Math.min(lastColumn, centreColumn + radius);
+        int fromRow = Math.max(0, centreRow - radius);
+        int toRow = Math.min(lastRow, centreRow + radius);
+
+        List<Long> evicted = new ArrayList<>();
+        for (Map.Entry<Long, Chunk> entry : loaded.entrySet()) {
+            Chunk chunk = entry.getValue();
+            if (chunk.column < fromColumn || chunk.column > toColumn
+                    || chunk.row < fromRow || chunk.row > toRow) {
+                evicted.add(entry.getKey());
+            }
+        }
+        for (long key : evicted) {
+            Chunk chunk = loaded.remove(key);
+            if (chunk.isChanged() && !save(chunk)) {
+                parked.put(key, chunk);
+            }
+        }
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                chunkAt(column, row);
+            }
+        }
+        Chunk centre = loaded.get(key(centreColumn, centreRow));
+        if (centre != null) {
+            centre.visited = true;
+        }
+    }
+
+    @Override
+    public List<Tile> tilesAtPosition(int x, int y, Dimensions dimensions) {
+        return chunkAt(chunkOf(x), chunkOf(y)).world.tilesAtPosition(x, y, dimensions);
+    }
+
+    @Override
+    public boolean isWalkable(int x, int y, Dimensions dimensions) {
+        return chunkAt(chunkOf(x), chunkOf(y)).world.isWalkable(x, y, dimensions);
+    }
+
+    @Override
+    public List<Tile> tileSelector(Predicate<Tile> filter) {
+        List<Tile> result = new ArrayList<>();
+        for (Chunk chunk : loaded.values()) {
+            result.addAll(chunk.world.tileSelector(filter));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Tile> tilesWithStacked(Class<? extends Entity> type) {
+        List<Tile> result = new ArrayList<>();
+        for (Chunk chunk : loaded.values()) {
+            result.addAll(chunk.world.tilesWithStacked(type));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Tile> allTiles() {
+        List<Tile> result = new ArrayList<>();
+        for (Chunk chunk : loaded.values()) {
+            result.addAll(chunk.world.allTiles());
+        }
+        return result;
+    }
+
+    /**
+     * Place the given tile into the chunk containing it, loading that chunk if needed.
+     *
+     * @param tile The tile to place in the world.
+     */
+    @Override
+    public void place(Tile tile) {
+        chunkAt(chunkOf(tile.getX()), chunkOf(tile.getY())).world.place(tile);
+    }
+
+    /**
+     * Progress the state of the world. The chunks around the player are streamed in (see {@link
+     * #streamAround(int, int)}) and then every loaded chunk is ticked.
+     *
+     * @param state The state of the engine, including the mouse, keyboard information and
+     *     dimension. Useful for processing keyboard presses or mouse movement.
+     * @param game The state of the game, including the player and world. Can be used to query or
+     *     update the game state.
+     */
+    @Override
+    public void tick(EngineState state, GameState game) {
+        streamAround(game.getPlayer().getX(), game.getPlayer().getY());
+        for (Chunk chunk : new ArrayList<>(loaded.values())) {
+            chunk.world.tick(state, game);
+        }
+    }
+
+    /**
+     * A collection of items to render, every tile of every loaded chunk.
+     *
+     * @return The renderables of all loaded tiles.
+     */
+    @Override
+    public List<Renderable> render() {
+        List<Renderable> renderables = new ArrayList<>();
+        for (Chunk chunk : loaded.values()) {
+            renderables.addAll(chunk.world.render());
+        }
+        return renderables;
+    }
+
+    /** Return the chunk at the given chunk coordinates, loading or restoring it if needed. */
+    private Chunk chunkAt(int column, int row) {
+        long key = key(column, row);
+        Chunk chunk = loaded.get(key);
+        if (chunk != null) {
+            return chunk;
+        }
+        chunk = parked.remove(key);
+        if (chunk == null) {
+            List<Tile> tiles;
+            try {
+                tiles = source.load(
+                        column * CHUNK_SIZE, row * CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE, dimensions);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            chunk = new Chunk(column, row, WorldBuilder.fromTiles(dimensions, tiles));
+        }
+        loaded.put(key, chunk);
+        return chunk;
+    }
+
+    /** Offer the tiles of the given chunk back to the source, returning whether it stored them. */
+    private boolean save(Chunk chunk) {
+        return source.save(
+                chunk.column * CHUNK_SIZE,
+                chunk.row * CHUNK_SIZE,
+                CHUNK_SIZE,
+                CHUNK_SIZE,
+                chunk.world.allTiles(),
+                dimensions);
+    }
+
+    private int chunkOf(int pixel) {
+        return Math.floorDiv(dimensions.pixelToTile(pixel), CHUNK_SIZE);
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    /** A loaded square of tiles and whether it holds changes that must survive eviction. */
+    private static class Chunk {
+        private final int column;
+        private final int row;
+        private final BeanWorld world;
+
+        /** The modification count of the world when it was loaded from the source. */
+        private final int pristine;
+
+        /** Whether the player has entered this chunk. */
+        private boolean visited = false;
+
+        private Chunk(int column, int row, BeanWorld world) {
+            this.column = column;
+            this.row = row;
+            this.world = world;
+            this.pristine = world.getModificationCount();
+        }
+
+        private boolean isChanged() {
+            return visited || world.getModificationCount() != pristine;
+        }
+    }
+}
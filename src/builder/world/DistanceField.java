@@ -0,0 +1,291 @@
+package builder.world;
+
+import builder.entities.tiles.Tile;
+
+import java.util.Arrays;
+
+/**
+ * A grid distance field recording, for every cell of the world, the nearest source cell.
+ *
+ * <p>Sources are the cells holding a tile of interest (e.g. tiles with a cabbage stacked on them).
+ * The field is computed with a multi-source brushfire (breadth-first propagation over the eight
+ * neighbouring cells) in which each cell stores the source it is closest to, by straight-line
+ * distance between cells. Once computed, the nearest source to any cell is a single array lookup.
+ *
+ * <p>The field is updated incrementally: adding a source only propagates through the cells that
+ * become closer to it, and removing a source only recomputes the cells that were closest to it.
+ */
+class DistanceField {
+
+    /** Marker for a cell with no reachable source. */
+    private static final int NONE = -1;
+
+    private final int baseColumn;
+    private final int baseRow;
+    private final int columns;
+    private final int rows;
+
+    /** The cell index of the nearest source of each cell, or {@link #NONE}. */
+    private final int[] nearest;
+
+    /** The source tile of each source cell, null for cells that are not sources. */
+    private final Tile[] sources;
+
+    private final IntQueue queue = new IntQueue();
+
+    /**
+     * Construct a new field with no sources covering the given rectangle of cells. Cells are given
+     * to every method by their column and row in the world, not within the rectangle.
+     *
+     * @param baseColumn The first column covered, e.g. {@link TileIndex#getBaseColumn()}.
+     * @param baseRow The first row covered, e.g. {@link TileIndex#getBaseRow()}.
+     * @param columns The number of columns in the grid.
+     * @param rows The number of rows in the grid.
+     */
+    DistanceField(int baseColumn, int baseRow, int columns, int rows) {
+        this.baseColumn = baseColumn;
+        this.baseRow = baseRow;
+        this.columns = columns;
+        this.rows = rows;
+        this.nearest = new int[columns * rows];
+        this.sources = new Tile[columns * rows];
+        Arrays.fill(nearest, NONE);
+    }
+
+    /**
+     * The first column covered by the field.
+     *
+     * @return The column of the leftmost cell covered.
+     */
+    int getBaseColumn() {
+        return baseColumn;
+    }
+
+    /**
+     * The first row covered by the field.
+     *
+     * @return The row of the topmost cell covered.
+     */
+    int getBaseRow() {
+        return baseRow;
+    }
+
+    /**
+     * The number of columns covered by the field.
+     *
+     * @return The number of columns.
+     */
+    int getColumns() {
+        return columns;
+    }
+
+    /**
+     * The number of rows covered by the field.
+     *
+     * @return The number of rows.
+     */
+    int getRows() {
+        return rows;
+    }
+
+    /**
+     * Mark the given cell as a source without propagating. Call {@link #propagate()} once all
+     * initial sources have been seeded.
+     *
+     * @param column The column of the source cell.
+     * @param row The row of the source cell.
+     * @param tile The tile to report as nearest for cells closest to this source.
+     */
+    void seed(int column, int row, Tile tile) {
+        column -= baseColumn;
+        row -= baseRow;
+        if (!contains(column, row)) {
+            return;
+        }
+        int cell = row * columns + column;
+        sources[cell] = tile;
+        nearest[cell] = cell;
+        queue.push(cell);
+    }
+
+    /** Propagate all seeded sources through the field. */
+    void propagate() {
+        while (!queue.isEmpty()) {
+            int cell = queue.pop();
+            int source = nearest[cell];
+            if (source == NONE) {
+                continue;
+            }
+            int column = cell % columns;
+            int row = cell / columns;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    offer(column + dx, row + dy, source);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a source to the field, updating every cell that is now closer to it.
+     *
+     * @param column The column of the source cell.
+     * @param row The row of the source cell.
+     * @param tile The tile to report as nearest for cells closest to this source.
+     */
+    void addSource(int column, int row, Tile tile) {
+        seed(column, row, tile);
+        propagate();
+    }
+
+    /**
+     * Change the tile reported for an existing source cell without changing the field.
+     *
+     * @param column The column of the source cell.
+     * @param row The row of the source cell.
+     * @param tile The tile to report as nearest for cells closest to this source.
+     */
+    void replaceSource(int column, int row, Tile tile) {
+        column -= baseColumn;
+        row -= baseRow;
+        if (contains(column, row)) {
+            sources[row * columns + column] = tile;
+        }
+    }
+
+    /**
+     * Remove a source from the field, recomputing the cells that were closest to it.
+     *
+     * @param column The column of the source cell.
+     * @param row The row of the source cell.
+     */
+    void removeSource(int column, int row) {
+        column -= baseColumn;
+        row -= baseRow;
+        if (!contains(column, row)) {
+            return;
+        }
+        int removed = row * columns + column;
+        if (sources[removed] == null) {
+            return;
+        }
+        sources[removed] = null;
+
+        // clear the region owned by the removed source, it is connected through its owner
+        IntQueue region = new IntQueue();
+        nearest[removed] = NONE;
+        region.push(removed);
+        IntQueue cleared = new IntQueue();
+        while (!region.isEmpty()) {
+            int cell = region.pop();
+            cleared.push(cell);
+            int cellColumn = cell % columns;
+            int cellRow = cell / columns;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int neighbour = indexOf(cellColumn + dx, cellRow + dy);
+                    if (neighbour != NONE && nearest[neighbour] == removed) {
+                        nearest[neighbour] = NONE;
+                        region.push(neighbour);
+                    }
+                }
+            }
+        }
+
+        // refill the region from the surrounding cells that still have a source
+        while (!cleared.isEmpty()) {
+            int cell = cleared.pop();
+            int cellColumn = cell % columns;
+            int cellRow = cell / columns;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int neighbour = indexOf(cellColumn + dx, cellRow + dy);
+                    if (neighbour != NONE && nearest[neighbour] != NONE) {
+                        queue.push(neighbour);
+                    }
+                }
+            }
+        }
+        propagate();
+    }
+
+    /**
+     * Return the source tile nearest to the given cell. Cells outside the field are clamped to the
+     * closest cell inside it.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @return The nearest source tile, or null if there are no sources.
+     */
+    Tile nearest(int column, int row) {
+        if (columns == 0 || rows == 0) {
+            return null;
+        }
+        int clampedColumn = Math.max(0, Math.min(columns - 1, column - baseColumn));
+        int clampedRow = Math.max(0, Math.min(rows - 1, row - baseRow));
+        int source = nearest[clampedRow * columns + clampedColumn];
+        return source == NONE ? null : sources[source];
+    }
+
+    /** Offer the given source to a cell, queueing the cell if the source is closer than its own. */
+    private void offer(int column, int row, int source) {
+        int cell = indexOf(column, row);
+        if (cell == NONE) {
+            return;
+        }
+        int current = nearest[cell];
+        if (current == NONE || distance(cell, source) < distance(cell, current)) {
+            nearest[cell] = source;
+            queue.push(cell);
+        }
+    }
+
+    /** Squared straight-line distance between two cells. */
+    private long distance(int from, int to) {
+        long dx = from % columns - to % columns;
+        long dy = from / columns - to / columns;
+        return dx * dx + dy * dy;
+    }
+
+    private int indexOf(int column, int row) {
+        return contains(column, row) ? row * columns + column : NONE;
+    }
+
+    private boolean contains(int column, int row) {
+        return column >= 0 && row >= 0 && column < columns && row < rows;
+    }
+
+    /** A minimal growable first-in first-out queue of cell indices. */
+    private static class IntQueue {
+        private int[] items = new int[16];
+        private int head = 0;
+        private int tail = 0;
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        void push(int item) {
+            if (tail == items.length) {
+                if (head > items.length / 2) {
+                    System.arraycopy(items, head, items, 0, tail - head);
+                } else {
+                    items = Arrays.copyOf(items, items.length * 2);
+                    System.arraycopy(items, head, items, 0, tail - head);
+                }
+                tail -= head;
+                head = 0;
+            }
+            items[tail++] = item;
+        }
+
+        int pop() {
+            int item = items[head++];
+            if (head == tail) {
+                head = 0;
+                tail = 0;
+            }
+            return item;
+        }
+    }
+}
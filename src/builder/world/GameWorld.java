@@ -0,0 +1,13 @@
+package builder.world;
+
+import builder.Tickable;
+import builder.ui.RenderableGroup;
+
+/**
+ * A world that is owned by the game: besides answering {@link World} queries, it is progressed
+ * every tick and rendered every frame.
+ *
+ * <p>{@link BeanWorld} holds every tile of a map that fits in the window, while {@link
+ * ChunkedWorld} streams the tiles of larger maps in and out around the player.
+ */
+public interface GameWorld extends World, Tickable, RenderableGroup {}
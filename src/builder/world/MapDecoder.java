@@ -0,0 +1,168 @@
+package builder.world;
+
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.TileFactory;
+
+import engine.renderer.Dimensions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the tile encoding described in {@link WorldBuilder#fromString(Dimensions, String)} from
+ * a stream of characters, constructing each tile as soon as its symbol is read.
+ *
+ * <p>The characters are read through a small fixed buffer so the encoding is never held in memory
+ * as a whole, nor split into per-line strings. Errors are reported exactly as {@link
+ * WorldBuilder#fromString(Dimensions, String)} would: a wrong number of lines takes precedence,
+ * then the first row (in order) with a wrong length or an unknown symbol. Since the number of lines
+ * is only known at the end, the first row error is remembered and thrown once the whole stream has
+ * been read. Lines may end with either {@code \n} or {@code \r\n}.
+ */
+class MapDecoder {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Dimensions dimensions;
+    private final int numberOfTiles;
+    private final List<Tile> tiles;
+
+    /** The number of lines completed so far, excluding blank lines not yet followed by a row. */
+    private int lines = 0;
+
+    /** Blank lines read since the last row, only counted if another row follows. */
+    private int blankLines = 0;
+
+    /** The number of symbols read on the current line. */
+    private int column = 0;
+
+    /** The column of the first unknown symbol on the current line, or -1. */
+    private int badColumn = -1;
+    private char badSymbol;
+
+    /** The first row error in reading order, thrown once the line count has been checked. */
+    private WorldLoadException firstError;
+
+    private MapDecoder(Dimensions dimensions) {
+        this.dimensions = dimensions;
+        this.numberOfTiles = dimensions.windowSize() / dimensions.tileSize();
+        this.tiles = new ArrayList<>(numberOfTiles * numberOfTiles);
+    }
+
+    /**
+     * Read the tile encoding from the given reader and construct the corresponding tiles.
+     *
+     * @param dimensions The dimensions of the world. The tile encoding must correspond to these
+     *     dimensions.
+     * @param reader The reader to take the encoding from. It is read to the end but not closed.
+     * @return A list of tiles, in row-major order.
+     * @throws IOException If the reader fails.
+     * @throws WorldLoadException If the encoding is invalid, see {@link
+     *     WorldBuilder#fromString(Dimensions, String)}.
+     */
+    static List<Tile> decode(Dimensions dimensions, Reader reader)
+            throws IOException, WorldLoadException {
+        MapDecoder decoder = new MapDecoder(dimensions);
+        char[] buffer = new char[BUFFER_SIZE];
+        boolean carriageReturn = false;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char next = buffer[i];
+                if (carriageReturn && next != '\n') {
+                    decoder.symbol('\r');
+                }
+                carriageReturn = next == '\r';
+                if (next == '\n') {
+                    decoder.endLine();
+                } else if (!carriageReturn) {
+                    decoder.symbol(next);
+                }
+            }
+        }
+        if (carriageReturn) {
+            decoder.symbol('\r');
+        }
+        return decoder.finish();
+    }
+
+    private void symbol(char symbol) {
+        int row = lines + blankLines;
+        int col = column++;
+        if (firstError != null || badColumn != -1 || row >= numberOfTiles || col >= numberOfTiles) {
+            return;
+        }
+        try {
+            tiles.add(TileFactory.fromSymbol(
+                    dimensions.tileToPixel(col), dimensions.tileToPixel(row), symbol));
+        } catch (IllegalArgumentException e) {
+            badColumn = col;
+            badSymbol = symbol;
+        }
+    }
+
+    private void endLine() {
+        if (column == 0) {
+            blankLines++;
+            return;
+        }
+        while (blankLines > 0) {
+            completeRow(0);
+            blankLines--;
+        }
+        completeRow(column);
+        column = 0;
+        badColumn = -1;
+    }
+
+    private void completeRow(int length) {
+        int row = lines++;
+        if (firstError != null || row >= numberOfTiles) {
+            return;
+        }
+        if (length != numberOfTiles) {
+            firstError = rowLengthError(numberOfTiles, length, row);
+        } else if (badColumn != -1) {
+            firstError = unknownSymbolError(badSymbol, row, badColumn);
+        }
+    }
+
+    private List<Tile> finish() throws WorldLoadException {
+        if (column > 0) {
+            endLine();
+        }
+        if (lines != numberOfTiles) {
+            throw lineCountError(numberOfTiles, lines);
+        }
+        if (firstError != null) {
+            throw firstError;
+        }
+        return tiles;
+    }
+
+    /** The error for an encoding with the wrong number of lines. */
+    static WorldLoadException lineCountError(int numberOfTiles, int lines) {
+        return new WorldLoadException(
+                "Expected "
+                        + numberOfTiles
+                        + " lines to match the given dimensions but got "
+                        + lines);
+    }
+
+    /** The error for a row of the wrong length. */
+    static WorldLoadException rowLengthError(int numberOfTiles, int length, int row) {
+        return new WorldLoadException(
+                "Expected "
+                        + numberOfTiles
+                        + " characters to match the given dimensions but got "
+                        + length,
+                row);
+    }
+
+    /** The error for a symbol that does not correspond to a tile. */
+    static WorldLoadException unknownSymbolError(char symbol, int row, int column) {
+        return new WorldLoadException("Unknown symbol: '" + symbol + "'", row, column);
+    }
+}
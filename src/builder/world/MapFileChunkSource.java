@@ -0,0 +1,178 @@
+package builder.world;
+
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.TileFactory;
+
+import engine.renderer.Dimensions;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A chunk source reading tiles from a map file on demand.
+ *
+ * <p>The file uses the same encoding as {@link WorldBuilder#fromString(Dimensions, String)}, except
+ * that it may have any number of rows and columns as long as every row has the same length. The
+ * file is checked once when the source is constructed, recording where each row starts, after
+ * which only the bytes of the requested area are read for each chunk.
+ */
+public class MapFileChunkSource implements ChunkSource {
+
+    private final Path path;
+    private final int columns;
+
+    /** The byte offset in the file at which each row starts. */
+    private final long[] rowOffsets;
+
+    /**
+     * Construct a new source for the given map file, checking that it is a valid tile encoding.
+     *
+     * @param path The path of the map file.
+     * @throws IOException If the file doesn't exist or otherwise can't be read.
+     * @throws WorldLoadException If the file is empty, its rows are not all the same length, or
+     *     any character doesn't correspond to a tile according to {@link
+     *     TileFactory#fromSymbol(int, int, char)}.
+     */
+    public MapFileChunkSource(Path path) throws IOException, WorldLoadException {
+        this.path = path;
+
+        long[] offsets = new long[64];
+        int rows = 0;
+        int width = -1;
+        boolean[] checked = new boolean[256];
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            long offset = 0;
+            long rowStart = 0;
+            int column = 0;
+            while (true) {
+                int next = in.read();
+                if (next == '\r') {
+                    // tolerate \r\n line endings, but a \r anywhere else would misalign the row
+                    offset++;
+                    next = in.read();
+                    if (next != '\n' && next != -1) {
+                        throw new WorldLoadException(
+                                "Unexpected carriage return", rows, column);
+                    }
+                }
+                if (next == -1 || next == '\n') {
+                    // a trailing new line at the end of the file does not start another row
+                    if (next == '\n' || column > 0) {
+                        if (width == -1) {
+                            width = column;
+                        } else if (column != width) {
+                            throw new WorldLoadException(
+                                    "Expected " + width + " characters to match the first line"
+                                            + " but got " + column,
+                                    rows);
+                        }
+                        if (rows == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, rows * 2);
+                        }
+                        offsets[rows++] = rowStart;
+                    }
+                    if (next == -1) {
+                        break;
+                    }
+                    offset++;
+                    column = 0;
+                    rowStart = offset;
+                    continue;
+                }
+                if (!checked[next]) {
+                    try {
+                        TileFactory.fromSymbol(0, 0, (char) next);
+                    } catch (IllegalArgumentException e) {
+                        throw new WorldLoadException(
+                                "Unknown symbol: '" + (char) next + "'", rows, column);
+                    }
+                    checked[next] = true;
+                }
+                offset++;
+                column++;
+            }
+        }
+        if (rows == 0 || width == 0) {
+            throw new WorldLoadException("Expected at least one line of tiles but got none");
+        }
+        this.columns = width;
+        this.rowOffsets = Arrays.copyOf(offsets, rows);
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public int getRows() {
+        return rowOffsets.length;
+    }
+
+    @Override
+    public List<Tile> load(int column, int row, int columns, int rows, Dimensions dimensions)
+            throws IOException {
+        int firstColumn = Math.max(0, column);
+        int firstRow = Math.max(0, row);
+        int lastColumn = Math.min(this.columns, column + columns);
+        int lastRow = Math.min(getRows(), row + rows);
+        List<Tile> tiles = new ArrayList<>();
+        if (firstColumn >= lastColumn || firstRow >= lastRow) {
+            return tiles;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(lastColumn - firstColumn);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int r = firstRow; r < lastRow; r++) {
+                buffer.clear();
+                read(channel, rowOffsets[r] + firstColumn, buffer);
+                buffer.flip();
+                int tileY = dimensions.tileToPixel(r);
+                for (int c = firstColumn; c < lastColumn; c++) {
+                    char symbol = (char) buffer.get();
+                    tiles.add(TileFactory.fromSymbol(dimensions.tileToPixel(c), tileY, symbol));
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Read the raw symbols of whole rows of the map.
+     *
+     * @param row The first row to read.
+     * @param rows The number of rows to read, clipped to the end of the map.
+     * @return The symbols of the rows in row-major order, {@link #getColumns()} per row.
+     * @throws IOException If the file cannot be read.
+     */
+    byte[] readRows(int row, int rows) throws IOException {
+        int lastRow = Math.min(getRows(), row + rows);
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(0, lastRow - row) * columns);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int r = row; r < lastRow; r++) {
+                buffer.limit(buffer.position() + columns);
+                read(channel, rowOffsets[r], buffer);
+            }
+        }
+        return buffer.array();
+    }
+
+    /** Fill the remaining space of the buffer from the given position of the file. */
+    private void read(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position() - start) == -1) {
+                throw new IOException("Map file changed while it was being read: " + path);
+            }
+        }
+    }
+}
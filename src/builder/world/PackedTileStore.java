@@ -0,0 +1,294 @@
+package builder.world;
+
+import builder.entities.resources.Ore;
+import builder.entities.tiles.OreVein;
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.TileFactory;
+
+import engine.game.Entity;
+import engine.renderer.Dimensions;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A chunk source holding a whole map in memory in packed form, without any {@link Tile} objects.
+ *
+ * <p>Each cell is stored as the symbol of its tile kind (see {@link TileFactory#fromSymbol(int,
+ * int, char)}), which also records per-tile state such as whether dirt is tilled. The map is split
+ * into chunks of {@link ChunkedWorld#CHUNK_SIZE} by {@link ChunkedWorld#CHUNK_SIZE} cells and each
+ * chunk is palette compressed: it keeps the distinct symbols it contains and packs each cell as an
+ * index into that palette, using as few bits per cell as the palette needs. A uniform chunk (e.g.
+ * open water) has no cell data at all and is shared between every chunk of the same symbol, so a
+ * million tile map of mostly one kind takes little more than a reference per chunk.
+ *
+ * <p>Tiles are only constructed when a {@link ChunkedWorld} loads a chunk near the player. Changed
+ * chunks can be packed again when evicted (see {@link #save(int, int, int, int, List,
+ * Dimensions)}) as long as every tile can be described by its symbol.
+ */
+public class PackedTileStore implements ChunkSource {
+
+    private static final int CHUNK_SIZE = ChunkedWorld.CHUNK_SIZE;
+    private static final int CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+    /** The symbol of cells beyond the edge of the map in chunks along the right or bottom edge. */
+    private static final byte NONE = 0;
+
+    private final int columns;
+    private final int rows;
+    private final int chunkColumns;
+    private final PackedChunk[] chunks;
+
+    /**
+     * Construct a new store for a map of the given size with every cell empty.
+     *
+     * @param columns The width of the map in tiles.
+     * @param rows The height of the map in tiles.
+     */
+    private PackedTileStore(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.chunkColumns = (columns + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int chunkRows = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new PackedChunk[chunkColumns * chunkRows];
+    }
+
+    /**
+     * Read and pack the given map file. The file is read one band of chunks at a time, so only a
+     * band of {@link ChunkedWorld#CHUNK_SIZE} rows is ever unpacked in memory.
+     *
+     * <p>The file may be any size as long as every row has the same length, see {@link
+     * MapFileChunkSource}.
+     *
+     * @param path The path of the map file.
+     * @return A new store holding every tile of the map.
+     * @throws IOException If the file doesn't exist or otherwise can't be read.
+     * @throws WorldLoadException If the file is not a valid tile encoding.
+     */
+    public static PackedTileStore fromFile(Path path) throws IOException, WorldLoadException {
+        MapFileChunkSource source = new MapFileChunkSource(path);
+        PackedTileStore store = new PackedTileStore(source.getColumns(), source.getRows());
+        byte[] cells = new byte[CELLS];
+        for (int chunkRow = 0; chunkRow * CHUNK_SIZE < store.rows; chunkRow++) {
+            byte[] band = source.readRows(chunkRow * CHUNK_SIZE, CHUNK_SIZE);
+            int bandRows = band.length / store.columns;
+            for (int chunkColumn = 0; chunkColumn < store.chunkColumns; chunkColumn++) {
+                for (int cell = 0; cell < CELLS; cell++) {
+                    int row = cell / CHUNK_SIZE;
+                    int column = chunkColumn * CHUNK_SIZE + cell % CHUNK_SIZE;
+                    cells[cell] = row < bandRows && column < store.columns
+                            ? band[row * store.columns + column]
+                            : NONE;
+                }
+                store.chunks[chunkRow * store.chunkColumns + chunkColumn] =
+                        PackedChunk.pack(cells);
+            }
+        }
+        return store;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Return the symbol of the tile stored in the given cell.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @return The symbol of the tile kind in the cell.
+     * @throws IndexOutOfBoundsException If the cell is outside the map.
+     */
+    public char symbolAt(int column, int row) {
+        if (column < 0 || row < 0 || column >= columns || row >= rows) {
+            throw new IndexOutOfBoundsException("Cell " + column + ", " + row + " is not in map");
+        }
+        return (char) chunkOf(column, row).symbolAt(cellOf(column, row));
+    }
+
+    @Override
+    public List<Tile> load(int column, int row, int columns, int rows, Dimensions dimensions) {
+        int lastColumn = Math.min(this.columns, column + columns);
+        int lastRow = Math.min(this.rows, row + rows);
+        List<Tile> tiles = new ArrayList<>();
+        for (int r = Math.max(0, row); r < lastRow; r++) {
+            int tileY = dimensions.tileToPixel(r);
+            for (int c = Math.max(0, column); c < lastColumn; c++) {
+                int tileX = dimensions.tileToPixel(c);
+                tiles.add(TileFactory.fromSymbol(tileX, tileY, symbolAt(c, r)));
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Pack the tiles of the given area back into the store.
+     *
+     * <p>The tiles can only be stored if every cell of the area within the map holds exactly one
+     * tile (ignoring tiles marked for removal) with a symbol, and no tile has anything stacked on
+     * it other than the untouched ore of an ore vein. Otherwise the store is left unchanged.
+     */
+    @Override
+    public boolean save(
+            int column, int row, int columns, int rows, List<Tile> tiles, Dimensions dimensions) {
+        int firstColumn = Math.max(0, column);
+        int firstRow = Math.max(0, row);
+        int width = Math.min(this.columns, column + columns) - firstColumn;
+        int height = Math.min(this.rows, row + rows) - firstRow;
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+
+        byte[] symbols = new byte[width * height];
+        for (Tile tile : tiles) {
+            if (tile.isMarkedForRemoval()) {
+                continue;
+            }
+            int c = dimensions.pixelToTile(tile.getX()) - firstColumn;
+            int r = dimensions.pixelToTile(tile.getY()) - firstRow;
+            if (c < 0 || r < 0 || c >= width || r >= height
+                    || symbols[r * width + c] != NONE
+                    || !isPackable(tile)) {
+                return false;
+            }
+            symbols[r * width + c] = (byte) TileFactory.symbolOf(tile);
+        }
+        for (byte symbol : symbols) {
+            if (symbol == NONE) {
+                return false;
+            }
+        }
+
+        for (int chunkRow = firstRow / CHUNK_SIZE;
+                chunkRow <= (firstRow + height - 1) / CHUNK_SIZE;
+                chunkRow++) {
+            for (int chunkColumn = firstColumn / CHUNK_SIZE;
+                    chunkColumn <= (firstColumn + width - 1) / CHUNK_SIZE;
+                    chunkColumn++) {
+                int index = chunkRow * chunkColumns + chunkColumn;
+                byte[] cells = chunks[index].unpack();
+                for (int cell = 0; cell < CELLS; cell++) {
+                    int c = chunkColumn * CHUNK_SIZE + cell % CHUNK_SIZE - firstColumn;
+                    int r = chunkRow * CHUNK_SIZE + cell / CHUNK_SIZE - firstRow;
+                    if (c >= 0 && r >= 0 && c < width && r < height) {
+                        cells[cell] = symbols[r * width + c];
+                    }
+                }
+                chunks[index] = PackedChunk.pack(cells);
+            }
+        }
+        return true;
+    }
+
+    /** Whether the tile is fully described by its symbol. */
+    private static boolean isPackable(Tile tile) {
+        try {
+            TileFactory.symbolOf(tile);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (tile instanceof OreVein vein) {
+            return tile.getStackedCount() == 1
+                    && tile.firstOf(Entity.class) == vein.getOre()
+                    && vein.getOre().getCoins() == Ore.COIN_VALUE;
+        }
+        return tile.isEmpty();
+    }
+
+    private PackedChunk chunkOf(int column, int row) {
+        return chunks[row / CHUNK_SIZE * chunkColumns + column / CHUNK_SIZE];
+    }
+
+    private static int cellOf(int column, int row) {
+        return row % CHUNK_SIZE * CHUNK_SIZE + column % CHUNK_SIZE;
+    }
+
+    /** The cells of one chunk as a palette of symbols and bit-packed palette indices. */
+    private static final class PackedChunk {
+
+        /** Shared chunks made of a single symbol, indexed by that symbol. */
+        private static final PackedChunk[] UNIFORM = new PackedChunk[256];
+
+        static {
+            for (int symbol = 0; symbol < UNIFORM.length; symbol++) {
+                UNIFORM[symbol] = new PackedChunk(new byte[] {(byte) symbol}, 0, null);
+            }
+        }
+
+        /** The distinct symbols in the chunk. */
+        private final byte[] palette;
+
+        /** The number of bits per cell, 0 for a uniform chunk. */
+        private final int bits;
+
+        /** The palette index of each cell, packed {@link #bits} at a time, null if uniform. */
+        private final long[] data;
+
+        private PackedChunk(byte[] palette, int bits, long[] data) {
+            this.palette = palette;
+            this.bits = bits;
+            this.data = data;
+        }
+
+        /** Pack the given row-major symbols of a chunk. */
+        static PackedChunk pack(byte[] cells) {
+            int[] lookup = new int[256];
+            byte[] palette = new byte[0];
+            for (byte symbol : cells) {
+                if (lookup[symbol & 0xFF] == 0) {
+                    palette = Arrays.copyOf(palette, palette.length + 1);
+                    palette[palette.length - 1] = symbol;
+                    lookup[symbol & 0xFF] = palette.length;
+                }
+            }
+            if (palette.length == 1) {
+                return UNIFORM[palette[0] & 0xFF];
+            }
+
+            int bits = 32 - Integer.numberOfLeadingZeros(palette.length - 1);
+            long[] data = new long[(CELLS * bits + Long.SIZE - 1) / Long.SIZE];
+            for (int cell = 0; cell < CELLS; cell++) {
+                long value = lookup[cells[cell] & 0xFF] - 1;
+                int bit = cell * bits;
+                int word = bit / Long.SIZE;
+                int shift = bit % Long.SIZE;
+                data[word] |= value << shift;
+                if (shift + bits > Long.SIZE) {
+                    data[word + 1] |= value >>> (Long.SIZE - shift);
+                }
+            }
+            return new PackedChunk(palette, bits, data);
+        }
+
+        byte symbolAt(int cell) {
+            if (bits == 0) {
+                return palette[0];
+            }
+            int bit = cell * bits;
+            int word = bit / Long.SIZE;
+            int shift = bit % Long.SIZE;
+            long value = data[word] >>> shift;
+            if (shift + bits > Long.SIZE) {
+                value |= data[word + 1] << (Long.SIZE - shift);
+            }
+            return palette[(int) (value & ((1L << bits) - 1))];
+        }
+
+        byte[] unpack() {
+            byte[] cells = new byte[CELLS];
+            for (int cell = 0; cell < CELLS; cell++) {
+                cells[cell] = symbolAt(cell);
+            }
+            return cells;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package builder.world;
+
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.TileFactory;
+
+import engine.renderer.Dimensions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes the tile encoding described in {@link WorldBuilder#fromString(Dimensions, String)} by
+ * splitting its rows across a fork-join pool.
+ *
+ * <p>The line breaks are found in a single pass first, which is cheap compared to constructing
+ * tiles, and settles the line count error up front. The rows are then split in halves until each
+ * task has at most {@link #ROWS_PER_TASK} rows, and each task constructs the tiles of its rows
+ * straight into their row-major slots of a shared array, so no merging is needed.
+ *
+ * <p>Each task returns the first error among its rows and the two halves of a split combine by
+ * preferring the lower half, so the error thrown is always the one {@link MapDecoder} would throw:
+ * the lowest invalid row, with a wrong length taking precedence over the lowest unknown symbol in
+ * that row. Once an error has been found, rows after it are skipped.
+ */
+class ParallelMapDecoder {
+
+    /** The number of rows below which a task decodes its rows rather than splitting them. */
+    private static final int ROWS_PER_TASK = 4;
+
+    private final Dimensions dimensions;
+    private final int numberOfTiles;
+    private final String text;
+
+    /** The start and (exclusive) end index of each row within the text. */
+    private final int[] starts;
+    private final int[] ends;
+
+    private final Tile[] tiles;
+
+    /** The lowest row known to be invalid, so that tasks can skip the rows after it. */
+    private final AtomicInteger firstErrorRow = new AtomicInteger(Integer.MAX_VALUE);
+
+    private ParallelMapDecoder(Dimensions dimensions, String text) {
+        this.dimensions = dimensions;
+        this.numberOfTiles = dimensions.windowSize() / dimensions.tileSize();
+        this.text = text;
+        this.starts = new int[numberOfTiles];
+        this.ends = new int[numberOfTiles];
+        this.tiles = new Tile[numberOfTiles * numberOfTiles];
+    }
+
+    /**
+     * Decode the given tile encoding, constructing its tiles on the given pool.
+     *
+     * @param dimensions The dimensions of the world. The tile encoding must correspond to these
+     *     dimensions.
+     * @param text The text encoding of a world.
+     * @param pool The pool to construct tiles on.
+     * @return A list of tiles, in row-major order.
+     * @throws WorldLoadException If the encoding is invalid, see {@link
+     *     WorldBuilder#fromString(Dimensions, String)}.
+     */
+    static List<Tile> decode(Dimensions dimensions, String text, ForkJoinPool pool)
+            throws WorldLoadException {
+        ParallelMapDecoder decoder = new ParallelMapDecoder(dimensions, text);
+        int lines = decoder.findRows();
+        if (lines != decoder.numberOfTiles) {
+            throw MapDecoder.lineCountError(decoder.numberOfTiles, lines);
+        }
+        WorldLoadException error = pool.invoke(decoder.new RowTask(0, lines));
+        if (error != null) {
+            throw error;
+        }
+        return new ArrayList<>(Arrays.asList(decoder.tiles));
+    }
+
+    /**
+     * Record where each of the first rows starts and ends, treating {@code \r\n} as a line break.
+     *
+     * @return The number of lines, ignoring trailing blank lines.
+     */
+    private int findRows() {
+        int lines = 0;
+        int line = 0;
+        int start = 0;
+        while (start < text.length()) {
+            int newline = text.indexOf('\n', start);
+            int end = newline == -1 ? text.length() : newline;
+            if (newline != -1 && end > start && text.charAt(end - 1) == '\r') {
+                end--;
+            }
+            if (line < numberOfTiles) {
+                starts[line] = start;
+                ends[line] = end;
+            }
+            line++;
+            if (end > start) {
+                lines = line;
+            }
+            if (newline == -1) {
+                break;
+            }
+            start = newline + 1;
+        }
+        return lines;
+    }
+
+    /**
+     * Construct the tiles of the given rows.
+     *
+     * @return The first error in the rows, or null if they are all valid.
+     */
+    private WorldLoadException decodeRows(int from, int to) {
+        for (int row = from; row < to; row++) {
+            if (row > firstErrorRow.get()) {
+                return null; // a lower row is already invalid
+            }
+            WorldLoadException error = decodeRow(row);
+            if (error != null) {
+                firstErrorRow.accumulateAndGet(row, Math::min);
+                return error;
+            }
+        }
+        return null;
+    }
+
+    private WorldLoadException decodeRow(int row) {
+        int length = ends[row] - starts[row];
+        if (length != numberOfTiles) {
+            return MapDecoder.rowLengthError(numberOfTiles, length, row);
+        }
+        int y = dimensions.tileToPixel(row);
+        for (int col = 0; col < numberOfTiles; col++) {
+            char symbol = text.charAt(starts[row] + col);
+            try {
+                tiles[row * numberOfTiles + col] =
+                        TileFactory.fromSymbol(dimensions.tileToPixel(col), y, symbol);
+            } catch (IllegalArgumentException e) {
+                return MapDecoder.unknownSymbolError(symbol, row, col);
+            }
+        }
+        return null;
+    }
+
+    /** Decodes a range of rows, returning the first error among them. */
+    private class RowTask extends RecursiveTask<WorldLoadException> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private RowTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected WorldLoadException compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                return decodeRows(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            RowTask lower = new RowTask(from, middle);
+            lower.fork();
+            WorldLoadException upperError = new RowTask(middle, to).compute();
+            WorldLoadException lowerError = lower.join();
+            return lowerError != null ? lowerError : upperError;
+        }
+    }
+}
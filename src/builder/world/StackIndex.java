@@ -0,0 +1,90 @@
+package builder.world;
+
+import builder.entities.tiles.Tile;
+
+import engine.game.Entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index from the type of stacked entities to the tiles they are stacked on.
+ *
+ * <p>For each concrete entity class, the index records every tile that currently has at least one
+ * entity of that class stacked on it (and how many). The index is kept up to date through {@link
+ * builder.entities.tiles.TileListener} events so that queries such as "all tiles with a cabbage"
+ * do not need to scan the world.
+ */
+class StackIndex {
+
+    /** Tiles (in the order they gained the entity) and stacked counts per concrete class. */
+    private final Map<Class<?>, LinkedHashMap<Tile, Integer>> tilesByType = new HashMap<>();
+
+    /**
+     * Record that the given entity is stacked on the given tile.
+     *
+     * @param tile The tile the entity is stacked on.
+     * @param entity The stacked entity.
+     */
+    void add(Tile tile, Entity entity) {
+        tilesByType
+                .computeIfAbsent(entity.getClass(), type -> new LinkedHashMap<>())
+                .merge(tile, 1, Integer::sum);
+    }
+
+    /**
+     * Record that the given entity is no longer stacked on the given tile.
+     *
+     * @param tile The tile the entity was stacked on.
+     * @param entity The entity that was removed.
+     */
+    void remove(Tile tile, Entity entity) {
+        LinkedHashMap<Tile, Integer> tiles = tilesByType.get(entity.getClass());
+        if (tiles == null) {
+            return;
+        }
+        tiles.computeIfPresent(tile, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Whether the given tile has at least one entity of the given type (or a subtype) stacked on
+     * it.
+     *
+     * @param tile The tile to check.
+     * @param type The type of stacked entity to look for.
+     * @return true if such an entity is stacked on the tile, false otherwise.
+     */
+    boolean has(Tile tile, Class<? extends Entity> type) {
+        for (Map.Entry<Class<?>, LinkedHashMap<Tile, Integer>> entry : tilesByType.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey()) && entry.getValue().containsKey(tile)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return every tile with at least one stacked entity of the given type (or a subtype).
+     *
+     * @param type The type of stacked entity to look for.
+     * @return The tiles with such an entity stacked on them, without duplicates.
+     */
+    List<Tile> tilesWith(Class<? extends Entity> type) {
+        LinkedHashMap<Tile, Integer> exact = tilesByType.get(type);
+        Set<Tile> result = new LinkedHashSet<>();
+        if (exact != null) {
+            result.addAll(exact.keySet());
+        }
+        for (Map.Entry<Class<?>, LinkedHashMap<Tile, Integer>> entry : tilesByType.entrySet()) {
+            if (entry.getKey() != type && type.isAssignableFrom(entry.getKey())) {
+                result.addAll(entry.getValue().keySet());
+            }
+        }
+        return new ArrayList<>(result);
+    }
+}
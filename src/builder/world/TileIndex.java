@@ -0,0 +1,225 @@
+package builder.world;
+
+import java.util.Arrays;
+
+/**
+ * A grid index from tile coordinates to the tiles occupying that grid cell.
+ *
+ * <p>The index does not store tiles directly, instead each cell holds the slot numbers (positions
+ * within the owning {@link BeanWorld}'s tile storage) of the tiles in that cell. Cells are stored
+ * in a flat row-major array covering a rectangle of cells, so looking up a cell is a single array
+ * access regardless of how many tiles are in the world.
+ *
+ * <p>The rectangle starts at the cell of the first tile added (its base column and row) and grows
+ * in whichever direction later tiles need, so an index only covers the area its tiles are in. A
+ * world far from the origin, e.g. a chunk of a {@link ChunkedWorld}, does not pay for the cells
+ * between it and the origin.
+ *
+ * <p>A tile with pixel position x, y occupies the cell at column {@code x / tileSize} and row
+ * {@code y / tileSize}, matching {@link engine.renderer.Dimensions#pixelToTile(int)}.
+ */
+class TileIndex {
+
+    /** Shared result for cells that hold no tiles. */
+    private static final int[] EMPTY = new int[0];
+
+    private final int tileSize;
+    private int baseColumn = 0;
+    private int baseRow = 0;
+    private int columns = 0;
+    private int rows = 0;
+    private int[][] cells = new int[0][];
+
+    /**
+     * Construct a new empty index for tiles of the given size.
+     *
+     * @param tileSize The width and height of a tile in pixels.
+     * @requires tileSize > 0
+     */
+    TileIndex(int tileSize) {
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * The tile size (in pixels) this index was built for.
+     *
+     * @return The width and height of a tile in pixels.
+     */
+    int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * The first column covered by the index.
+     *
+     * @return The column of the leftmost cell covered.
+     */
+    int getBaseColumn() {
+        return baseColumn;
+    }
+
+    /**
+     * The first row covered by the index.
+     *
+     * @return The row of the topmost cell covered.
+     */
+    int getBaseRow() {
+        return baseRow;
+    }
+
+    /**
+     * The number of columns currently covered by the index.
+     *
+     * @return The number of columns.
+     */
+    int getColumns() {
+        return columns;
+    }
+
+    /**
+     * The number of rows currently covered by the index.
+     *
+     * @return The number of rows.
+     */
+    int getRows() {
+        return rows;
+    }
+
+    /**
+     * Convert a pixel coordinate into a tile coordinate.
+     *
+     * @param pixel The pixel coordinate along either axis.
+     * @return The tile coordinate along the same axis.
+     */
+    int toCell(int pixel) {
+        return pixel / tileSize;
+    }
+
+    /**
+     * Record that the tile stored in the given slot occupies the given cell.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @param slot The slot holding the tile.
+     */
+    void add(int column, int row, int slot) {
+        ensureCovers(column, row);
+        int cell = cellOf(column, row);
+        int[] slots = cells[cell];
+        if (slots == null) {
+            cells[cell] = new int[] {slot};
+            return;
+        }
+        int[] grown = Arrays.copyOf(slots, slots.length + 1);
+        grown[slots.length] = slot;
+        cells[cell] = grown;
+    }
+
+    /**
+     * Forget that the tile stored in the given slot occupies the given cell.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @param slot The slot holding the tile.
+     * @return true if the slot was recorded in the cell, false otherwise.
+     */
+    boolean remove(int column, int row, int slot) {
+        if (!contains(column, row)) {
+            return false;
+        }
+        int cell = cellOf(column, row);
+        int[] slots = cells[cell];
+        if (slots == null) {
+            return false;
+        }
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == slot) {
+                if (slots.length == 1) {
+                    cells[cell] = null;
+                } else {
+                    int[] shrunk = new int[slots.length - 1];
+                    System.arraycopy(slots, 0, shrunk, 0, i);
+                    System.arraycopy(slots, i + 1, shrunk, i, slots.length - i - 1);
+                    cells[cell] = shrunk;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the slots of all tiles occupying the given cell.
+     *
+     * <p>The returned array is owned by the index and must not be modified.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @return The slots of the tiles in the cell, empty if the cell is outside the index.
+     */
+    int[] slotsAt(int column, int row) {
+        if (!contains(column, row)) {
+            return EMPTY;
+        }
+        int[] slots = cells[cellOf(column, row)];
+        return slots == null ? EMPTY : slots;
+    }
+
+    /**
+     * Whether the given cell is within the area covered by the index.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @return true if the cell is covered, false otherwise.
+     */
+    boolean contains(int column, int row) {
+        return column >= baseColumn
+                && row >= baseRow
+                && column < baseColumn + columns
+                && row < baseRow + rows;
+    }
+
+    private int cellOf(int column, int row) {
+        return (row - baseRow) * columns + (column - baseColumn);
+    }
+
+    /**
+     * Grow the index so that it covers the given cell, at least doubling each axis that has to
+     * grow so that adding tiles in any order takes amortised constant time per tile.
+     */
+    private void ensureCovers(int column, int row) {
+        if (columns == 0) {
+            baseColumn = column;
+            baseRow = row;
+            columns = 1;
+            rows = 1;
+            cells = new int[1][];
+            return;
+        }
+        if (contains(column, row)) {
+            return;
+        }
+        int newBaseColumn = column < baseColumn
+                ? Math.min(column, baseColumn - columns) : baseColumn;
+        int newBaseRow = row < baseRow ? Math.min(row, baseRow - rows) : baseRow;
+        int newEndColumn = column >= baseColumn + columns
+                ? Math.max(column + 1, baseColumn + 2 * columns) : baseColumn + columns;
+        int newEndRow = row >= baseRow + rows
+                ? Math.max(row + 1, baseRow + 2 * rows) : baseRow + rows;
+        int newColumns = newEndColumn - newBaseColumn;
+        int newRows = newEndRow - newBaseRow;
+
+        int[][] grown = new int[newColumns * newRows][];
+        int shiftColumns = baseColumn - newBaseColumn;
+        int shiftRows = baseRow - newBaseRow;
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(cells, r * columns,
+                    grown, (r + shiftRows) * newColumns + shiftColumns, columns);
+        }
+        cells = grown;
+        baseColumn = newBaseColumn;
+        baseRow = newBaseRow;
+        columns = newColumns;
+        rows = newRows;
+    }
+}
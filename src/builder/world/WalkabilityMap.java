@@ -0,0 +1,116 @@
+package builder.world;
+
+/**
+ * A bitmap of which grid cells of a world cannot be walked through, one bit per cell.
+ *
+ * <p>A cell is blocked if any tile in it cannot be walked through (see {@link
+ * builder.entities.tiles.Tile#canWalkThrough()}); the owning {@link BeanWorld} updates a cell's
+ * bit whenever a tile is placed into or removed from it. Answering whether a cell can be walked
+ * through is then a single bit test. Cells outside the bitmap hold no tiles and so are walkable.
+ *
+ * <p>Cells are stored row-major in a flat array of words covering a rectangle of cells that, like
+ * {@link TileIndex}, starts at the first cell blocked and grows in whichever direction later
+ * blocked cells need.
+ */
+class WalkabilityMap {
+
+    private int baseColumn = 0;
+    private int baseRow = 0;
+    private int columns = 0;
+    private int rows = 0;
+    private long[] blocked = new long[0];
+
+    /**
+     * The number of cells covered by the bitmap.
+     *
+     * @return The number of cells a bit is stored for.
+     */
+    int getCellCount() {
+        return columns * rows;
+    }
+
+    /**
+     * Whether the given cell can be walked through.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @return true if no tile in the cell blocks movement, false otherwise.
+     */
+    boolean isWalkable(int column, int row) {
+        if (!contains(column, row)) {
+            return true;
+        }
+        int bit = bitOf(column, row);
+        return (blocked[bit >>> 6] & (1L << bit)) == 0;
+    }
+
+    /**
+     * Record whether the given cell can be walked through.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @param walkable Whether every tile in the cell can be walked through.
+     */
+    void setWalkable(int column, int row, boolean walkable) {
+        if (walkable && !contains(column, row)) {
+            return; // already walkable, no need to grow
+        }
+        ensureCovers(column, row);
+        int bit = bitOf(column, row);
+        if (walkable) {
+            blocked[bit >>> 6] &= ~(1L << bit);
+        } else {
+            blocked[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean contains(int column, int row) {
+        return column >= baseColumn
+                && row >= baseRow
+                && column < baseColumn + columns
+                && row < baseRow + rows;
+    }
+
+    private int bitOf(int column, int row) {
+        return (row - baseRow) * columns + (column - baseColumn);
+    }
+
+    /** Grow the bitmap so that it covers the given cell, keeping every recorded bit. */
+    private void ensureCovers(int column, int row) {
+        if (columns == 0) {
+            baseColumn = column;
+            baseRow = row;
+            columns = 1;
+            rows = 1;
+            blocked = new long[1];
+            return;
+        }
+        if (contains(column, row)) {
+            return;
+        }
+        int newBaseColumn = column < baseColumn
+                ? Math.min(column, baseColumn - columns) : baseColumn;
+        int newBaseRow = row < baseRow ? Math.min(row, baseRow - rows) : baseRow;
+        int newEndColumn = column >= baseColumn + columns
+                ? Math.max(column + 1, baseColumn + 2 * columns) : baseColumn + columns;
+        int newEndRow = row >= baseRow + rows
+                ? Math.max(row + 1, baseRow + 2 * rows) : baseRow + rows;
+        int newColumns = newEndColumn - newBaseColumn;
+        int newRows = newEndRow - newBaseRow;
+
+        long[] grown = new long[(newColumns * newRows + Long.SIZE - 1) / Long.SIZE];
+        for (int r = baseRow; r < baseRow + rows; r++) {
+            for (int c = baseColumn; c < baseColumn + columns; c++) {
+                if (!isWalkable(c, r)) {
+                    int bit = (r - newBaseRow) * newColumns + (c - newBaseColumn);
+                    grown[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        blocked = grown;
+        baseColumn = newBaseColumn;
+        baseRow = newBaseRow;
+        columns = newColumns;
+        rows = newRows;
+    }
+}
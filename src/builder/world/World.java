@@ -2,6 +2,7 @@ package builder.world;
 
 import builder.entities.tiles.Tile;
 
+import engine.game.Entity;
 import engine.renderer.Dimensions;
 
 import java.util.List;
@@ -40,6 +41,73 @@ public interface World {
      */
     List<Tile> tileSelector(Predicate<Tile> filter);
 
+    /**
+     * Whether the given pixel position can be walked through, i.e. every tile containing it can be
+     * walked through (see {@link Tile#canWalkThrough()}). A position without tiles can be walked
+     * through.
+     *
+     * <p>The default implementation checks every tile returned by {@link #tilesAtPosition(int,
+     * int, Dimensions)}; implementations may answer from a precomputed bitmap instead.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param dimensions The dimensions of the world.
+     * @return true if the position can be walked through, false otherwise.
+     */
+    default boolean isWalkable(int x, int y, Dimensions dimensions) {
+        for (Tile tile : tilesAtPosition(x, y, dimensions)) {
+            if (!tile.canWalkThrough()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return all tiles that have at least one entity of the given type stacked on them.
+     *
+     * <p>The default implementation scans every tile via {@link #tileSelector(Predicate)};
+     * implementations that index stacked entities should override it.
+     *
+     * <p>The order of the tiles is unspecified, any ordering is suitable.
+     *
+     * @param type The type of stacked entity to look for, subtypes also match.
+     * @return All tiles with an entity of the given type stacked on them.
+     */
+    default List<Tile> tilesWithStacked(Class<? extends Entity> type) {
+        return tileSelector(tile -> tile.firstOf(type) != null);
+    }
+
+    /**
+     * Return the tile nearest to the given pixel position that has at least one entity of the given
+     * type stacked on it.
+     *
+     * <p>The default implementation compares the straight-line distance to every tile returned by
+     * {@link #tilesWithStacked(Class)}, preferring the earliest tile on ties; implementations may
+     * instead measure between grid cells.
+     *
+     * @param type The type of stacked entity to look for, subtypes also match.
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param dimensions The dimensions of the world.
+     * @return The nearest tile with such an entity stacked on it, or null if there are none.
+     */
+    default Tile nearestWithStacked(
+            Class<? extends Entity> type, int x, int y, Dimensions dimensions) {
+        Tile closest = null;
+        long closestDistance = Long.MAX_VALUE;
+        for (Tile tile : tilesWithStacked(type)) {
+            long deltaX = tile.getX() - x;
+            long deltaY = tile.getY() - y;
+            long distance = deltaX * deltaX + deltaY * deltaY;
+            if (distance < closestDistance) {
+                closest = tile;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
     /**
      * Return all tiles in the world.
      *
@@ -5,11 +5,20 @@ import builder.entities.tiles.TileFactory;
 
 import engine.renderer.Dimensions;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Load an instance of a world from a string representation.
@@ -44,6 +53,10 @@ public class WorldBuilder {
      * tiles so there must be 32 lines of text and each line must have 32 characters. Otherwise, a
      * {@link WorldLoadException} is thrown.
      *
+     * <p>Lines may end with either {@code \n} or {@code \r\n}. If the encoding has several
+     * problems, a wrong number of lines is reported first, otherwise the first invalid row is
+     * reported.
+     *
      * @param dimensions The dimensions of the world. The tile encoding must correspond to these
      *     dimensions.
      * @param text The text encoding of a world.
@@ -57,44 +70,70 @@ public class WorldBuilder {
      */
     public static List<Tile> fromString(Dimensions dimensions, String text)
             throws WorldLoadException {
-        int numberOfTiles = dimensions.windowSize() / dimensions.tileSize();
-        String[] lines = text.split("\n");
-        final boolean lineDesync = lines.length != numberOfTiles;
-        if (lineDesync) {
-            throw new WorldLoadException(
-                    "Expected "
-                            + numberOfTiles
-                            + " lines to match the given dimensions but got "
-                            + lines.length);
+        try {
+            return MapDecoder.decode(dimensions, new StringReader(text));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // a string reader cannot fail
         }
+    }
 
-        final List<Tile> tiles = new ArrayList<>();
-        for (int row = 0; row < numberOfTiles; row++) {
-            char[] currentRow = lines[row].toCharArray();
-
-            if (currentRow.length != numberOfTiles) {
-                throw new WorldLoadException(
-                        "Expected "
-                                + numberOfTiles
-                                + " characters to match the given dimensions but got "
-                                + currentRow.length,
-                        row);
-            }
+    /**
+     * Read the encoded world text and construct the corresponding list of tiles, splitting the
+     * rows across the common fork-join pool.
+     *
+     * <p>This produces the same tiles, in the same order, as {@link #fromString(Dimensions,
+     * String)} and reports the same error for an invalid encoding, but constructs the tiles of
+     * different rows in parallel. It is worth using for maps with many tiles.
+     *
+     * @param dimensions The dimensions of the world. The tile encoding must correspond to these
+     *     dimensions.
+     * @param text The text encoding of a world.
+     * @return A list of tiles loaded from the given string.
+     * @throws WorldLoadException If the tile encoding is invalid (according to {@link
+     *     #fromString(Dimensions, String)}).
+     */
+    public static List<Tile> fromStringParallel(Dimensions dimensions, String text)
+            throws WorldLoadException {
+        return fromStringParallel(dimensions, text, ForkJoinPool.commonPool());
+    }
 
-            for (int col = 0; col < numberOfTiles; col++) {
-                int tileX = dimensions.tileToPixel(col);
-                int tileY = dimensions.tileToPixel(row);
-                char symbol = currentRow[col];
-                Tile tile;
-                try {
-                    tile = TileFactory.fromSymbol(tileX, tileY, symbol);
-                } catch (IllegalArgumentException e) {
-                    throw new WorldLoadException("Unknown symbol: '" + symbol + "'", row, col);
-                }
-                tiles.add(tile);
-            }
-        }
-        return tiles;
+    /**
+     * Read the encoded world text and construct the corresponding list of tiles, splitting the
+     * rows across the given fork-join pool.
+     *
+     * <p>See {@link #fromStringParallel(Dimensions, String)}.
+     *
+     * @param dimensions The dimensions of the world. The tile encoding must correspond to these
+     *     dimensions.
+     * @param text The text encoding of a world.
+     * @param pool The pool to construct tiles on.
+     * @return A list of tiles loaded from the given string.
+     * @throws WorldLoadException If the tile encoding is invalid (according to {@link
+     *     #fromString(Dimensions, String)}).
+     */
+    public static List<Tile> fromStringParallel(
+            Dimensions dimensions, String text, ForkJoinPool pool) throws WorldLoadException {
+        return ParallelMapDecoder.decode(dimensions, text, pool);
+    }
+
+    /**
+     * Read the encoded world from the given reader and construct the corresponding list of tiles.
+     *
+     * <p>The encoding is decoded as it is read, so the text is never held in memory as a whole.
+     * See {@link #fromString(Dimensions, String)} for a description of how the tile encoding is
+     * read and which errors are reported.
+     *
+     * @param dimensions The dimensions of the world. The tile encoding must correspond to these
+     *     dimensions.
+     * @param reader A reader containing a tile encoding. It is read to the end but not closed.
+     * @return A list of tiles loaded from the given reader.
+     * @throws IOException If the reader fails.
+     * @throws WorldLoadException If the tile encoding is invalid (according to {@link
+     *     #fromString(Dimensions, String)}).
+     */
+    public static List<Tile> fromReader(Dimensions dimensions, Reader reader)
+            throws IOException, WorldLoadException {
+        return MapDecoder.decode(dimensions, reader);
     }
 
     /**
@@ -102,7 +141,7 @@ public class WorldBuilder {
      * file.
      *
      * <p>See {@link #fromString(Dimensions, String)} for a description of how the tile encoding is
-     * read.
+     * read. The file is streamed through a buffered channel rather than read into memory first.
      *
      * @param dimensions The dimensions of the world. The tile encoding must correspond to these
      *     dimensions.
@@ -114,8 +153,64 @@ public class WorldBuilder {
      */
     public static BeanWorld fromFile(Dimensions dimensions, String filepath)
             throws IOException, WorldLoadException {
-        String text = Files.readString(Path.of(filepath));
-        return fromTiles(fromString(dimensions, text));
+        try (FileChannel channel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ);
+                Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8)) {
+            return fromTiles(dimensions, fromReader(dimensions, reader));
+        }
+    }
+
+    /**
+     * Read the provided map file and create a world for it, streaming the map in chunks if it is
+     * larger than the window.
+     *
+     * <p>A map that is wider or taller than the window (according to the dimensions) is packed into
+     * a {@link PackedTileStore} and loaded as a {@link ChunkedWorld}, which only needs every row to
+     * have the same length. Any other map is loaded by {@link #fromFile(Dimensions, String)} and so
+     * must match the window exactly. Which of the two applies is decided by a scan of the raw bytes
+     * that stops as soon as the map is known to be larger than the window, so each map is only
+     * parsed once.
+     *
+     * @param dimensions The dimensions of the window.
+     * @param filepath The path to a file containing a tile encoding.
+     * @return A new world containing, or streaming, all tiles in the specified file.
+     * @throws IOException If the file path doesn't exist or otherwise can't be read.
+     * @throws WorldLoadException If the tile encoding is invalid.
+     */
+    public static GameWorld fromFileStreamed(Dimensions dimensions, String filepath)
+            throws IOException, WorldLoadException {
+        int numberOfTiles = dimensions.windowSize() / dimensions.tileSize();
+        Path path = Path.of(filepath);
+        if (isLargerThan(path, numberOfTiles)) {
+            return new ChunkedWorld(PackedTileStore.fromFile(path), dimensions);
+        }
+        return fromFile(dimensions, filepath);
+    }
+
+    /**
+     * Whether the map in the given file has more columns in its first row, or more rows, than the
+     * given number. Only line breaks are looked at, and reading stops as soon as the answer is
+     * known, so for a large map only its first rows are read.
+     */
+    private static boolean isLargerThan(Path path, int tiles) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            int rows = 0;
+            int firstColumns = -1;
+            int column = 0;
+            int next;
+            while ((next = in.read()) != -1) {
+                if (next == '\n') {
+                    firstColumns = firstColumns == -1 ? column : firstColumns;
+                    rows++;
+                    column = 0;
+                } else if (next != '\r') {
+                    column++;
+                }
+                if ((firstColumns == -1 && column > tiles) || rows > tiles) {
+                    return true;
+                }
+            }
+            return column > 0 && rows + 1 > tiles;
+        }
     }
 
     /**
@@ -134,7 +229,22 @@ public class WorldBuilder {
      * @return A new world containing all given tiles.
      */
     public static BeanWorld fromTiles(List<Tile> tiles) {
-        BeanWorld world = new BeanWorld();
+        return populate(new BeanWorld(), tiles);
+    }
+
+    /**
+     * Construct a new world containing all the tiles in the parameter, indexed up front for the
+     * tile size of the given dimensions.
+     *
+     * @param dimensions The dimensions of the world.
+     * @param tiles Tiles to populate the world.
+     * @return A new world containing all given tiles.
+     */
+    public static BeanWorld fromTiles(Dimensions dimensions, List<Tile> tiles) {
+        return populate(new BeanWorld(dimensions), tiles);
+    }
+
+    private static BeanWorld populate(BeanWorld world, List<Tile> tiles) {
         for (Tile tile : tiles.reversed()) { // reverse so tests don't implicitly rely on order
             world.place(tile);
         }
@@ -0,0 +1,355 @@
+package builder.world;
+
+import builder.entities.resources.Cabbage;
+import builder.entities.tiles.OreVein;
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.TileFactory;
+
+import engine.game.Entity;
+import engine.renderer.Dimensions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fully built world together with the player and spawner details needed to start a game in it,
+ * which can be saved to and restored from a compact binary format.
+ *
+ * <p>Building a world from a map and a details file means parsing text (see {@link WorldBuilder}
+ * and {@link OverlayBuilder}). A snapshot records the result instead, so restoring it only reads
+ * fixed-size binary fields.
+ *
+ * <p>The format starts with the magic number {@link #MAGIC} and the format version {@link
+ * #VERSION}, followed by:
+ *
+ * <ul>
+ *   <li>the number of tiles, then for each tile (in {@link BeanWorld#allTiles()} order) its symbol
+ *       (see {@link TileFactory#symbolOf(Tile)}) and x, y position, the remaining coins of its ore
+ *       for ore veins, and the growth state of each cabbage stacked on it;
+ *   <li>the player's x, y position, starting coins and starting food; and
+ *   <li>the magpie, eagle and pigeon spawners, each list as a count followed by the x, y position
+ *       and duration of each spawner.
+ * </ul>
+ *
+ * <p>Entities other than cabbages and ore (e.g. scarecrows and bee hives) belong to the game's NPC
+ * manager rather than the world and are not recorded.
+ */
+public class WorldSnapshot {
+
+    /** The first four bytes of every snapshot, "JBWS". */
+    public static final int MAGIC = 0x4A425753;
+
+    /** The version of the format written by {@link #write(OutputStream)}. */
+    public static final int VERSION = 1;
+
+    /** The most cabbages stacked on one tile that the format can record, as it uses one byte. */
+    public static final int MAX_CABBAGES_PER_TILE = 255;
+
+    private final BeanWorld world;
+    private final PlayerDetails player;
+    private final List<SpawnerDetails> magpieSpawners;
+    private final List<SpawnerDetails> eagleSpawners;
+    private final List<SpawnerDetails> pigeonSpawners;
+
+    /**
+     * Construct a new snapshot of the given world and details.
+     *
+     * @param world The world, including any cabbages already planted.
+     * @param player The player's starting position and resources.
+     * @param magpieSpawners The details of each magpie spawner.
+     * @param eagleSpawners The details of each eagle spawner.
+     * @param pigeonSpawners The details of each pigeon spawner.
+     */
+    public WorldSnapshot(
+            BeanWorld world,
+            PlayerDetails player,
+            List<SpawnerDetails> magpieSpawners,
+            List<SpawnerDetails> eagleSpawners,
+            List<SpawnerDetails> pigeonSpawners) {
+        this.world = world;
+        this.player = player;
+        this.magpieSpawners = List.copyOf(magpieSpawners);
+        this.eagleSpawners = List.copyOf(eagleSpawners);
+        this.pigeonSpawners = List.copyOf(pigeonSpawners);
+    }
+
+    /**
+     * The world recorded by this snapshot.
+     *
+     * @return The world.
+     */
+    public BeanWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * The player details recorded by this snapshot.
+     *
+     * @return The player's starting position and resources.
+     */
+    public PlayerDetails getPlayerDetails() {
+        return player;
+    }
+
+    /**
+     * The magpie spawners recorded by this snapshot.
+     *
+     * @return The details of each magpie spawner.
+     */
+    public List<SpawnerDetails> getMagpieSpawners() {
+        return magpieSpawners;
+    }
+
+    /**
+     * The eagle spawners recorded by this snapshot.
+     *
+     * @return The details of each eagle spawner.
+     */
+    public List<SpawnerDetails> getEagleSpawners() {
+        return eagleSpawners;
+    }
+
+    /**
+     * The pigeon spawners recorded by this snapshot.
+     *
+     * @return The details of each pigeon spawner.
+     */
+    public List<SpawnerDetails> getPigeonSpawners() {
+        return pigeonSpawners;
+    }
+
+    /**
+     * Write this snapshot to the given file, replacing it if it exists.
+     *
+     * @param path The file to write to.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Write this snapshot to the given stream.
+     *
+     * @param stream The stream to write to. It is flushed but not closed.
+     * @throws IOException If the stream cannot be written to.
+     * @throws IllegalStateException If the world contains a tile without a symbol, or a tile with
+     *     more than {@link #MAX_CABBAGES_PER_TILE} cabbages stacked on it.
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        List<Tile> tiles = world.allTiles();
+        out.writeInt(tiles.size());
+        for (Tile tile : tiles) {
+            char symbol;
+            try {
+                symbol = TileFactory.symbolOf(tile);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Cannot snapshot tile " + tile, e);
+            }
+            out.writeByte(symbol);
+            out.writeInt(tile.getX());
+            out.writeInt(tile.getY());
+            if (tile instanceof OreVein vein) {
+                out.writeInt(vein.getOre().getCoins());
+            }
+            List<Cabbage> cabbages = new ArrayList<>();
+            for (Entity entity : tile.getStackedEntities()) {
+                if (entity instanceof Cabbage cabbage && !cabbage.isMarkedForRemoval()) {
+                    cabbages.add(cabbage);
+                }
+            }
+            if (cabbages.size() > MAX_CABBAGES_PER_TILE) {
+                throw new IllegalStateException("Cannot snapshot " + cabbages.size()
+                        + " cabbages on tile " + tile + ", at most " + MAX_CABBAGES_PER_TILE
+                        + " can be recorded");
+            }
+            out.writeByte(cabbages.size());
+            for (Cabbage cabbage : cabbages) {
+                out.writeByte(cabbage.getGrowthState());
+            }
+        }
+
+        out.writeInt(player.getX());
+        out.writeInt(player.getY());
+        out.writeInt(player.getStartingCoins());
+        out.writeInt(player.getStartingFood());
+
+        writeSpawners(out, magpieSpawners);
+        writeSpawners(out, eagleSpawners);
+        writeSpawners(out, pigeonSpawners);
+        out.flush();
+    }
+
+    /**
+     * Restore a snapshot from the given file.
+     *
+     * @param dimensions The dimensions of the world, used to index the restored tiles.
+     * @param path The file to read from.
+     * @return The restored snapshot.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static WorldSnapshot read(Dimensions dimensions, Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(dimensions, in);
+        }
+    }
+
+    /**
+     * Restore a snapshot from the given stream.
+     *
+     * @param dimensions The dimensions of the world, used to index the restored tiles.
+     * @param stream The stream to read from. It is not closed.
+     * @return The restored snapshot.
+     * @throws IOException If the stream cannot be read, is not a snapshot, or was written by a
+     *     newer version of the format.
+     */
+    public static WorldSnapshot read(Dimensions dimensions, InputStream stream)
+            throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a world snapshot");
+        }
+        int version = in.readInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported world snapshot version " + version);
+        }
+
+        BeanWorld world = new BeanWorld(dimensions);
+        int tileCount = in.readInt();
+        for (int i = 0; i < tileCount; i++) {
+            char symbol = (char) in.readUnsignedByte();
+            int x = in.readInt();
+            int y = in.readInt();
+            Tile tile;
+            try {
+                tile = TileFactory.fromSymbol(x, y, symbol);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown tile symbol in world snapshot: '" + symbol + "'");
+            }
+            if (tile instanceof OreVein vein) {
+                vein.getOre().setCoins(in.readInt());
+            }
+            int cabbages = in.readUnsignedByte();
+            for (int j = 0; j < cabbages; j++) {
+                Cabbage cabbage = new Cabbage(x, y);
+                cabbage.setGrowthState(in.readUnsignedByte());
+                tile.placeOn(cabbage);
+            }
+            world.place(tile);
+        }
+
+        PlayerDetails player = new StoredPlayer(
+                in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        List<SpawnerDetails> magpieSpawners = readSpawners(in);
+        List<SpawnerDetails> eagleSpawners = readSpawners(in);
+        List<SpawnerDetails> pigeonSpawners = readSpawners(in);
+        return new WorldSnapshot(world, player, magpieSpawners, eagleSpawners, pigeonSpawners);
+    }
+
+    private static void writeSpawners(DataOutputStream out, List<SpawnerDetails> spawners)
+            throws IOException {
+        out.writeInt(spawners.size());
+        for (SpawnerDetails spawner : spawners) {
+            out.writeInt(spawner.getX());
+            out.writeInt(spawner.getY());
+            out.writeInt(spawner.getDuration());
+        }
+    }
+
+    private static List<SpawnerDetails> readSpawners(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<SpawnerDetails> spawners = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            spawners.add(new StoredSpawner(in.readInt(), in.readInt(), in.readInt()));
+        }
+        return spawners;
+    }
+
+    /** Player details restored from a snapshot. */
+    private static class StoredPlayer implements PlayerDetails {
+        private final int x;
+        private final int y;
+        private final int coins;
+        private final int food;
+
+        private StoredPlayer(int x, int y, int coins, int food) {
+            this.x = x;
+            this.y = y;
+            this.coins = coins;
+            this.food = food;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public int getStartingCoins() {
+            return coins;
+        }
+
+        @Override
+        public int getStartingFood() {
+            return food;
+        }
+    }
+
+    /** Spawner details restored from a snapshot. */
+    private static class StoredSpawner implements SpawnerDetails {
+        private int x;
+        private int y;
+        private final int duration;
+
+        private StoredSpawner(int x, int y, int duration) {
+            this.x = x;
+            this.y = y;
+            this.duration = duration;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        @Override
+        public void setY(int y) {
+            this.y = y;
+        }
+
+        @Override
+        public int getDuration() {
+            return duration;
+        }
+    }
+}
@@ -7,7 +7,9 @@ import builder.world.WorldBuilder;
 import builder.entities.tiles.Dirt;
 import builder.entities.tiles.Grass;
 import builder.entities.tiles.Tile;
+import builder.entities.tiles.Water;
 import builder.entities.resources.Cabbage;
+import builder.entities.resources.Ore;
 import scenarios.mocks.MockEngineState;
 import engine.renderer.TileGrid;
 
@@ -63,6 +65,76 @@ public class BeanWorldTest {
         Assert.assertTrue("Should return tile and cabbage", renderables.size() >= 2);
     }
 
+    @Test
+    public void testRenderReusesUnchangedLayer() {
+        BeanWorld world = WorldBuilder.fromTiles(new TileGrid(25, 2000), List.of());
+        world.place(new Grass(0, 0));
+        world.place(new Dirt(100, 100));
+
+        List<engine.renderer.Renderable> first = world.render();
+        List<engine.renderer.Renderable> second = world.render();
+        Assert.assertSame("Unchanged world should reuse its render list", first, second);
+        Assert.assertEquals("Should render both tiles", 2, second.size());
+    }
+
+    @Test
+    public void testRenderRebuildsChangedCells() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        BeanWorld world = WorldBuilder.fromTiles(dimensions, List.of());
+        Grass grass = new Grass(0, 0);
+        Dirt dirt = new Dirt(100, 100);
+        world.place(grass);
+        world.place(dirt);
+        world.render();
+
+        Cabbage cabbage = new Cabbage(100, 100);
+        dirt.placeOn(cabbage);
+        List<engine.renderer.Renderable> renderables = world.render();
+        Assert.assertEquals("Should render the new cabbage", 3, renderables.size());
+        Assert.assertTrue("Cabbage should follow its tile",
+                renderables.indexOf(cabbage) > renderables.indexOf(dirt));
+
+        cabbage.markForRemoval();
+        grass.markForRemoval();
+        world.tick(new MockEngineState(dimensions), new TestGameState());
+        renderables = world.render();
+        Assert.assertEquals("Should only render the dirt", List.of(dirt), renderables);
+    }
+
+    @Test
+    public void testIsWalkableFollowsPlacedTiles() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        BeanWorld world = WorldBuilder.fromTiles(dimensions, List.of());
+        Water water = new Water(100, 100);
+        world.place(new Grass(0, 0));
+        world.place(water);
+        world.place(new Water(1900, 1900));
+
+        Assert.assertTrue("Grass should be walkable", world.isWalkable(10, 10, dimensions));
+        Assert.assertFalse("Water should block", world.isWalkable(110, 90, dimensions));
+        Assert.assertFalse("Far water should block", world.isWalkable(1900, 1900, dimensions));
+        Assert.assertTrue("Empty cells should be walkable", world.isWalkable(500, 500, dimensions));
+
+        water.markForRemoval();
+        Assert.assertFalse("Marked water should block until reaped",
+                world.isWalkable(100, 100, dimensions));
+        world.place(new Grass(100, 100));
+        Assert.assertTrue("Replacement should be walkable", world.isWalkable(100, 100, dimensions));
+    }
+
+    @Test
+    public void testIsWalkableClearsReapedTiles() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        BeanWorld world = WorldBuilder.empty();
+        Water water = new Water(100, 100);
+        world.place(water);
+        Assert.assertFalse("Water should block", world.isWalkable(100, 100, dimensions));
+
+        water.markForRemoval();
+        world.tick(new MockEngineState(dimensions), new TestGameState());
+        Assert.assertTrue("Reaped water should not block", world.isWalkable(100, 100, dimensions));
+    }
+
     @Test
     public void testTickCallsTileTick() {
         BeanWorld world = WorldBuilder.empty();
@@ -278,6 +350,346 @@ public class BeanWorldTest {
         Assert.assertEquals("Should have 10 tiles", 10, tiles.size());
     }
 
+    @Test
+    public void testTilesAtPositionReflectsTilesPlacedAfterQuery() {
+        BeanWorld world = WorldBuilder.empty();
+        TileGrid dimensions = new TileGrid(25, 2000);
+
+        world.place(new Dirt(0, 0));
+        Assert.assertEquals("Should be empty before placing", 0,
+                world.tilesAtPosition(1000, 1000, dimensions).size());
+
+        Tile late = new Grass(1000, 1000);
+        world.place(late);
+
+        List<Tile> result = world.tilesAtPosition(1010, 1010, dimensions);
+        Assert.assertEquals("Should find the late tile", 1, result.size());
+        Assert.assertTrue("Should contain the late tile", result.contains(late));
+    }
+
+    @Test
+    public void testTilesAtPositionWithDifferentTileSize() {
+        BeanWorld world = WorldBuilder.fromTiles(new TileGrid(25, 2000), List.of());
+        Tile tile = new Dirt(40, 40);
+        world.place(tile);
+
+        Assert.assertTrue("Should find tile with 80px tiles",
+                world.tilesAtPosition(0, 0, new TileGrid(25, 2000)).contains(tile));
+        Assert.assertFalse("Should not find tile at origin with 20px tiles",
+                world.tilesAtPosition(0, 0, new TileGrid(25, 500)).contains(tile));
+        Assert.assertTrue("Should find tile in its own cell with 20px tiles",
+                world.tilesAtPosition(45, 45, new TileGrid(25, 500)).contains(tile));
+    }
+
+    @Test
+    public void testTilesAtPositionOutsideWorld() {
+        BeanWorld world = WorldBuilder.empty();
+        TileGrid dimensions = new TileGrid(25, 2000);
+        world.place(new Dirt(0, 0));
+
+        Assert.assertEquals("Should be empty past the last tile", 0,
+                world.tilesAtPosition(5000, 5000, dimensions).size());
+    }
+
+    @Test
+    public void testPlaceReplacesMarkedTileInSameCell() {
+        BeanWorld world = WorldBuilder.empty();
+        TileGrid dimensions = new TileGrid(25, 2000);
+        Grass grass = new Grass(0, 0);
+        world.place(grass);
+        world.tilesAtPosition(0, 0, dimensions);
+
+        grass.markForRemoval();
+        Dirt dirt = new Dirt(0, 0);
+        world.place(dirt);
+
+        List<Tile> result = world.tilesAtPosition(0, 0, dimensions);
+        Assert.assertEquals("Should only hold the replacement", 1, result.size());
+        Assert.assertTrue("Should contain the dirt", result.contains(dirt));
+        Assert.assertEquals("Should have 1 tile", 1, world.allTiles().size());
+    }
+
+    @Test
+    public void testTickReapsMarkedTiles() {
+        BeanWorld world = WorldBuilder.empty();
+        TileGrid dimensions = new TileGrid(25, 2000);
+        TestTile kept = new TestTile(0, 0);
+        TestTile removed = new TestTile(100, 100);
+        world.place(kept);
+        world.place(removed);
+
+        removed.markForRemoval();
+        world.tick(new MockEngineState(dimensions), new TestGameState());
+
+        Assert.assertEquals("Should have 1 tile", 1, world.allTiles().size());
+        Assert.assertFalse("Removed tile should not be ticked", removed.tickCalled);
+        Assert.assertTrue("Kept tile should be ticked", kept.tickCalled);
+        Assert.assertEquals("Removed tile should not be found", 0,
+                world.tilesAtPosition(100, 100, dimensions).size());
+        Assert.assertEquals("Removed tile should not be rendered", 1, world.render().size());
+    }
+
+    @Test
+    public void testRepeatedReplacementDoesNotGrowWorld() {
+        BeanWorld world = WorldBuilder.fromTiles(new TileGrid(25, 2000), List.of());
+        MockEngineState engine = new MockEngineState(new TileGrid(25, 2000));
+        Tile current = new Grass(0, 0);
+        world.place(current);
+
+        for (int i = 0; i < 100; i++) {
+            current.markForRemoval();
+            world.tick(engine, new TestGameState());
+            current = i % 2 == 0 ? new Dirt(0, 0) : new Grass(0, 0);
+            world.place(current);
+        }
+
+        Assert.assertEquals("Should have 1 tile", 1, world.allTiles().size());
+        Assert.assertTrue("Should contain the latest tile", world.allTiles().contains(current));
+    }
+
+    @Test
+    public void testTilesWithStackedTracksPlaceOn() {
+        BeanWorld world = WorldBuilder.empty();
+        Dirt before = new Dirt(0, 0);
+        before.placeOn(new Cabbage(0, 0));
+        Dirt after = new Dirt(100, 100);
+        Dirt empty = new Dirt(200, 200);
+        world.place(before);
+        world.place(after);
+        world.place(empty);
+
+        after.placeOn(new Cabbage(100, 100));
+
+        List<Tile> result = world.tilesWithStacked(Cabbage.class);
+        Assert.assertEquals("Should find 2 tiles", 2, result.size());
+        Assert.assertTrue("Should contain tile stacked before placing", result.contains(before));
+        Assert.assertTrue("Should contain tile stacked after placing", result.contains(after));
+        Assert.assertEquals("Should match supertypes", 2,
+                world.tilesWithStacked(engine.game.Entity.class).size());
+    }
+
+    @Test
+    public void testTilesWithStackedForgetsCleanedUpEntities() {
+        BeanWorld world = WorldBuilder.empty();
+        Dirt dirt = new Dirt(0, 0);
+        Cabbage cabbage = new Cabbage(0, 0);
+        dirt.placeOn(cabbage);
+        world.place(dirt);
+
+        cabbage.markForRemoval();
+        world.tick(new MockEngineState(new TileGrid(25, 2000)), new TestGameState());
+
+        Assert.assertTrue("Should find no cabbages",
+                world.tilesWithStacked(Cabbage.class).isEmpty());
+    }
+
+    @Test
+    public void testTilesWithStackedForgetsReapedTiles() {
+        BeanWorld world = WorldBuilder.empty();
+        Dirt dirt = new Dirt(0, 0);
+        dirt.placeOn(new Cabbage(0, 0));
+        world.place(dirt);
+
+        dirt.markForRemoval();
+        world.tick(new MockEngineState(new TileGrid(25, 2000)), new TestGameState());
+
+        Assert.assertTrue("Should find no cabbages",
+                world.tilesWithStacked(Cabbage.class).isEmpty());
+    }
+
+    @Test
+    public void testNearestWithStackedFindsClosestCabbage() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        BeanWorld world = WorldBuilder.fromTiles(dimensions, List.of());
+        for (int col = 0; col < 25; col++) {
+            for (int row = 0; row < 25; row++) {
+                world.place(new Dirt(col * 80, row * 80));
+            }
+        }
+        Tile near = world.tilesAtPosition(160, 160, dimensions).getFirst();
+        Tile far = world.tilesAtPosition(1600, 1600, dimensions).getFirst();
+        near.placeOn(new Cabbage(160, 160));
+        far.placeOn(new Cabbage(1600, 1600));
+
+        Assert.assertSame("Should find near cabbage", near,
+                world.nearestWithStacked(Cabbage.class, 0, 0, dimensions));
+        Assert.assertSame("Should find far cabbage", far,
+                world.nearestWithStacked(Cabbage.class, 1900, 1900, dimensions));
+        Assert.assertSame("Should clamp positions outside the world", far,
+                world.nearestWithStacked(Cabbage.class, 5000, 5000, dimensions));
+    }
+
+    @Test
+    public void testNearestWithStackedUpdatesWhenPlantedAndEaten() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        MockEngineState engine = new MockEngineState(dimensions);
+        BeanWorld world = WorldBuilder.fromTiles(dimensions, List.of());
+        for (int col = 0; col < 25; col++) {
+            for (int row = 0; row < 25; row++) {
+                world.place(new Dirt(col * 80, row * 80));
+            }
+        }
+        Assert.assertNull("Should find nothing without cabbages",
+                world.nearestWithStacked(Cabbage.class, 0, 0, dimensions));
+
+        Tile far = world.tilesAtPosition(1600, 1600, dimensions).getFirst();
+        far.placeOn(new Cabbage(1600, 1600));
+        Assert.assertSame("Should find planted cabbage", far,
+                world.nearestWithStacked(Cabbage.class, 0, 0, dimensions));
+
+        Tile near = world.tilesAtPosition(80, 80, dimensions).getFirst();
+        Cabbage eaten = new Cabbage(80, 80);
+        near.placeOn(eaten);
+        Assert.assertSame("Should switch to closer cabbage", near,
+                world.nearestWithStacked(Cabbage.class, 0, 0, dimensions));
+
+        eaten.markForRemoval();
+        world.tick(engine, new TestGameState());
+        Assert.assertSame("Should fall back once eaten", far,
+                world.nearestWithStacked(Cabbage.class, 0, 0, dimensions));
+    }
+
+    @Test
+    public void testNearestWithStackedMatchesLinearSearch() {
+        TileGrid dimensions = new TileGrid(40, 2000);
+        int size = dimensions.tileSize();
+        BeanWorld world = WorldBuilder.fromTiles(dimensions, List.of());
+        for (int col = 0; col < 40; col++) {
+            for (int row = 0; row < 40; row++) {
+                world.place(new Dirt(col * size, row * size));
+            }
+        }
+        java.util.Random random = new java.util.Random(2002);
+        for (int i = 0; i < 12; i++) {
+            int x = random.nextInt(40) * size;
+            int y = random.nextInt(40) * size;
+            world.tilesAtPosition(x, y, dimensions).getFirst().placeOn(new Cabbage(x, y));
+        }
+        List<Tile> cabbages = world.tilesWithStacked(Cabbage.class);
+
+        for (int col = 0; col < 40; col++) {
+            for (int row = 0; row < 40; row++) {
+                long best = Long.MAX_VALUE;
+                for (Tile tile : cabbages) {
+                    long dx = tile.getX() / size - col;
+                    long dy = tile.getY() / size - row;
+                    best = Math.min(best, dx * dx + dy * dy);
+                }
+                Tile found = world.nearestWithStacked(
+                        Cabbage.class, col * size, row * size, dimensions);
+                long dx = found.getX() / size - col;
+                long dy = found.getY() / size - row;
+                Assert.assertTrue("Nearest should be within a cell of the exact answer",
+                        Math.sqrt(dx * dx + dy * dy) <= Math.sqrt(best) + 1);
+            }
+        }
+    }
+
+    @Test
+    public void testTickSkipsDormantTiles() {
+        BeanWorld world = WorldBuilder.empty();
+        MockEngineState engine = new MockEngineState(new TileGrid(25, 2000));
+        TestTile tile = new TestTile(0, 0);
+        world.place(tile);
+
+        world.tick(engine, new TestGameState());
+        Assert.assertTrue("Newly placed tile should be ticked", tile.tickCalled);
+
+        tile.tickCalled = false;
+        world.tick(engine, new TestGameState());
+        Assert.assertFalse("Tile without pending work should sleep", tile.tickCalled);
+    }
+
+    @Test
+    public void testPlaceOnWakesDormantTile() {
+        BeanWorld world = WorldBuilder.empty();
+        MockEngineState engine = new MockEngineState(new TileGrid(25, 2000));
+        TestTile tile = new TestTile(0, 0);
+        world.place(tile);
+        world.tick(engine, new TestGameState());
+
+        tile.tickCalled = false;
+        tile.placeOn(new Ore(0, 0));
+        world.tick(engine, new TestGameState());
+        Assert.assertTrue("Stacking an entity should wake the tile", tile.tickCalled);
+
+        tile.tickCalled = false;
+        world.tick(engine, new TestGameState());
+        Assert.assertTrue("Tile with stacked entities should stay awake", tile.tickCalled);
+    }
+
+    @Test
+    public void testTileWithOnlyCabbagesSleepsWhileTheyGrow() {
+        BeanWorld world = WorldBuilder.empty();
+        MockEngineState engine = new MockEngineState(new TileGrid(25, 2000));
+        TestTile tile = new TestTile(0, 0);
+        Cabbage cabbage = new Cabbage(0, 0);
+        world.place(tile);
+        tile.placeOn(cabbage);
+        world.tick(engine, new TestGameState());
+        Assert.assertTrue("Stacking a cabbage should wake the tile", tile.tickCalled);
+
+        tile.tickCalled = false;
+        for (int tick = 1; tick < 100; tick++) {
+            world.tick(engine, new TestGameState());
+        }
+        Assert.assertFalse("Tile with only cabbages should sleep", tile.tickCalled);
+        Assert.assertEquals("Cabbage should grow while its tile sleeps", 1,
+                cabbage.getGrowthState());
+        Assert.assertEquals("Cabbage should be drawn as budding",
+                builder.ui.SpriteGallery.cabbage.getSprite("budding"), cabbage.getSprite());
+
+        cabbage.markForRemoval();
+        world.tick(engine, new TestGameState());
+        Assert.assertTrue("Removing a cabbage should wake its tile", tile.tickCalled);
+        Assert.assertTrue("Removed cabbage should be cleaned up", tile.isEmpty());
+    }
+
+    @Test
+    public void testCabbageGrowsAsIfTickedInItsWorld() {
+        BeanWorld world = WorldBuilder.empty();
+        MockEngineState engine = new MockEngineState(new TileGrid(25, 2000));
+        Dirt dirt = new Dirt(0, 0);
+        Cabbage planted = new Cabbage(0, 0);
+        Cabbage ticked = new Cabbage(0, 0);
+        world.place(dirt);
+        dirt.placeOn(planted);
+
+        for (int tick = 1; tick <= 450; tick++) {
+            world.tick(engine, new TestGameState());
+            ticked.tick(engine);
+            Assert.assertEquals("Growth on tick " + tick,
+                    ticked.getGrowthState(), planted.getGrowthState());
+        }
+        Assert.assertEquals("Cabbage should be fully grown", 4, planted.getGrowthState());
+
+        planted.setGrowthState(1);
+        ticked.setGrowthState(1);
+        for (int tick = 0; tick < 150; tick++) {
+            world.tick(engine, new TestGameState());
+            ticked.tick(engine);
+            Assert.assertEquals("Growth after restoring, tick " + tick,
+                    ticked.getGrowthState(), planted.getGrowthState());
+        }
+    }
+
+    @Test
+    public void testTickReapsDormantTilesMarkedForRemoval() {
+        BeanWorld world = WorldBuilder.empty();
+        TileGrid dimensions = new TileGrid(25, 2000);
+        MockEngineState engine = new MockEngineState(dimensions);
+        TestTile tile = new TestTile(100, 100);
+        world.place(tile);
+        world.tick(engine, new TestGameState());
+
+        tile.markForRemoval();
+        world.tick(engine, new TestGameState());
+
+        Assert.assertEquals("Dormant tile should be reaped", 0, world.allTiles().size());
+        Assert.assertEquals("Reaped tile should not be found", 0,
+                world.tilesAtPosition(100, 100, dimensions).size());
+    }
+
     public static class TestTile extends Grass {
         public boolean tickCalled = false;
         
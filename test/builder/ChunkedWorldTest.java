@@ -0,0 +1,269 @@
+package builder;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import builder.ui.Camera;
+import builder.world.ChunkedWorld;
+import builder.world.MapFileChunkSource;
+import builder.world.WorldLoadException;
+import builder.entities.tiles.Dirt;
+import builder.entities.tiles.Grass;
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.Water;
+import engine.renderer.Renderable;
+import engine.renderer.TileGrid;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ChunkedWorldTest {
+
+    private static final int SIZE = 100;
+
+    private final TileGrid dimensions = new TileGrid(25, 800);
+    private Path map;
+
+    @Before
+    public void setUp() throws IOException {
+        // grass everywhere except a diagonal of water and dirt on the last column
+        StringBuilder text = new StringBuilder();
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                text.append(col == row ? 'w' : col == SIZE - 1 ? 'd' : 'g');
+            }
+            text.append('\n');
+        }
+        map = Files.createTempFile("chunked", ".map");
+        Files.writeString(map, text.toString());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(map);
+    }
+
+    @Test
+    public void testSourceReadsMapSize() throws IOException, WorldLoadException {
+        MapFileChunkSource source = new MapFileChunkSource(map);
+        Assert.assertEquals("Should have 100 columns", SIZE, source.getColumns());
+        Assert.assertEquals("Should have 100 rows", SIZE, source.getRows());
+    }
+
+    @Test
+    public void testSourceLoadsOnlyRequestedArea() throws IOException, WorldLoadException {
+        MapFileChunkSource source = new MapFileChunkSource(map);
+        List<Tile> tiles = source.load(96, 40, 8, 2, dimensions);
+
+        Assert.assertEquals("Area should be clipped to the map", 8, tiles.size());
+        for (Tile tile : tiles) {
+            int col = dimensions.pixelToTile(tile.getX());
+            int row = dimensions.pixelToTile(tile.getY());
+            Assert.assertTrue("Tile should be in the area", col >= 96 && row >= 40 && row < 42);
+            Assert.assertEquals("Last column should be dirt",
+                    col == SIZE - 1, tile instanceof Dirt);
+        }
+    }
+
+    @Test
+    public void testSourceAcceptsWindowsLineEndings() throws IOException, WorldLoadException {
+        Files.writeString(map, "gw\r\nwg\r\n");
+        MapFileChunkSource source = new MapFileChunkSource(map);
+        List<Tile> tiles = source.load(0, 1, 2, 1, dimensions);
+
+        Assert.assertEquals("Should have 2 columns", 2, source.getColumns());
+        Assert.assertTrue("Should read the second row", tiles.get(0) instanceof Water);
+        Assert.assertTrue("Should read the second row", tiles.get(1) instanceof Grass);
+    }
+
+    @Test
+    public void testSourceRejectsCarriageReturnWithinARow() throws IOException {
+        Files.writeString(map, "gw\r\nw\rg\r\n");
+        try {
+            new MapFileChunkSource(map);
+            Assert.fail("Should reject a carriage return not ending a line");
+        } catch (WorldLoadException e) {
+            Assert.assertTrue("Should report the position", e.getMessage().endsWith(
+                    "on line 2, character 2"));
+        }
+    }
+
+    @Test
+    public void testSourceAcceptsCarriageReturnAtEndOfFile()
+            throws IOException, WorldLoadException {
+        Files.writeString(map, "gw\r\nwg\r");
+        MapFileChunkSource source = new MapFileChunkSource(map);
+        Assert.assertEquals("Should have 2 rows", 2, source.getRows());
+        Assert.assertTrue("Should read the last row",
+                source.load(0, 1, 2, 1, dimensions).get(1) instanceof Grass);
+    }
+
+    @Test
+    public void testSourceReportsUnknownSymbolPosition() throws IOException {
+        Files.writeString(map, "ggg\ngxg\n");
+        try {
+            new MapFileChunkSource(map);
+            Assert.fail("Should reject unknown symbols");
+        } catch (WorldLoadException e) {
+            Assert.assertTrue("Should report the position", e.getMessage().endsWith(
+                    "on line 2, character 2"));
+        }
+    }
+
+    @Test
+    public void testSourceRejectsRaggedRows() throws IOException {
+        Files.writeString(map, "ggg\ngg\n");
+        try {
+            new MapFileChunkSource(map);
+            Assert.fail("Should reject rows of different lengths");
+        } catch (WorldLoadException e) {
+            Assert.assertTrue("Should report the line", e.getMessage().endsWith("on line 2"));
+        }
+    }
+
+    @Test
+    public void testStreamAroundLoadsOnlyNearbyChunks() throws IOException, WorldLoadException {
+        ChunkedWorld world = new ChunkedWorld(new MapFileChunkSource(map), dimensions);
+        world.streamAround(0, 0);
+
+        Assert.assertTrue("Player's chunk should be loaded", world.isLoaded(0, 0));
+        Assert.assertFalse("Far chunk should not be loaded",
+                world.isLoaded(dimensions.tileToPixel(SIZE - 1), dimensions.tileToPixel(SIZE - 1)));
+        Assert.assertTrue("Should hold fewer tiles than the map",
+                world.allTiles().size() < SIZE * SIZE);
+
+        world.streamAround(dimensions.tileToPixel(SIZE - 1), dimensions.tileToPixel(SIZE - 1));
+        Assert.assertFalse("Old chunk should be evicted", world.isLoaded(0, 0));
+        Assert.assertTrue("New chunk should be loaded",
+                world.isLoaded(dimensions.tileToPixel(SIZE - 1), dimensions.tileToPixel(SIZE - 1)));
+    }
+
+    @Test
+    public void testStreamAroundCoversTheWindow() throws IOException, WorldLoadException {
+        ChunkedWorld world = new ChunkedWorld(new MapFileChunkSource(map), dimensions);
+        int centre = dimensions.tileToPixel(SIZE / 2);
+        world.streamAround(centre, centre);
+
+        int half = dimensions.windowSize() / 2;
+        for (int dy = -half; dy <= half; dy += dimensions.tileSize()) {
+            for (int dx = -half; dx <= half; dx += dimensions.tileSize()) {
+                Assert.assertTrue("Visible chunk should be loaded",
+                        world.isLoaded(centre + dx, centre + dy));
+            }
+        }
+    }
+
+    @Test
+    public void testChunksFarFromTheOriginIndexOnlyTheirOwnCells()
+            throws IOException, WorldLoadException {
+        int size = 400;
+        StringBuilder text = new StringBuilder();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                text.append(col == row ? 'w' : 'g');
+            }
+            text.append('\n');
+        }
+        Files.writeString(map, text.toString());
+        ChunkedWorld world = new ChunkedWorld(new MapFileChunkSource(map), dimensions);
+        int far = dimensions.tileToPixel(size - 10);
+        world.streamAround(far, far);
+
+        int chunkCells = ChunkedWorld.CHUNK_SIZE * ChunkedWorld.CHUNK_SIZE;
+        Assert.assertTrue("Each chunk should index at most its own cells twice over, was "
+                        + world.getIndexedCellCount(),
+                world.getIndexedCellCount() <= 2 * chunkCells * world.getLoadedChunkCount());
+        Assert.assertFalse("Far diagonal should still block",
+                world.isWalkable(far, far, dimensions));
+        Assert.assertTrue("Far grass should be walkable",
+                world.isWalkable(far + dimensions.tileSize(), far, dimensions));
+    }
+
+    @Test
+    public void testTilesAtPositionLoadsOnDemand() throws IOException, WorldLoadException {
+        ChunkedWorld world = new ChunkedWorld(new MapFileChunkSource(map), dimensions);
+        int position = dimensions.tileToPixel(70);
+
+        List<Tile> tiles = world.tilesAtPosition(position, position, dimensions);
+        Assert.assertEquals("Should find one tile", 1, tiles.size());
+        Assert.assertTrue("Diagonal should be water", tiles.get(0) instanceof Water);
+        Assert.assertTrue("Chunk should now be loaded", world.isLoaded(position, position));
+    }
+
+    @Test
+    public void testChangedChunksSurviveEviction() throws IOException, WorldLoadException {
+        ChunkedWorld world = new ChunkedWorld(new MapFileChunkSource(map), dimensions);
+        int far = dimensions.tileToPixel(SIZE - 2);
+        world.streamAround(far, far);
+        world.tilesAtPosition(0, 0, dimensions).get(0).markForRemoval();
+        Dirt dirt = new Dirt(dimensions.tileToPixel(0), dimensions.tileToPixel(0));
+        world.place(dirt);
+
+        world.streamAround(far, far);
+        Assert.assertFalse("Changed chunk should be evicted", world.isLoaded(0, 0));
+        world.streamAround(0, 0);
+
+        List<Tile> tiles = world.tilesAtPosition(0, 0, dimensions);
+        Assert.assertTrue("Placed tile should be restored", tiles.contains(dirt));
+    }
+
+    @Test
+    public void testUntouchedChunksAreReloaded() throws IOException, WorldLoadException {
+        ChunkedWorld world = new ChunkedWorld(new MapFileChunkSource(map), dimensions);
+        int far = dimensions.tileToPixel(SIZE - 2);
+        world.streamAround(far, far);
+        Tile before = world.tilesAtPosition(0, 0, dimensions).get(0);
+
+        world.streamAround(far, far);
+        Assert.assertFalse("Chunk should be evicted", world.isLoaded(0, 0));
+        Tile after = world.tilesAtPosition(0, 0, dimensions).get(0);
+
+        Assert.assertNotSame("Untouched chunk should be read again", before, after);
+        Assert.assertTrue("Reloaded tile should match the map", after instanceof Water);
+    }
+
+    @Test
+    public void testCameraFollowsAndClampsToWorld() {
+        Camera camera = new Camera(dimensions, 3200, 3200);
+        BeanWorldTest.TestPlayer player = new BeanWorldTest.TestPlayer();
+
+        player.setX(1600);
+        player.setY(1600);
+        camera.follow(player);
+        Assert.assertEquals("Should centre the player", 1200, camera.getOffsetX());
+        Assert.assertEquals("Should centre the player", 1200, camera.getOffsetY());
+
+        player.setX(10);
+        player.setY(3190);
+        camera.follow(player);
+        Assert.assertEquals("Should stop at the left edge", 0, camera.getOffsetX());
+        Assert.assertEquals("Should stop at the bottom edge", 2400, camera.getOffsetY());
+    }
+
+    @Test
+    public void testCameraProjectsVisibleRenderables() {
+        Camera camera = new Camera(dimensions, 3200, 3200);
+        BeanWorldTest.TestPlayer player = new BeanWorldTest.TestPlayer();
+        player.setX(1600);
+        player.setY(1600);
+        camera.follow(player);
+
+        Grass visible = new Grass(1616, 1616);
+        Grass hidden = new Grass(16, 16);
+        List<Renderable> projected = camera.project(List.of(visible, hidden));
+
+        Assert.assertEquals("Only the visible tile should be drawn", 1, projected.size());
+        Assert.assertEquals("Should be shifted into the window", 416, projected.get(0).getX());
+        Assert.assertEquals("Should keep its identity", visible.getID(), projected.get(0).getID());
+    }
+
+    @Test
+    public void testCameraLeavesWindowSizedWorldsAlone() {
+        Camera camera = new Camera(dimensions, 800, 800);
+        List<Renderable> renderables = List.of(new Grass(16, 16));
+        Assert.assertSame("Should not copy renderables", renderables, camera.project(renderables));
+    }
+}
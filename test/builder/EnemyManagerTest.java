@@ -3,15 +3,20 @@ package builder;
 import builder.entities.npc.enemies.*;
 import builder.entities.npc.spawners.Spawner;
 import builder.player.Player;
+import builder.timing.Lifespan;
 import engine.EngineState;
 import engine.game.HasPosition;
+import engine.timing.RepeatingTimer;
 import engine.timing.TickTimer;
 import org.junit.Assert;
 import org.junit.Test;
 import scenarios.mocks.MockEngineState;
 import engine.renderer.TileGrid;
+import engine.timing.FixedTimer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class EnemyManagerTest {
 
@@ -327,6 +332,327 @@ public class EnemyManagerTest {
         Assert.assertEquals("Should return empty list", 0, renderables.size());
     }
 
+    @Test
+    public void testTickMovesBirdsAsIfTickedInTurn() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        MockEngineState engine = new MockEngineState(dimensions);
+        TestPlayer player = new TestPlayer();
+        FarmGameState managedGame = new FarmGameState(player);
+        FarmGameState standaloneGame = new FarmGameState(player);
+
+        // the first of the last two eagles steals the last of the food, then runs out of life and
+        // gives it back on the same tick the second reaches the player to steal it again
+        List<Bird> managed = List.of(
+                new Magpie(900, 400, player), new Eagle(1200, 1500, player),
+                new Magpie(300, 1700, player), new Eagle(300, 100, player),
+                new Eagle(100, 312, player));
+        List<Bird> standalone = List.of(
+                new Magpie(900, 400, player), new Eagle(1200, 1500, player),
+                new Magpie(300, 1700, player), new Eagle(300, 100, player),
+                new Eagle(100, 312, player));
+        ((Eagle) managed.get(3)).setLifespan(new Lifespan(34));
+        ((Eagle) standalone.get(3)).setLifespan(new Lifespan(34));
+        managedGame.getInventory().addFood(-7);
+        standaloneGame.getInventory().addFood(-7);
+        manager.getBirds().addAll(managed);
+
+        for (int tick = 0; tick < 40; tick++) {
+            manager.tick(engine, managedGame);
+            for (Bird bird : standalone) {
+                // the manager removes birds marked for removal before ticking the rest
+                if (!bird.isMarkedForRemoval()) {
+                    bird.tick(engine, standaloneGame);
+                }
+            }
+            for (int i = 0; i < managed.size(); i++) {
+                Assert.assertEquals("Bird " + i + " x on tick " + tick,
+                        standalone.get(i).getX(), managed.get(i).getX());
+                Assert.assertEquals("Bird " + i + " y on tick " + tick,
+                        standalone.get(i).getY(), managed.get(i).getY());
+            }
+            Assert.assertEquals("Food on tick " + tick,
+                    standaloneGame.getInventory().getFood(),
+                    managedGame.getInventory().getFood());
+            Assert.assertEquals("Coins on tick " + tick,
+                    standaloneGame.getInventory().getCoins(),
+                    managedGame.getInventory().getCoins());
+        }
+    }
+
+    @Test
+    public void testParallelTickMatchesSequentialTick() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        MockEngineState engine = new MockEngineState(dimensions);
+        TestPlayer player = new TestPlayer();
+        FarmGameState sequentialGame = new FarmGameState(player);
+        FarmGameState parallelGame = new FarmGameState(player);
+        EnemyManager sequential = new EnemyManager(dimensions);
+        EnemyManager parallel = new EnemyManager(dimensions);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        parallel.setTickPool(pool);
+
+        for (int i = 0; i < 600; i++) {
+            int x = (i * 37) % 2000;
+            int y = (i * 91) % 2000;
+            if (i % 3 == 0) {
+                sequential.getBirds().add(new Eagle(x, y, player));
+                parallel.getBirds().add(new Eagle(x, y, player));
+            } else {
+                sequential.getBirds().add(new Magpie(x, y, player));
+                parallel.getBirds().add(new Magpie(x, y, player));
+            }
+        }
+
+        try {
+            for (int tick = 0; tick < 40; tick++) {
+                sequential.tick(engine, sequentialGame);
+                parallel.tick(engine, parallelGame);
+                Assert.assertEquals("Enemies left on tick " + tick,
+                        sequential.getBirds().size(), parallel.getBirds().size());
+                for (int i = 0; i < sequential.getBirds().size(); i++) {
+                    Enemy expected = sequential.getBirds().get(i);
+                    Enemy actual = parallel.getBirds().get(i);
+                    Assert.assertEquals("Bird " + i + " x on tick " + tick,
+                            expected.getX(), actual.getX());
+                    Assert.assertEquals("Bird " + i + " y on tick " + tick,
+                            expected.getY(), actual.getY());
+                }
+            }
+            Assert.assertEquals("Both ticks should take the same food",
+                    sequentialGame.getInventory().getFood(),
+                    parallelGame.getInventory().getFood());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSpawnedBirdsExpireOnTheTickTheyWouldHaveThemselves() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        MockEngineState engine = new MockEngineState(dimensions);
+        TestPlayer player = new TestPlayer();
+        FarmGameState game = new FarmGameState(player);
+        game.getInventory().addCoins(-game.getInventory().getCoins()); // so magpies keep chasing
+
+        manager.setSpawnX(900);
+        manager.setSpawnY(400);
+        Magpie betweenTicks = manager.mkM(player);
+        Magpie[] duringTick = new Magpie[1];
+        manager.add(new TestSpawner() {
+            @Override
+            public void tick(EngineState state, GameState game) {
+                if (duringTick[0] == null) {
+                    duringTick[0] = manager.mkM(player);
+                }
+            }
+        });
+        Magpie standalone = new Magpie(900, 400, player);
+
+        for (int tick = 1; tick <= 10000; tick++) {
+            manager.tick(engine, game);
+            standalone.tick(engine, game);
+            Assert.assertEquals("Magpie spawned between ticks on tick " + tick,
+                    standalone.isMarkedForRemoval(), betweenTicks.isMarkedForRemoval());
+            Assert.assertEquals("Magpie spawned during a tick on tick " + tick,
+                    standalone.isMarkedForRemoval(), duringTick[0].isMarkedForRemoval());
+        }
+        Assert.assertTrue("Magpie should have expired", standalone.isMarkedForRemoval());
+    }
+
+    @Test
+    public void testReplacedLifespanDoesNotExpireBird() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        MockEngineState engine = new MockEngineState(dimensions);
+        TestPlayer player = new TestPlayer();
+        FarmGameState game = new FarmGameState(player);
+        game.getInventory().addCoins(-game.getInventory().getCoins()); // so magpies keep chasing
+
+        manager.setSpawnX(900);
+        manager.setSpawnY(400);
+        Magpie magpie = manager.mkM(player);
+        magpie.setLifespan(new FixedTimer(1_000_000));
+        for (int tick = 1; tick <= 10005; tick++) {
+            manager.tick(engine, game);
+        }
+        Assert.assertFalse("Replaced lifespan should not expire the magpie",
+                magpie.isMarkedForRemoval());
+    }
+
+    @Test
+    public void testReplacedLifespanDoesNotExpireRecycledBird() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        MockEngineState engine = new MockEngineState(dimensions);
+        TestPlayer player = new TestPlayer();
+        FarmGameState game = new FarmGameState(player);
+        game.getInventory().addCoins(-game.getInventory().getCoins()); // so magpies keep chasing
+
+        manager.setSpawnX(900);
+        manager.setSpawnY(400);
+        Magpie magpie = manager.mkM(player);
+        for (int tick = 1; tick <= 100; tick++) {
+            manager.tick(engine, game);
+        }
+        magpie.setLifespan(new FixedTimer(1_000_000));
+        magpie.markForRemoval();
+        manager.tick(engine, game);
+        Assert.assertSame("Removed magpie should be reused", magpie, manager.mkM(player));
+
+        for (int tick = 1; tick <= 9995; tick++) {
+            manager.tick(engine, game);
+        }
+        Assert.assertFalse("Lifespan from before the magpie was reused should not expire it",
+                magpie.isMarkedForRemoval());
+        for (int tick = 1; tick <= 10; tick++) {
+            manager.tick(engine, game);
+        }
+        Assert.assertTrue("Magpie should expire with its new lifespan",
+                magpie.isMarkedForRemoval());
+    }
+
+    @Test
+    public void testScheduledSpawnersSpawnWhenTheirTimersWouldFinish() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        MockEngineState engine = new MockEngineState(dimensions);
+        List<String> spawns = new ArrayList<>();
+        ScheduledSpawner slow = new ScheduledSpawner("slow", 7, spawns);
+        ScheduledSpawner fast = new ScheduledSpawner("fast", 3, spawns);
+        manager.add(slow);
+        manager.add(fast);
+        RepeatingTimer slowTimer = new RepeatingTimer(7);
+        RepeatingTimer fastTimer = new RepeatingTimer(3);
+
+        for (int tick = 1; tick <= 50; tick++) {
+            spawns.clear();
+            manager.tick(engine, new TestGameState());
+            slowTimer.tick();
+            fastTimer.tick();
+            List<String> expected = new ArrayList<>();
+            if (slowTimer.isFinished()) {
+                expected.add("slow");
+            }
+            if (fastTimer.isFinished()) {
+                expected.add("fast");
+            }
+            Assert.assertEquals("Spawns on tick " + tick, expected, spawns);
+        }
+        Assert.assertFalse("Scheduled spawner should not be ticked", slow.tickCalled);
+    }
+
+    @Test
+    public void testRemovedBirdKeepsItsPosition() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        MockEngineState engine = new MockEngineState(dimensions);
+        TestPlayer player = new TestPlayer();
+        FarmGameState game = new FarmGameState(player);
+
+        Magpie magpie = new Magpie(900, 400, player);
+        manager.getBirds().add(magpie);
+        manager.tick(engine, game);
+        int x = magpie.getX();
+        int y = magpie.getY();
+
+        manager.getBirds().remove(magpie);
+        manager.tick(engine, game);
+        Assert.assertEquals("Removed bird should keep its x", x, magpie.getX());
+        Assert.assertEquals("Removed bird should keep its y", y, magpie.getY());
+
+        magpie.setX(x + 5);
+        Assert.assertEquals("Removed bird should hold its own position", x + 5, magpie.getX());
+    }
+
+    @Test
+    public void testCleanupRecyclesBirdsForReuse() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        TestPlayer player = new TestPlayer();
+
+        manager.setSpawnX(150);
+        manager.setSpawnY(250);
+        Magpie magpie = manager.mkM(player);
+        Eagle eagle = manager.mkE(player);
+        magpie.setAttacking(false);
+        magpie.setX(600);
+        String firstId = magpie.getID();
+        magpie.markForRemoval();
+        eagle.markForRemoval();
+        manager.cleanup();
+        Assert.assertEquals("Removed birds should leave the list", 0, manager.getBirds().size());
+
+        manager.setSpawnX(700);
+        manager.setSpawnY(800);
+        Magpie reused = manager.mkM(player);
+        Assert.assertSame("Removed magpie should be reused", magpie, reused);
+        Assert.assertFalse("Reused magpie should not be marked", reused.isMarkedForRemoval());
+        Assert.assertTrue("Reused magpie should be attacking again", reused.getAttacking());
+        Assert.assertEquals("Reused magpie should be at the new spawn X", 700, reused.getX());
+        Assert.assertEquals("Reused magpie should be at the new spawn Y", 800, reused.getY());
+        Assert.assertEquals("Reused magpie should move at its initial speed", 3.0,
+                reused.getSpeed(), 0.0);
+        Assert.assertNotEquals("Reused magpie should be a new entity", firstId, reused.getID());
+        Assert.assertSame("Removed eagle should be reused", eagle, manager.mkE(player));
+        Assert.assertNotSame("Pool should now be empty", eagle, manager.mkE(player));
+    }
+
+    @Test
+    public void testHandleGoesStaleOnCleanup() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        TestEnemy kept = new TestEnemy(100, 100, false);
+        TestEnemy removed = new TestEnemy(200, 200, true);
+        manager.getBirds().add(removed);
+        manager.getBirds().add(kept);
+
+        int keptHandle = manager.handleOf(kept);
+        int removedHandle = manager.handleOf(removed);
+        Assert.assertSame("Handle should resolve before cleanup",
+                removed, manager.get(removedHandle));
+
+        manager.cleanup();
+        Assert.assertNull("Handle to removed enemy should not resolve", manager.get(removedHandle));
+        Assert.assertSame("Handle to kept enemy should resolve", kept, manager.get(keptHandle));
+    }
+
+    @Test
+    public void testCleanupManyMarkedKeepsOrder() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        for (int i = 0; i < 5000; i++) {
+            manager.getBirds().add(new TestEnemy(i, 0, i % 3 != 0));
+        }
+
+        manager.cleanup();
+        Assert.assertEquals("Should keep every third enemy", 1667, manager.getBirds().size());
+        for (int i = 0; i < manager.getBirds().size(); i++) {
+            Assert.assertEquals("Should keep list order", i * 3, manager.getBirds().get(i).getX());
+        }
+    }
+
+    @Test
+    public void testRangeQueriesSeeListChangesThatKeepItsSize() {
+        TileGrid dimensions = new TileGrid(25, 2000);
+        EnemyManager manager = new EnemyManager(dimensions);
+        TestEnemy first = new TestEnemy(100, 100, false);
+        TestEnemy second = new TestEnemy(500, 500, false);
+        manager.getBirds().add(first);
+        Assert.assertSame(first, manager.nearest(100, 100, 10));
+
+        manager.getBirds().set(0, second);
+        Assert.assertNull("Replaced enemy should not be found", manager.nearest(100, 100, 10));
+        Assert.assertSame("Replacing enemy should be found", second, manager.nearest(500, 500, 10));
+
+        manager.getBirds().add(first);
+        manager.getBirds().remove(second);
+        Assert.assertSame("Added enemy should be found", first, manager.nearest(100, 100, 10));
+        Assert.assertTrue("Removed enemy should not be found",
+                manager.within(500, 500, 10).isEmpty());
+    }
+
     // Test helper classes
     private static class TestEnemy extends Enemy {
         private final boolean markedForRemoval;
@@ -380,6 +706,28 @@ public class EnemyManagerTest {
         }
     }
 
+    private static class ScheduledSpawner extends TestSpawner {
+        private final String name;
+        private final int interval;
+        private final List<String> spawns;
+
+        public ScheduledSpawner(String name, int interval, List<String> spawns) {
+            this.name = name;
+            this.interval = interval;
+            this.spawns = spawns;
+        }
+
+        @Override
+        public int getInterval() {
+            return interval;
+        }
+
+        @Override
+        public void spawn(EngineState state, GameState game) {
+            spawns.add(name);
+        }
+    }
+
     private static class TestGameState implements GameState {
         @Override
         public builder.world.World getWorld() {
@@ -407,6 +755,26 @@ public class EnemyManagerTest {
         }
     }
 
+    private static class FarmGameState extends TestGameState {
+        private final Player player;
+        private final builder.inventory.Inventory inventory =
+                new builder.inventory.TinyInventory(5, 10, 10);
+
+        public FarmGameState(Player player) {
+            this.player = player;
+        }
+
+        @Override
+        public Player getPlayer() {
+            return player;
+        }
+
+        @Override
+        public builder.inventory.Inventory getInventory() {
+            return inventory;
+        }
+    }
+
     private static class TestPlayer implements Player {
         @Override
         public int getX() {
@@ -0,0 +1,122 @@
+package builder;
+
+import builder.headless.HeadlessCore;
+import builder.headless.InputScript;
+import builder.timing.GameLoop;
+
+import engine.Engine;
+import engine.EngineState;
+import engine.game.Game;
+import engine.renderer.Renderable;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameLoopTest {
+
+    private static final long PERIOD = 1000;
+
+    /** A game whose ticks take a scripted amount of time on a fake clock. */
+    private static class TimedGame implements Game {
+        private final long[] costs;
+        private FakeLoop loop;
+        private Engine engine;
+        private int ticks = 0;
+        private int renders = 0;
+        private final List<Long> tickTimes = new ArrayList<>();
+
+        TimedGame(long... costs) {
+            this.costs = costs;
+        }
+
+        @Override
+        public void tick(EngineState state) {
+            tickTimes.add(loop.now);
+            loop.now += costs[ticks];
+            ticks++;
+            if (ticks == costs.length) {
+                engine.isRunning(false);
+            }
+        }
+
+        @Override
+        public List<Renderable> render() {
+            renders++;
+            return List.of();
+        }
+    }
+
+    /** A loop on a fake clock that moves only when it sleeps or the game ticks. */
+    private static class FakeLoop extends GameLoop {
+        private long now = 0;
+        private long slept = 0;
+
+        FakeLoop(Game game, int maxFrameSkip) {
+            super(game, PERIOD, maxFrameSkip);
+        }
+
+        @Override
+        protected long nanoTime() {
+            return now;
+        }
+
+        @Override
+        protected void sleep(long nanos) {
+            slept += nanos;
+            now += nanos;
+        }
+    }
+
+    private static FakeLoop run(TimedGame game, int maxFrameSkip) {
+        FakeLoop loop = new FakeLoop(game, maxFrameSkip);
+        game.loop = loop;
+        game.engine = new Engine(loop, new TileGrid(25, 800), new HeadlessCore(InputScript.none()));
+        loop.run(game.engine);
+        return loop;
+    }
+
+    @Test
+    public void testSleepsUntilEachTickIsDue() {
+        TimedGame game = new TimedGame(100, 100, 100, 100, 100);
+        FakeLoop loop = run(game, 5);
+
+        Assert.assertEquals(List.of(0L, 1000L, 2000L, 3000L, 4000L), game.tickTimes);
+        Assert.assertEquals("Every tick should be rendered", 5, game.renders);
+        Assert.assertEquals("Loop should sleep between ticks", 4 * 900, loop.slept);
+        Assert.assertEquals(0, loop.getSkippedFrames());
+        Assert.assertEquals(0, loop.getDroppedTicks());
+    }
+
+    @Test
+    public void testCatchesUpWithoutRenderingAfterASlowTick() {
+        TimedGame game = new TimedGame(3500, 100, 100, 100, 100, 100);
+        FakeLoop loop = run(game, 5);
+
+        Assert.assertEquals("Overdue ticks should run back to back",
+                List.of(0L, 3500L, 3600L, 3700L, 4000L, 5000L), game.tickTimes);
+        Assert.assertEquals("Catch-up ticks should not be rendered", 4, game.renders);
+        Assert.assertEquals(2, loop.getSkippedFrames());
+        Assert.assertEquals(0, loop.getDroppedTicks());
+    }
+
+    @Test
+    public void testDropsTicksBeyondTheFrameSkipLimit() {
+        TimedGame game = new TimedGame(10000, 100, 100, 100, 100);
+        FakeLoop loop = run(game, 2);
+
+        Assert.assertEquals("Only the limit of ticks should be caught up",
+                List.of(0L, 10000L, 10100L, 10200L, 11000L), game.tickTimes);
+        Assert.assertEquals(3, game.renders);
+        Assert.assertEquals(2, loop.getSkippedFrames());
+        Assert.assertEquals(7, loop.getDroppedTicks());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonPositivePeriod() {
+        new GameLoop(new TimedGame(), 0, 5);
+    }
+}
@@ -0,0 +1,82 @@
+package builder;
+
+import builder.headless.HeadlessCore;
+import builder.headless.HeadlessRunner;
+import builder.headless.InputScript;
+import builder.headless.SimulationReport;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+public class HeadlessRunnerTest {
+
+    private static final String[] PHASES = {
+        "player", "npcs", "enemies", "world", "overlays", "interact", "cleanup", "render"
+    };
+
+    @Test
+    public void testRunReportsEveryTickAndPhase() throws IOException, WorldLoadException {
+        Dimensions dimensions = new TileGrid(25, 800);
+        JavaBeanFarm game = new JavaBeanFarm(
+                dimensions, "resources/uqLogo.map", "resources/uqLogo.details");
+        InputScript script = InputScript.read(new StringReader("0-99 keys=d\n100-199 keys=s\n"));
+        HeadlessRunner runner = new HeadlessRunner(dimensions, game, script);
+        runner.warmUp(50);
+
+        SimulationReport report = runner.run(300);
+        Assert.assertEquals("Every tick should be counted", 300, report.getTicks());
+        Assert.assertTrue("Ticks should take time", report.getNanos() > 0);
+        Assert.assertTrue("Ticks per second should be positive", report.getTicksPerSecond() > 0);
+        long phaseTotal = 0;
+        for (String phase : PHASES) {
+            Assert.assertTrue("Phase " + phase + " should be timed",
+                    report.getPhaseNanos(phase) > 0);
+            phaseTotal += report.getPhaseNanos(phase);
+        }
+        Assert.assertTrue("Phases cannot take longer than the run",
+                phaseTotal <= report.getNanos());
+        for (String phase : PHASES) {
+            Assert.assertTrue("Report should list " + phase, report.toString().contains(phase));
+        }
+    }
+
+    @Test
+    public void testCoreGivesScriptedInputOnEachTick() throws IOException {
+        InputScript script = InputScript.read(new StringReader(
+                "# walk right, then click\n0-1 keys=dw\n\n2 mouse=40,60 buttons=lm\n1 keys=a\n"));
+        HeadlessCore core = new HeadlessCore(script);
+
+        Assert.assertEquals(List.of('d', 'w'), core.getDown());
+        Assert.assertTrue(core.isDown('d'));
+        Assert.assertFalse(core.isLeftPressed());
+        core.draw(List.of());
+
+        Assert.assertEquals("Later steps should replace earlier ones", List.of('a'),
+                core.getDown());
+        core.draw(List.of());
+
+        Assert.assertFalse(core.isDown('d'));
+        Assert.assertEquals(40, core.getMouseX());
+        Assert.assertEquals(60, core.getMouseY());
+        Assert.assertTrue(core.isLeftPressed());
+        Assert.assertTrue(core.isMiddlePressed());
+        Assert.assertFalse(core.isRightPressed());
+        core.draw(List.of());
+
+        Assert.assertTrue("No input after the script ends", core.getDown().isEmpty());
+        Assert.assertFalse(core.isLeftPressed());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidScriptIsRejected() throws IOException {
+        InputScript.read(new StringReader("0-10 keys=d\n5 mouse=40\n"));
+    }
+}
@@ -0,0 +1,62 @@
+package builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+import builder.entities.npc.Npc;
+import builder.entities.npc.NpcHandles;
+
+public class NpcHandlesTest {
+
+    @Test
+    public void testHandleResolvesUntilReleased() {
+        NpcHandles<Npc> handles = new NpcHandles<>();
+        Npc npc = new Npc(0, 0);
+        int handle = handles.handleOf(npc);
+
+        Assert.assertNotEquals("Handle should not be NONE", NpcHandles.NONE, handle);
+        Assert.assertSame("Handle should resolve to the NPC", npc, handles.get(handle));
+        Assert.assertEquals("NPC should keep its handle", handle, handles.handleOf(npc));
+
+        handles.release(npc);
+        Assert.assertNull("Released handle should not resolve", handles.get(handle));
+        Assert.assertFalse("Released handle should not be live", handles.isLive(handle));
+        Assert.assertNull("NONE should never resolve", handles.get(NpcHandles.NONE));
+    }
+
+    @Test
+    public void testReusedSlotDoesNotResolveOldHandle() {
+        NpcHandles<Npc> handles = new NpcHandles<>();
+        Npc first = new Npc(0, 0);
+        int oldHandle = handles.handleOf(first);
+        handles.release(first);
+
+        Npc second = new Npc(10, 10);
+        int newHandle = handles.handleOf(second);
+        Assert.assertNotEquals("Reused slot should get a new handle", oldHandle, newHandle);
+        Assert.assertNull("Old handle should stay stale", handles.get(oldHandle));
+        Assert.assertSame("New handle should resolve", second, handles.get(newHandle));
+
+        // the same object handed out again, as a pooled NPC would be, is a new referent
+        handles.release(second);
+        int reusedHandle = handles.handleOf(second);
+        Assert.assertNull("Handle from before reuse should be stale", handles.get(newHandle));
+        Assert.assertSame("Handle after reuse should resolve", second, handles.get(reusedHandle));
+    }
+
+    @Test
+    public void testManyHandles() {
+        NpcHandles<Npc> handles = new NpcHandles<>();
+        Npc[] npcs = new Npc[1000];
+        int[] ids = new int[npcs.length];
+        for (int i = 0; i < npcs.length; i++) {
+            npcs[i] = new Npc(i, i);
+            ids[i] = handles.handleOf(npcs[i]);
+        }
+        for (int i = 0; i < npcs.length; i += 2) {
+            handles.release(npcs[i]);
+        }
+        for (int i = 0; i < npcs.length; i++) {
+            Assert.assertEquals("Only odd NPCs should remain", i % 2 == 1, handles.isLive(ids[i]));
+        }
+    }
+}
@@ -2,6 +2,8 @@ package builder;
 
 import org.junit.Assert;
 import org.junit.Test;
+import builder.entities.npc.BeeHive;
+import builder.entities.npc.GuardBee;
 import builder.entities.npc.NpcManager;
 import builder.entities.npc.Npc;
 import scenarios.mocks.MockEngineState;
@@ -159,6 +161,43 @@ public class NpcManagerTest {
         Assert.assertTrue("Npc3 tick should be called", npc3.tickCalled);
     }
 
+    @Test
+    public void testTickSleepsStationaryNpcs() {
+        NpcManager manager = new NpcManager();
+        MockEngineState engine = new MockEngineState(new TileGrid(25, 2000));
+        TestGameState game = new TestGameState();
+
+        TestNpc npc = new TestNpc(100, 200);
+        npc.setSpeed(0);
+        manager.addNpc(npc);
+
+        manager.tick(engine, game);
+        Assert.assertTrue("Stationary NPC should be ticked once", npc.tickCalled);
+        Assert.assertTrue("Stationary NPC should go dormant", npc.isDormant());
+
+        npc.tickCalled = false;
+        manager.tick(engine, game);
+        Assert.assertFalse("Dormant NPC should not be ticked", npc.tickCalled);
+
+        npc.setSpeed(2);
+        manager.tick(engine, game);
+        Assert.assertTrue("NPC given a speed should be ticked again", npc.tickCalled);
+        Assert.assertFalse("Moving NPC should stay awake", npc.isDormant());
+    }
+
+    @Test
+    public void testTickKeepsBeeHivesAwake() {
+        NpcManager manager = new NpcManager();
+        MockEngineState engine = new MockEngineState(new TileGrid(25, 2000));
+        TestGameState game = new TestGameState();
+
+        BeeHive hive = new BeeHive(100, 200);
+        manager.addNpc(hive);
+        manager.tick(engine, game);
+
+        Assert.assertFalse("Hive reload timer should keep it awake", hive.isDormant());
+    }
+
     @Test
     public void testInteractCallsInteractableInteract() {
         NpcManager manager = new NpcManager();
@@ -349,6 +388,47 @@ public class NpcManagerTest {
         Assert.assertEquals("Only npc3 should remain", npc3, manager.getNpcs().get(0));
     }
 
+    @Test
+    public void testRangeQueriesSeeListChangesThatKeepItsSize() {
+        NpcManager manager = new NpcManager();
+        TestNpc first = new TestNpc(100, 100);
+        TestNpc second = new TestNpc(500, 500);
+        manager.addNpc(first);
+        Assert.assertSame(first, manager.nearest(100, 100, 10));
+
+        manager.getNpcs().set(0, second);
+        Assert.assertNull("Replaced NPC should not be found", manager.nearest(100, 100, 10));
+        Assert.assertSame("Replacing NPC should be found", second, manager.nearest(500, 500, 10));
+
+        manager.getNpcs().add(first);
+        manager.getNpcs().remove(second);
+        Assert.assertSame("Added NPC should be found", first, manager.nearest(100, 100, 10));
+        Assert.assertTrue("Removed NPC should not be found",
+                manager.within(500, 500, 10).isEmpty());
+    }
+
+    @Test
+    public void testMkBeeReusesRemovedBee() {
+        NpcManager manager = new NpcManager();
+        TestNpc target = new TestNpc(500, 200);
+        GuardBee bee = manager.mkBee(100, 200, target);
+        manager.addNpc(bee);
+        bee.tick(new MockEngineState(new TileGrid(25, 2000)));
+        String firstId = bee.getID();
+        bee.markForRemoval();
+        manager.cleanup();
+
+        GuardBee reused = manager.mkBee(300, 400, new TestNpc(300, 0));
+        Assert.assertSame("Removed bee should be reused", bee, reused);
+        Assert.assertFalse("Reused bee should not be marked", reused.isMarkedForRemoval());
+        Assert.assertEquals("Reused bee should be at its new spawn X", 300, reused.getX());
+        Assert.assertEquals("Reused bee should be at its new spawn Y", 400, reused.getY());
+        Assert.assertEquals("Reused bee should face its new target", -90, reused.getDirection());
+        Assert.assertFalse("Reused bee should have a fresh lifespan",
+                reused.getLifespan().isFinished());
+        Assert.assertNotEquals("Reused bee should be a new entity", firstId, reused.getID());
+    }
+
     // Test helper classes
     private static class TestNpc extends Npc {
         public boolean tickCalled = false;
@@ -0,0 +1,144 @@
+package builder;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import builder.world.ChunkedWorld;
+import builder.world.MapFileChunkSource;
+import builder.world.PackedTileStore;
+import builder.world.WorldLoadException;
+import builder.entities.resources.Cabbage;
+import builder.entities.tiles.Dirt;
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.TileFactory;
+import engine.renderer.TileGrid;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class PackedTileStoreTest {
+
+    private static final int COLUMNS = 70;
+    private static final int ROWS = 45;
+
+    private final TileGrid dimensions = new TileGrid(25, 800);
+    private Path map;
+
+    @Before
+    public void setUp() throws IOException {
+        // water everywhere, except a mixed band of every tile kind across the middle rows
+        StringBuilder text = new StringBuilder();
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                text.append(row >= 20 && row < 24 ? "dwgot".charAt((row + col) % 5) : 'w');
+            }
+            text.append('\n');
+        }
+        map = Files.createTempFile("packed", ".map");
+        Files.writeString(map, text.toString());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(map);
+    }
+
+    @Test
+    public void testFromFileKeepsEverySymbol() throws IOException, WorldLoadException {
+        PackedTileStore store = PackedTileStore.fromFile(map);
+        List<String> lines = Files.readAllLines(map);
+
+        Assert.assertEquals("Should have every column", COLUMNS, store.getColumns());
+        Assert.assertEquals("Should have every row", ROWS, store.getRows());
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                Assert.assertEquals("Symbol should match the map",
+                        lines.get(row).charAt(col), store.symbolAt(col, row));
+            }
+        }
+    }
+
+    @Test
+    public void testLoadMatchesMapFile() throws IOException, WorldLoadException {
+        List<Tile> expected = new MapFileChunkSource(map).load(10, 15, 40, 12, dimensions);
+        List<Tile> actual = PackedTileStore.fromFile(map).load(10, 15, 40, 12, dimensions);
+
+        Assert.assertEquals("Should load the same number of tiles", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals("Should be the same kind of tile",
+                    TileFactory.symbolOf(expected.get(i)), TileFactory.symbolOf(actual.get(i)));
+            Assert.assertEquals("Should be at the same x",
+                    expected.get(i).getX(), actual.get(i).getX());
+            Assert.assertEquals("Should be at the same y",
+                    expected.get(i).getY(), actual.get(i).getY());
+        }
+    }
+
+    @Test
+    public void testSaveStoresTilledDirt() throws IOException, WorldLoadException {
+        PackedTileStore store = PackedTileStore.fromFile(map);
+        List<Tile> tiles = store.load(0, 0, 16, 16, dimensions);
+        tiles.get(0).markForRemoval();
+        Dirt dirt = new Dirt(tiles.get(0).getX(), tiles.get(0).getY());
+        dirt.till();
+        tiles.add(dirt);
+
+        Assert.assertTrue("Should store plain tiles", store.save(0, 0, 16, 16, tiles, dimensions));
+        Assert.assertEquals("Should store the tilled dirt", 't', store.symbolAt(0, 0));
+        Assert.assertEquals("Should keep the other tiles", 'w', store.symbolAt(1, 0));
+    }
+
+    @Test
+    public void testSaveRejectsStackedEntities() throws IOException, WorldLoadException {
+        PackedTileStore store = PackedTileStore.fromFile(map);
+        List<Tile> tiles = store.load(0, 16, 16, 16, dimensions);
+        for (Tile tile : tiles) {
+            if (tile instanceof Dirt dirt) {
+                dirt.placeOn(new Cabbage(dirt.getX(), dirt.getY()));
+            }
+        }
+
+        Assert.assertFalse("Should not store cabbages",
+                store.save(0, 16, 16, 16, tiles, dimensions));
+    }
+
+    @Test
+    public void testSaveRejectsMissingTiles() throws IOException, WorldLoadException {
+        PackedTileStore store = PackedTileStore.fromFile(map);
+        List<Tile> tiles = store.load(0, 0, 16, 16, dimensions);
+        tiles.remove(5);
+
+        Assert.assertFalse("Should not store a partial area",
+                store.save(0, 0, 16, 16, tiles, dimensions));
+    }
+
+    @Test
+    public void testChunkedWorldSavesEvictedChanges() throws IOException, WorldLoadException {
+        PackedTileStore store = PackedTileStore.fromFile(map);
+        ChunkedWorld world = new ChunkedWorld(store, dimensions);
+        int far = dimensions.tileToPixel(COLUMNS - 1);
+        world.streamAround(0, 0);
+        Tile water = world.tilesAtPosition(0, 0, dimensions).get(0);
+        water.markForRemoval();
+        world.place(new Dirt(water.getX(), water.getY()));
+
+        world.streamAround(far, far);
+        Assert.assertEquals("Evicted change should be packed", 'd', store.symbolAt(0, 0));
+        Assert.assertTrue("Reloaded tile should be dirt",
+                world.tilesAtPosition(0, 0, dimensions).get(0) instanceof Dirt);
+    }
+
+    @Test
+    public void testPacksMillionTileMap() throws IOException, WorldLoadException {
+        String row = "w".repeat(1000) + "\n";
+        Files.writeString(map, row.repeat(999) + "g".repeat(1000) + "\n");
+
+        PackedTileStore store = PackedTileStore.fromFile(map);
+        Assert.assertEquals("Should have every row", 1000, store.getRows());
+        Assert.assertEquals("Should read water", 'w', store.symbolAt(500, 500));
+        Assert.assertEquals("Should read the last row", 'g', store.symbolAt(999, 999));
+    }
+}
@@ -0,0 +1,99 @@
+package builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+import builder.entities.npc.Npc;
+import builder.entities.npc.SpatialHash;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.EnemyManager;
+import engine.renderer.TileGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SpatialHashTest {
+
+    @Test
+    public void testWithinMatchesScan() {
+        Random random = new Random(7);
+        List<Npc> npcs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            npcs.add(new Npc(random.nextInt(2000) - 200, random.nextInt(2000) - 200));
+        }
+        SpatialHash<Npc> hash = new SpatialHash<>(64);
+        hash.sync(npcs);
+
+        for (int query = 0; query < 50; query++) {
+            int x = random.nextInt(1600);
+            int y = random.nextInt(1600);
+            int radius = 1 + random.nextInt(400);
+            List<Npc> expected = new ArrayList<>();
+            for (Npc npc : npcs) {
+                if (npc.distanceFrom(x, y) < radius) {
+                    expected.add(npc);
+                }
+            }
+            Assert.assertEquals("Should find what a scan finds, in order",
+                    expected, hash.within(x, y, radius));
+        }
+    }
+
+    @Test
+    public void testFollowsMovingNpcs() {
+        Npc npc = new Npc(10, 10);
+        SpatialHash<Npc> hash = new SpatialHash<>(50);
+        hash.add(npc);
+
+        npc.setX(900);
+        npc.setY(900);
+        Assert.assertTrue("Should not be found at the old position",
+                hash.within(10, 10, 20).isEmpty());
+        Assert.assertEquals("Should be found at the new position",
+                List.of(npc), hash.within(905, 905, 20));
+    }
+
+    @Test
+    public void testSyncDropsMissingNpcs() {
+        Npc kept = new Npc(10, 10);
+        Npc dropped = new Npc(20, 20);
+        SpatialHash<Npc> hash = new SpatialHash<>(50);
+        hash.sync(List.of(dropped, kept));
+
+        hash.sync(List.of(kept));
+        Assert.assertEquals("Should hold one npc", 1, hash.size());
+        Assert.assertFalse("Should drop the missing npc", hash.contains(dropped));
+        dropped.setX(15);
+        Assert.assertEquals(List.of(kept), hash.within(15, 15, 50));
+    }
+
+    @Test
+    public void testNearestPrefersClosestThenListOrder() {
+        Npc far = new Npc(300, 0);
+        Npc first = new Npc(0, 100);
+        Npc second = new Npc(100, 0);
+        SpatialHash<Npc> hash = new SpatialHash<>(32);
+        hash.sync(List.of(far, second, first));
+
+        Assert.assertSame("Ties should go to the earlier npc", second, hash.nearest(0, 0, 500));
+        Assert.assertNull("Should respect the radius", hash.nearest(0, 0, 100));
+        Assert.assertSame("Should find the far npc", far, hash.nearest(280, 0, 50));
+    }
+
+    @Test
+    public void testEnemyManagerSeesDirectlyAddedBirds() {
+        EnemyManager manager = new EnemyManager(new TileGrid(25, 2000));
+        Enemy near = new Enemy(100, 100);
+        Enemy far = new Enemy(1000, 1000);
+        manager.getBirds().add(far);
+        manager.getBirds().add(near);
+
+        Assert.assertEquals(List.of(near), manager.within(110, 110, 50));
+        Assert.assertSame(far, manager.nearest(990, 990, 50));
+
+        near.markForRemoval();
+        manager.cleanup();
+        Assert.assertTrue("Removed birds should not be found",
+                manager.within(110, 110, 50).isEmpty());
+    }
+}
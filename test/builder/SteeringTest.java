@@ -0,0 +1,118 @@
+package builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+import builder.entities.npc.Npc;
+import builder.entities.npc.Steering;
+
+public class SteeringTest {
+
+    @Test
+    public void testTablesMatchTrigonometry() {
+        for (int degrees = -720; degrees <= 720; degrees++) {
+            double radians = Math.toRadians(degrees);
+            Assert.assertEquals("sin " + degrees, Math.sin(radians) * 65536,
+                    Steering.sin(degrees), 1.0);
+            Assert.assertEquals("cos " + degrees, Math.cos(radians) * 65536,
+                    Steering.cos(degrees), 1.0);
+        }
+    }
+
+    @Test
+    public void testAtan2MatchesMath() {
+        for (int deltaY = -200; deltaY <= 200; deltaY++) {
+            for (int deltaX = -200; deltaX <= 200; deltaX++) {
+                if (deltaX == 0 && deltaY == 0) {
+                    continue;
+                }
+                int expected = (int) Math.toDegrees(Math.atan2(deltaY, deltaX));
+                Assert.assertEquals("atan2(" + deltaY + ", " + deltaX + ")", expected,
+                        Steering.atan2(deltaY, deltaX));
+            }
+        }
+        for (int deltaY = -2000; deltaY <= 2000; deltaY += 7) {
+            for (int deltaX = -2000; deltaX <= 2000; deltaX += 3) {
+                int expected = (int) Math.toDegrees(Math.atan2(deltaY, deltaX));
+                Assert.assertEquals("atan2(" + deltaY + ", " + deltaX + ")", expected,
+                        Steering.atan2(deltaY, deltaX));
+            }
+        }
+        Assert.assertEquals("Should face left along the negative x-axis", 180,
+                Steering.atan2(0, -5));
+        Assert.assertEquals("Should face up", -90, Steering.atan2(-5, 0));
+        Assert.assertEquals("Origin should face right", 0, Steering.atan2(0, 0));
+    }
+
+    @Test
+    public void testSlowDiagonalMoverKeepsItsSpeed() {
+        Npc npc = new SubPixelNpc(0, 0);
+        npc.setDirection(30);
+        npc.setSpeed(1);
+        for (int i = 0; i < 100; i++) {
+            npc.move();
+        }
+        Assert.assertEquals("Should travel cos(30) per move", 87, npc.getX());
+        Assert.assertEquals("Should travel sin(30) per move", 50, npc.getY());
+    }
+
+    @Test
+    public void testWholePixelMoverRoundsEachMove() {
+        Npc npc = new Npc(0, 0);
+        npc.setDirection(30);
+        npc.setSpeed(1);
+        for (int i = 0; i < 100; i++) {
+            npc.move();
+        }
+        Assert.assertEquals("Should round cos(30) up each move", 100, npc.getX());
+        Assert.assertEquals("Should round sin(30), just under a half, down each move",
+                0, npc.getY());
+    }
+
+    @Test
+    public void testWholePixelStepsMatchMath() {
+        for (int speed = 0; speed <= 10; speed++) {
+            for (int direction = -400; direction <= 400; direction++) {
+                double radians = Math.toRadians(direction);
+                long expectedX = Math.round(Math.cos(radians) * speed);
+                long expectedY = Math.round(Math.sin(radians) * speed);
+                String step = "speed " + speed + " at " + direction;
+                Assert.assertEquals("x " + step, expectedX, Steering.pixelStepX(direction, speed));
+                Assert.assertEquals("y " + step, expectedY, Steering.pixelStepY(direction, speed));
+
+                Npc npc = new Npc(0, 0);
+                npc.setDirection(direction);
+                npc.setSpeed(speed);
+                npc.move();
+                Assert.assertEquals("Moved x " + step, expectedX, npc.getX());
+                Assert.assertEquals("Moved y " + step, expectedY, npc.getY());
+            }
+        }
+    }
+
+    @Test
+    public void testSettingPositionDropsFraction() {
+        Npc npc = new SubPixelNpc(0, 0);
+        npc.setSpeed(1);
+        npc.setDirection(60); // half a pixel along x per move
+        npc.move();
+        npc.setX(10);
+        npc.move();
+        Assert.assertEquals("Should move half a pixel from the new position", 11, npc.getX());
+    }
+
+    @Test
+    public void testTurnTowardsFacesPosition() {
+        Npc npc = new Npc(100, 100);
+        npc.turnTowards(100, 200);
+        Assert.assertEquals("Should face down", 90, npc.getDirection());
+        npc.turnTowards(0, 100);
+        Assert.assertEquals("Should face left", 180, npc.getDirection());
+    }
+
+    private static class SubPixelNpc extends Npc {
+        public SubPixelNpc(int x, int y) {
+            super(x, y);
+            this.setSubPixelMotion(true);
+        }
+    }
+}
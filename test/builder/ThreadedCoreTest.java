@@ -0,0 +1,161 @@
+package builder;
+
+import builder.headless.HeadlessCore;
+import builder.headless.InputScript;
+import builder.ui.RenderSnapshot;
+import builder.ui.SnapshotBuffer;
+import builder.ui.SpriteGallery;
+import builder.ui.ThreadedCore;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ThreadedCoreTest {
+
+    /** A renderable whose position and sprite may be changed, like a live entity. */
+    private static class Moving implements Renderable {
+        private int x;
+        private int y;
+        private Sprite sprite = SpriteGallery.cabbage.getSprite("budding");
+
+        Moving(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return sprite;
+        }
+
+        @Override
+        public String getID() {
+            return "moving";
+        }
+    }
+
+    /** A core that hands each frame it is asked to draw, and the drawing thread, to the test. */
+    private static class RecordingCore extends HeadlessCore {
+        private final BlockingQueue<List<Renderable>> frames = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Thread> threads = new LinkedBlockingQueue<>();
+
+        RecordingCore(InputScript script) {
+            super(script);
+        }
+
+        @Override
+        public void draw(List<Renderable> renderables) {
+            super.draw(renderables);
+            threads.add(Thread.currentThread());
+            frames.add(renderables);
+        }
+    }
+
+    @Test
+    public void testSnapshotKeepsValuesWhenTaken() {
+        Moving moving = new Moving(10, 20);
+        RenderSnapshot snapshot = RenderSnapshot.of(7, List.of(moving));
+        Sprite sprite = moving.getSprite();
+        moving.x = 30;
+        moving.y = 40;
+        moving.sprite = SpriteGallery.cabbage.getSprite("default");
+
+        Renderable frozen = snapshot.getRenderables().get(0);
+        Assert.assertEquals(7, snapshot.getTick());
+        Assert.assertEquals(10, frozen.getX());
+        Assert.assertEquals(20, frozen.getY());
+        Assert.assertSame(sprite, frozen.getSprite());
+        Assert.assertEquals("moving", frozen.getID());
+    }
+
+    @Test
+    public void testBufferGivesNewestFrameOnce() {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        Assert.assertNull("Nothing published yet", buffer.take());
+
+        RenderSnapshot first = RenderSnapshot.of(0, List.of());
+        RenderSnapshot second = RenderSnapshot.of(1, List.of());
+        buffer.publish(first);
+        buffer.publish(second);
+        Assert.assertSame("Newest frame should be taken", second, buffer.take());
+        Assert.assertNull("Frame should only be taken once", buffer.take());
+        Assert.assertEquals(2, buffer.getPublished());
+        Assert.assertEquals("Replaced frame should count as skipped", 1, buffer.getSkipped());
+    }
+
+    @Test
+    public void testDrawsSnapshotsOnRenderThread() throws InterruptedException, IOException {
+        RecordingCore target = new RecordingCore(InputScript.read(new StringReader("0 keys=d")));
+        ThreadedCore core = new ThreadedCore(target);
+        Assert.assertTrue("Input should be read from the wrapped core", core.isDown('d'));
+        core.start();
+
+        Moving moving = new Moving(1, 2);
+        List<Renderable> frame = new ArrayList<>(List.of(moving));
+        core.draw(frame);
+        List<Renderable> drawn = target.frames.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull("Frame should be drawn", drawn);
+        Assert.assertNotSame("Render thread should draw", Thread.currentThread(),
+                target.threads.take());
+        Assert.assertNotSame("A snapshot should be drawn, not the live list", frame, drawn);
+        moving.x = 50;
+        Assert.assertEquals("Snapshot should not follow the live renderable",
+                1, drawn.get(0).getX());
+
+        core.draw(frame);
+        Assert.assertNull("The same frame should not be drawn again",
+                target.frames.poll(100, TimeUnit.MILLISECONDS));
+
+        core.draw(List.of(moving));
+        drawn = target.frames.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull("New frame should be drawn", drawn);
+        Assert.assertEquals(50, drawn.get(0).getX());
+
+        core.stop();
+        Assert.assertEquals(2, core.getDrawnFrames());
+    }
+
+    @Test
+    public void testFramesPublishedBeforeStartAreDrawnOnceStarted()
+            throws InterruptedException, IOException {
+        RecordingCore target = new RecordingCore(InputScript.read(new StringReader("")));
+        ThreadedCore core = new ThreadedCore(target);
+        core.draw(List.of(new Moving(3, 4)));
+        Assert.assertTrue("Nothing should be drawn before starting", target.frames.isEmpty());
+
+        core.start();
+        List<Renderable> drawn = target.frames.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull("Frame published before starting should be drawn", drawn);
+        Assert.assertEquals(3, drawn.get(0).getX());
+        core.stop();
+    }
+
+    @Test
+    public void testStopWithoutStarting() throws IOException {
+        ThreadedCore core = new ThreadedCore(
+                new RecordingCore(InputScript.read(new StringReader(""))));
+        core.stop();
+        Assert.assertEquals("Nothing should be drawn", 0, core.getDrawnFrames());
+    }
+}
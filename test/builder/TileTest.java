@@ -0,0 +1,51 @@
+package builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+import builder.entities.npc.Scarecrow;
+import builder.entities.resources.Cabbage;
+import builder.entities.tiles.Dirt;
+import engine.game.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TileTest {
+
+    @Test
+    public void testEmptyTileHasNothingStacked() {
+        Dirt dirt = new Dirt(0, 0);
+        Assert.assertTrue("New tile should be empty", dirt.isEmpty());
+        Assert.assertEquals("New tile should have no stacked entities", 0, dirt.getStackedCount());
+        Assert.assertNull("Should find no cabbage", dirt.firstOf(Cabbage.class));
+    }
+
+    @Test
+    public void testForEachStackedVisitsInOrder() {
+        Dirt dirt = new Dirt(0, 0);
+        Cabbage cabbage = new Cabbage(0, 0);
+        Scarecrow scarecrow = new Scarecrow(0, 0);
+        dirt.placeOn(cabbage);
+        dirt.placeOn(scarecrow);
+
+        List<Entity> visited = new ArrayList<>();
+        dirt.forEachStacked(visited::add);
+        Assert.assertEquals("Should visit in stacking order", dirt.getStackedEntities(), visited);
+        Assert.assertFalse("Should not be empty", dirt.isEmpty());
+        Assert.assertEquals("Should count both entities", 2, dirt.getStackedCount());
+    }
+
+    @Test
+    public void testFirstOfFindsFirstMatchingType() {
+        Dirt dirt = new Dirt(0, 0);
+        Scarecrow scarecrow = new Scarecrow(0, 0);
+        Cabbage first = new Cabbage(0, 0);
+        Cabbage second = new Cabbage(0, 0);
+        dirt.placeOn(scarecrow);
+        dirt.placeOn(first);
+        dirt.placeOn(second);
+
+        Assert.assertSame("Should find the first cabbage", first, dirt.firstOf(Cabbage.class));
+        Assert.assertSame("Subtypes should match", scarecrow, dirt.firstOf(Entity.class));
+    }
+}
@@ -0,0 +1,164 @@
+package builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+import builder.timing.Lifespan;
+import builder.timing.TimerWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimerWheelTest {
+
+    @Test
+    public void testTimeoutsFireOnTheirDeadlines() {
+        TimerWheel wheel = new TimerWheel();
+        int[] delays = {1, 2, 63, 64, 65, 127, 4095, 4096, 4097, 262143, 262144, 300001};
+        long[] fired = new long[delays.length];
+        for (int i = 0; i < delays.length; i++) {
+            int index = i;
+            wheel.schedule(delays[i], () -> fired[index] = wheel.now());
+        }
+        Assert.assertEquals("Every timeout should be pending", delays.length, wheel.size());
+
+        while (wheel.now() < 300001) {
+            wheel.advance();
+        }
+        for (int i = 0; i < delays.length; i++) {
+            Assert.assertEquals("Timeout " + delays[i] + " fired on the wrong tick",
+                    delays[i], fired[i]);
+        }
+        Assert.assertEquals("No timeouts should be pending", 0, wheel.size());
+    }
+
+    @Test
+    public void testTimeoutsScheduledLaterFireOnTheirDeadlines() {
+        TimerWheel wheel = new TimerWheel();
+        List<Long> wrong = new ArrayList<>();
+        for (int tick = 0; tick < 20000; tick++) {
+            long deadline = wheel.now() + 1 + (tick * 7919L) % 9000;
+            wheel.scheduleAt(deadline, () -> {
+                if (wheel.now() != deadline) {
+                    wrong.add(deadline);
+                }
+            });
+            wheel.advance();
+        }
+        while (wheel.size() > 0) {
+            wheel.advance();
+        }
+        Assert.assertTrue("Timeouts fired off their deadlines: " + wrong, wrong.isEmpty());
+    }
+
+    @Test
+    public void testFarDeadlineFires() {
+        TimerWheel wheel = new TimerWheel();
+        long deadline = (1L << 24) + 100;
+        long[] fired = {-1};
+        wheel.scheduleAt(deadline, () -> fired[0] = wheel.now());
+        while (wheel.now() < deadline) {
+            wheel.advance();
+        }
+        Assert.assertEquals("Far timeout should fire on its deadline", deadline, fired[0]);
+    }
+
+    @Test
+    public void testRepeatingTimeoutFiresUntilCancelled() {
+        TimerWheel wheel = new TimerWheel();
+        List<Long> fired = new ArrayList<>();
+        TimerWheel.Timeout timeout = wheel.scheduleRepeating(30, () -> fired.add(wheel.now()));
+        for (int tick = 0; tick < 100; tick++) {
+            wheel.advance();
+        }
+        Assert.assertEquals("Should fire every 30 ticks", List.of(30L, 60L, 90L), fired);
+        Assert.assertTrue("Repeating timeout should stay pending", timeout.isPending());
+
+        timeout.cancel();
+        for (int tick = 0; tick < 100; tick++) {
+            wheel.advance();
+        }
+        Assert.assertEquals("Cancelled timeout should not fire", 3, fired.size());
+        Assert.assertEquals("No timeouts should be pending", 0, wheel.size());
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotFire() {
+        TimerWheel wheel = new TimerWheel();
+        boolean[] fired = {false, false};
+        TimerWheel.Timeout first = wheel.schedule(5, () -> fired[0] = true);
+        wheel.schedule(5, () -> fired[1] = true);
+        first.cancel();
+        first.cancel();
+        for (int tick = 0; tick < 10; tick++) {
+            wheel.advance();
+        }
+        Assert.assertFalse("Cancelled timeout should not fire", fired[0]);
+        Assert.assertTrue("Other timeout in the slot should still fire", fired[1]);
+        Assert.assertFalse("Fired timeout should not be pending", first.isPending());
+    }
+
+    @Test
+    public void testTaskMayCancelAnotherDueOnTheSameTick() {
+        TimerWheel wheel = new TimerWheel();
+        int[] fired = {0};
+        TimerWheel.Timeout[] timeouts = new TimerWheel.Timeout[2];
+        timeouts[0] = wheel.schedule(3, () -> {
+            fired[0]++;
+            timeouts[1].cancel();
+        });
+        timeouts[1] = wheel.schedule(3, () -> {
+            fired[0]++;
+            timeouts[0].cancel();
+        });
+        for (int tick = 0; tick < 5; tick++) {
+            wheel.advance();
+        }
+        Assert.assertEquals("Only one of the two should fire", 1, fired[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScheduleRejectsPastDeadline() {
+        TimerWheel wheel = new TimerWheel();
+        wheel.advance();
+        wheel.scheduleAt(1, () -> {});
+    }
+
+    @Test
+    public void testLifespanOnWheelFinishesWhenTickedWouldHave() {
+        TimerWheel wheel = new TimerWheel();
+        Lifespan ticked = new Lifespan(50);
+        Lifespan wheeled = new Lifespan(50);
+        boolean[] expired = {false};
+        ticked.tick();
+        wheeled.tick();
+        wheel.advance();
+        wheeled.expireOn(wheel, wheel.now() + 1, () -> expired[0] = true);
+
+        for (int tick = 2; tick <= 50; tick++) {
+            wheel.advance();
+            ticked.tick();
+            wheeled.tick();
+            Assert.assertEquals("Lifespans should finish together on tick " + tick,
+                    ticked.isFinished(), wheeled.isFinished());
+        }
+        Assert.assertTrue("Lifespan should have finished", wheeled.isFinished());
+        Assert.assertTrue("Expiry task should have run", expired[0]);
+        Assert.assertEquals("Finished lifespan has nothing left", 0, wheeled.getRemaining());
+    }
+
+    @Test
+    public void testCancelledLifespanIsTickedAgain() {
+        TimerWheel wheel = new TimerWheel();
+        Lifespan lifespan = new Lifespan(3);
+        lifespan.expireOn(wheel, 1, () -> {});
+        lifespan.cancel();
+        Assert.assertEquals("Nothing should be left on the wheel", 0, wheel.size());
+        lifespan.tick();
+        lifespan.tick();
+        Assert.assertFalse("Lifespan should not have finished yet", lifespan.isFinished());
+        lifespan.tick();
+        Assert.assertTrue("Lifespan should finish after its duration", lifespan.isFinished());
+        lifespan.tick();
+        Assert.assertTrue("Lifespan should stay finished", lifespan.isFinished());
+    }
+}
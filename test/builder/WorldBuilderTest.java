@@ -0,0 +1,227 @@
+package builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+import builder.world.BeanWorld;
+import builder.world.ChunkedWorld;
+import builder.world.GameWorld;
+import builder.world.WorldBuilder;
+import builder.world.WorldLoadException;
+import builder.entities.tiles.Dirt;
+import builder.entities.tiles.Grass;
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.TileFactory;
+import builder.entities.tiles.Water;
+import engine.renderer.TileGrid;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class WorldBuilderTest {
+
+    private final TileGrid dimensions = new TileGrid(3, 90);
+
+    @Test
+    public void testFromStringDecodesTiles() throws WorldLoadException {
+        List<Tile> tiles = WorldBuilder.fromString(dimensions, "gww\ndgg\nggt\n");
+
+        Assert.assertEquals("Should have 9 tiles", 9, tiles.size());
+        Assert.assertTrue("First tile should be grass", tiles.get(0) instanceof Grass);
+        Assert.assertTrue("Second tile should be water", tiles.get(1) instanceof Water);
+        Assert.assertEquals("Second tile should be in the second column", 45, tiles.get(1).getX());
+        Assert.assertTrue("Last tile should be tilled dirt", ((Dirt) tiles.get(8)).isTilled());
+        Assert.assertEquals("Last tile should be in the last row", 75, tiles.get(8).getY());
+    }
+
+    @Test
+    public void testFromStringAcceptsWindowsLineEndings() throws WorldLoadException {
+        List<Tile> tiles = WorldBuilder.fromString(dimensions, "ggg\r\nggg\r\nggg");
+        Assert.assertEquals("Should have 9 tiles", 9, tiles.size());
+    }
+
+    @Test
+    public void testFromStringReportsUnknownSymbol() {
+        assertFails("ggg\ngxg\nggg", "Unknown symbol: 'x' on line 2, character 2");
+    }
+
+    @Test
+    public void testFromStringReportsShortLine() {
+        assertFails("ggg\ngg\nggg",
+                "Expected 3 characters to match the given dimensions but got 2 on line 2");
+    }
+
+    @Test
+    public void testFromStringReportsBlankLine() {
+        assertFails("ggg\n\nggg",
+                "Expected 3 characters to match the given dimensions but got 0 on line 2");
+    }
+
+    @Test
+    public void testFromStringReportsFirstInvalidRow() {
+        assertFails("ggg\ngxgg\ngxg",
+                "Expected 3 characters to match the given dimensions but got 4 on line 2");
+    }
+
+    @Test
+    public void testFromStringReportsLineCountBeforeRows() {
+        assertFails("gxg\nggg", "Expected 3 lines to match the given dimensions but got 2");
+        assertFails("ggg\nggg\nggg\nggg\n\n",
+                "Expected 3 lines to match the given dimensions but got 4");
+    }
+
+    @Test
+    public void testFromStringIgnoresTrailingBlankLines() throws WorldLoadException {
+        List<Tile> tiles = WorldBuilder.fromString(dimensions, "ggg\nggg\nggg\n\n\n");
+        Assert.assertEquals("Should have 9 tiles", 9, tiles.size());
+    }
+
+    @Test
+    public void testFromReaderMatchesFromString() throws IOException, WorldLoadException {
+        TileGrid large = new TileGrid(250, 2000);
+        String text = largeMap(250);
+        List<Tile> expected = WorldBuilder.fromString(large, text);
+        List<Tile> actual = WorldBuilder.fromReader(large, new StringReader(text));
+
+        Assert.assertEquals("Should have the same number of tiles", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals("Should be the same kind of tile",
+                    expected.get(i).getClass(), actual.get(i).getClass());
+            Assert.assertEquals("Should be at the same x",
+                    expected.get(i).getX(), actual.get(i).getX());
+            Assert.assertEquals("Should be at the same y",
+                    expected.get(i).getY(), actual.get(i).getY());
+        }
+    }
+
+    @Test
+    public void testFromFileStreamsTiles() throws IOException, WorldLoadException {
+        Path map = Files.createTempFile("world", ".map");
+        try {
+            Files.writeString(map, "ggg\ngwg\nggg\n");
+            BeanWorld world = WorldBuilder.fromFile(dimensions, map.toString());
+
+            Assert.assertEquals("Should have 9 tiles", 9, world.allTiles().size());
+            Assert.assertTrue("Centre should be water",
+                    world.tilesAtPosition(45, 45, dimensions).get(0) instanceof Water);
+        } finally {
+            Files.delete(map);
+        }
+    }
+
+    @Test
+    public void testFromStringParallelMatchesFromString() throws WorldLoadException {
+        TileGrid large = new TileGrid(250, 2000);
+        String text = largeMap(250);
+        List<Tile> expected = WorldBuilder.fromString(large, text);
+        List<Tile> actual = WorldBuilder.fromStringParallel(large, text, new ForkJoinPool(4));
+
+        Assert.assertEquals("Should have the same number of tiles", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals("Should be the same kind of tile",
+                    TileFactory.symbolOf(expected.get(i)), TileFactory.symbolOf(actual.get(i)));
+            Assert.assertEquals("Should be at the same x",
+                    expected.get(i).getX(), actual.get(i).getX());
+            Assert.assertEquals("Should be at the same y",
+                    expected.get(i).getY(), actual.get(i).getY());
+        }
+    }
+
+    @Test
+    public void testFromStringParallelReportsSameErrors() {
+        String[] texts = {
+            "ggg\r\nggg\r\nggg",
+            "ggg\ngxg\nggg",
+            "ggg\n\nggg",
+            "ggg\ngxgg\ngxg",
+            "gxg\nggg",
+            "ggg\nggg\nggg\nggg\n\n",
+            "ggg\nggg\nggg\r",
+            "ggg\r\n\r\nggg\nggg\n",
+        };
+        for (String text : texts) {
+            Assert.assertEquals("Should match the sequential result for " + text,
+                    outcome(text, false), outcome(text, true));
+        }
+    }
+
+    @Test
+    public void testFromStringParallelReportsLowestInvalidRow() {
+        TileGrid large = new TileGrid(250, 2000);
+        StringBuilder text = new StringBuilder(largeMap(250));
+        text.setCharAt(200 * 251 + 7, 'x');
+        text.setCharAt(90 * 251 + 100, 'x');
+        text.setCharAt(90 * 251 + 30, 'y');
+        text.deleteCharAt(150 * 251 + 5); // shortens row 150
+        try {
+            WorldBuilder.fromStringParallel(large, text.toString(), new ForkJoinPool(4));
+            Assert.fail("Should not load");
+        } catch (WorldLoadException e) {
+            Assert.assertEquals("Should report the first error",
+                    "Unknown symbol: 'y' on line 91, character 31", e.getMessage());
+        }
+    }
+
+    private String outcome(String text, boolean parallel) {
+        try {
+            List<Tile> tiles = parallel
+                    ? WorldBuilder.fromStringParallel(dimensions, text)
+                    : WorldBuilder.fromString(dimensions, text);
+            StringBuilder symbols = new StringBuilder();
+            for (Tile tile : tiles) {
+                symbols.append(TileFactory.symbolOf(tile));
+            }
+            return symbols.toString();
+        } catch (WorldLoadException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    public void testFromFileStreamedPicksWorldBySize() throws IOException, WorldLoadException {
+        Path map = Files.createTempFile("streamed", ".map");
+        try {
+            Files.writeString(map, "ggg\r\ngwg\r\nggg\r\n");
+            GameWorld small = WorldBuilder.fromFileStreamed(dimensions, map.toString());
+            Assert.assertTrue("Window-sized map should be loaded whole",
+                    small instanceof BeanWorld);
+            Assert.assertTrue("Middle tile should be water",
+                    small.tilesAtPosition(45, 45, dimensions).get(0) instanceof Water);
+
+            Files.writeString(map, "gggg\ngggg\ngggg\n");
+            Assert.assertTrue("Wide map should be streamed",
+                    WorldBuilder.fromFileStreamed(dimensions, map.toString())
+                            instanceof ChunkedWorld);
+
+            Files.writeString(map, "ggg\nggg\nggg\nggg");
+            Assert.assertTrue("Tall map should be streamed",
+                    WorldBuilder.fromFileStreamed(dimensions, map.toString())
+                            instanceof ChunkedWorld);
+        } finally {
+            Files.deleteIfExists(map);
+        }
+    }
+
+    private static String largeMap(int size) {
+        StringBuilder text = new StringBuilder();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                text.append("dwgot".charAt((row * 7 + col) % 5));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private void assertFails(String text, String message) {
+        try {
+            WorldBuilder.fromString(dimensions, text);
+            Assert.fail("Should not load: " + text);
+        } catch (WorldLoadException e) {
+            Assert.assertEquals("Should report the error", message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package builder;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import builder.world.BeanWorld;
+import builder.world.SpawnerDetails;
+import builder.world.WorldLoadException;
+import builder.world.WorldSnapshot;
+import builder.entities.resources.Cabbage;
+import builder.entities.tiles.Dirt;
+import builder.entities.tiles.OreVein;
+import builder.entities.tiles.Tile;
+import builder.entities.tiles.TileFactory;
+import engine.renderer.TileGrid;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+public class WorldSnapshotTest {
+
+    private static final String MAP = "gdo\ntwg\nddd\n";
+    private static final String DETAILS = ":chickenFarmer:\n"
+            + "|x:45 y:15 coins:20 food:30\n"
+            + "end;\n\n"
+            + ":cabbages:\n"
+            + "|x:45 y:15\n"
+            + "end;\n\n"
+            + ":magpiespawner:\n"
+            + "|x:5 y:5 duration:800\n"
+            + "end;\n\n"
+            + ":eaglespawner:\n"
+            + "end;\n\n"
+            + ":pigeonspawner:\n"
+            + "|x:75 y:45 duration:200\n"
+            + "|x:15 y:75 duration:300\n"
+            + "end;";
+
+    private final TileGrid dimensions = new TileGrid(3, 90);
+    private WorldSnapshot snapshot;
+
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        snapshot = JavaBeanFarm.snapshotOf(
+                dimensions, new StringReader(MAP), new StringReader(DETAILS));
+    }
+
+    private WorldSnapshot roundTrip(WorldSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.write(out);
+        return WorldSnapshot.read(dimensions, new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static Tile tileAt(BeanWorld world, int x, int y) {
+        for (Tile tile : world.allTiles()) {
+            if (tile.getX() == x && tile.getY() == y) {
+                return tile;
+            }
+        }
+        throw new AssertionError("No tile at " + x + ", " + y);
+    }
+
+    @Test
+    public void testSnapshotPlantsCabbages() {
+        Tile dirt = tileAt(snapshot.getWorld(), 45, 15);
+        Assert.assertTrue("Cabbage tile should be tilled", ((Dirt) dirt).isTilled());
+        Assert.assertTrue("Cabbage should be planted",
+                dirt.getStackedEntities().get(0) instanceof Cabbage);
+    }
+
+    @Test
+    public void testRoundTripRestoresTiles() throws IOException {
+        BeanWorld before = snapshot.getWorld();
+        BeanWorld after = roundTrip(snapshot).getWorld();
+
+        List<Tile> expected = before.allTiles();
+        List<Tile> actual = after.allTiles();
+        Assert.assertEquals("Should restore every tile", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals("Should restore tiles in order",
+                    TileFactory.symbolOf(expected.get(i)), TileFactory.symbolOf(actual.get(i)));
+            Assert.assertEquals("Should restore positions",
+                    expected.get(i).getX(), actual.get(i).getX());
+            Assert.assertEquals("Should restore positions",
+                    expected.get(i).getY(), actual.get(i).getY());
+        }
+        Assert.assertTrue("Tilled dirt should stay tilled",
+                ((Dirt) tileAt(after, 15, 45)).isTilled());
+        Assert.assertFalse("Untilled dirt should stay untilled",
+                ((Dirt) tileAt(after, 15, 75)).isTilled());
+    }
+
+    @Test
+    public void testRoundTripRestoresStackedState() throws IOException {
+        Tile dirt = tileAt(snapshot.getWorld(), 45, 15);
+        ((Cabbage) dirt.getStackedEntities().get(0)).setGrowthState(3);
+        ((OreVein) tileAt(snapshot.getWorld(), 75, 15)).getOre().setCoins(4);
+
+        BeanWorld after = roundTrip(snapshot).getWorld();
+        Tile restored = tileAt(after, 45, 15);
+        Assert.assertEquals("Should restore one cabbage", 1,
+                restored.getStackedEntities().size());
+        Assert.assertEquals("Should restore the growth state", 3,
+                ((Cabbage) restored.getStackedEntities().get(0)).getGrowthState());
+        Assert.assertEquals("Should restore the remaining coins", 4,
+                ((OreVein) tileAt(after, 75, 15)).getOre().getCoins());
+        Assert.assertTrue("Restored world should index stacked cabbages",
+                after.tilesWithStacked(Cabbage.class).contains(restored));
+    }
+
+    @Test
+    public void testWriteRejectsTooManyCabbagesOnATile() throws IOException {
+        Tile dirt = tileAt(snapshot.getWorld(), 45, 15);
+        while (dirt.getStackedEntities().size() <= WorldSnapshot.MAX_CABBAGES_PER_TILE) {
+            dirt.placeOn(new Cabbage(45, 15));
+        }
+        try {
+            snapshot.write(new ByteArrayOutputStream());
+            Assert.fail("Should not record more cabbages than the format can hold");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue("Should report the count",
+                    e.getMessage().startsWith("Cannot snapshot 256 cabbages"));
+        }
+    }
+
+    @Test
+    public void testRoundTripRestoresDetails() throws IOException {
+        WorldSnapshot after = roundTrip(snapshot);
+
+        Assert.assertEquals(45, after.getPlayerDetails().getX());
+        Assert.assertEquals(15, after.getPlayerDetails().getY());
+        Assert.assertEquals(20, after.getPlayerDetails().getStartingCoins());
+        Assert.assertEquals(30, after.getPlayerDetails().getStartingFood());
+        Assert.assertEquals("Should restore magpie spawners", 1,
+                after.getMagpieSpawners().size());
+        Assert.assertTrue("Should restore no eagle spawners",
+                after.getEagleSpawners().isEmpty());
+
+        List<SpawnerDetails> pigeons = after.getPigeonSpawners();
+        Assert.assertEquals("Should restore pigeon spawners", 2, pigeons.size());
+        Assert.assertEquals(15, pigeons.get(1).getX());
+        Assert.assertEquals(75, pigeons.get(1).getY());
+        Assert.assertEquals(300, pigeons.get(1).getDuration());
+    }
+
+    @Test
+    public void testGameStartsFromSnapshot() throws IOException {
+        JavaBeanFarm game = new JavaBeanFarm(dimensions, roundTrip(snapshot));
+        Assert.assertFalse("Game should render", game.render().isEmpty());
+    }
+
+    @Test
+    public void testReadRejectsOtherFiles() {
+        byte[] text = MAP.getBytes();
+        try {
+            WorldSnapshot.read(dimensions, new ByteArrayInputStream(text));
+            Assert.fail("Should reject files without the magic number");
+        } catch (IOException e) {
+            Assert.assertEquals("Not a world snapshot", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReadRejectsNewerVersions() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.write(out);
+        byte[] bytes = out.toByteArray();
+        bytes[7] = (byte) (WorldSnapshot.VERSION + 1);
+        try {
+            WorldSnapshot.read(dimensions, new ByteArrayInputStream(bytes));
+            Assert.fail("Should reject unknown versions");
+        } catch (IOException e) {
+            Assert.assertTrue("Should name the version", e.getMessage().contains("version"));
+        }
+    }
+}